@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.Greeter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Type safe resolution via the BeanManager, served from the resolution cache after the first invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BeanResolutionBenchmark
+{
+    private SeContainer container;
+    private BeanManager beanManager;
+
+    @Setup
+    public void setup()
+    {
+        container = Containers.boot();
+        beanManager = container.getBeanManager();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.close();
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeans()
+    {
+        return beanManager.getBeans(ApplicationBean.class);
+    }
+
+    @Benchmark
+    public Bean<?> resolve()
+    {
+        return beanManager.resolve(beanManager.getBeans(Greeter.class));
+    }
+
+    @Benchmark
+    public Object getReference()
+    {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(ApplicationBean.class));
+        return beanManager.getReference(bean, ApplicationBean.class, beanManager.createCreationalContext(bean));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.apache.webbeans.lifecycle.test.SyntheticDeployment;
+import org.apache.webbeans.lifecycle.test.SyntheticDeploymentScannerService;
+import org.apache.webbeans.spi.ScannerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boot and shutdown of a container with a {@link SyntheticDeployment} of {@code beans} managed beans
+ * plus producers, generic types, observers, interceptors, decorators and extensions.
+ * Each iteration generates new classes, so the proxies have to get generated again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BootBenchmark
+{
+    @Param({"1000", "10000"})
+    private int beans;
+
+    private SyntheticDeployment deployment;
+
+    @Setup(Level.Iteration)
+    public void generate()
+    {
+        deployment = new SyntheticDeployment()
+                .managedBeans(beans)
+                .producers(beans / 10)
+                .qualifiers(20)
+                .genericTypes(beans / 10)
+                .interceptors(5)
+                .decorators(2)
+                .observers(beans / 10)
+                .extensions(5);
+        deployment.getBeanClasses();
+    }
+
+    @Benchmark
+    public int boot()
+    {
+        try (SeContainer container = SeContainerInitializer.newInstance()
+                .disableDiscovery()
+                .addProperty(ScannerService.class.getName(), new SyntheticDeploymentScannerService(deployment))
+                .initialize())
+        {
+            return container.getBeanManager().getBeans(Object.class, Any.Literal.INSTANCE).size();
+        }
+    }
+}
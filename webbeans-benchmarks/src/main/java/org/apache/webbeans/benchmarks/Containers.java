@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import javax.enterprise.inject.spi.Extension;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.CountingInterceptor;
+import org.apache.webbeans.benchmarks.beans.DefaultGreeter;
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.apache.webbeans.benchmarks.beans.GreeterDecorator;
+import org.apache.webbeans.benchmarks.beans.InterceptedBean;
+import org.apache.webbeans.benchmarks.beans.PingObserver;
+import org.apache.webbeans.benchmarks.beans.RequestBean;
+import org.apache.webbeans.benchmarks.beans.SessionBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.ContextsService;
+
+/**
+ * Boots the containers used by the benchmarks.
+ * Classpath scanning is always disabled, so each benchmark only measures the beans it registers.
+ */
+public final class Containers
+{
+    private static final Class<?>[] DEFAULT_BEANS =
+        {
+            ApplicationBean.class, RequestBean.class, SessionBean.class, DependentBean.class,
+            InterceptedBean.class, CountingInterceptor.class,
+            DefaultGreeter.class, GreeterDecorator.class,
+            PingObserver.class
+        };
+
+    private Containers()
+    {
+        // utility class
+    }
+
+    /**
+     * @return a container with all the beans of the {@code beans} package
+     */
+    public static SeContainer boot()
+    {
+        return boot(DEFAULT_BEANS);
+    }
+
+    public static SeContainer boot(Class<?>[] beanClasses, Extension... extensions)
+    {
+        SeContainerInitializer initializer = SeContainerInitializer.newInstance()
+                .disableDiscovery()
+                .addBeanClasses(beanClasses);
+        if (extensions.length > 0)
+        {
+            initializer.addExtensions(extensions);
+        }
+        return initializer.initialize();
+    }
+
+    /**
+     * Start the request and session context for the current thread.
+     */
+    public static void startRequest()
+    {
+        ContextsService contextsService = getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+    }
+
+    public static void stopRequest()
+    {
+        ContextsService contextsService = getContextsService();
+        contextsService.endContext(SessionScoped.class, null);
+        contextsService.endContext(RequestScoped.class, null);
+    }
+
+    public static void startContext(Class<? extends Annotation> scope)
+    {
+        getContextsService().startContext(scope, null);
+    }
+
+    public static void endContext(Class<? extends Annotation> scope)
+    {
+        getContextsService().endContext(scope, null);
+    }
+
+    public static ContextsService getContextsService()
+    {
+        return WebBeansContext.currentInstance().getContextsService();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.RequestBean;
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * {@link Context#get(javax.enterprise.context.spi.Contextual)} of an existing instance,
+ * i.e. the work a normal scoped proxy has to do if it cannot cache the contextual instance.
+ * With {@code contextSlot=false} the beans get no context slot, so the contexts fall back
+ * to the lookup in their componentInstanceMap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContextLookupBenchmark
+{
+    @Param({"true", "false"})
+    private boolean contextSlot;
+
+    private SeContainer container;
+
+    private Bean<ApplicationBean> applicationBean;
+    private Bean<RequestBean> requestBean;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup()
+    {
+        container = Containers.boot();
+        Containers.startRequest();
+
+        BeanManager beanManager = container.getBeanManager();
+        applicationBean = (Bean<ApplicationBean>) beanManager.resolve(beanManager.getBeans(ApplicationBean.class));
+        requestBean = (Bean<RequestBean>) beanManager.resolve(beanManager.getBeans(RequestBean.class));
+
+        if (!contextSlot)
+        {
+            ((AbstractOwbBean<?>) applicationBean).setContextSlot(-1);
+            ((AbstractOwbBean<?>) requestBean).setContextSlot(-1);
+        }
+
+        // create the instances
+        container.select(ApplicationBean.class).get().increment();
+        container.select(RequestBean.class).get().increment();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        Containers.stopRequest();
+        container.close();
+    }
+
+    @Benchmark
+    public ApplicationBean applicationContext()
+    {
+        return container.getBeanManager().getContext(ApplicationScoped.class).get(applicationBean);
+    }
+
+    @Benchmark
+    public RequestBean requestContext()
+    {
+        return container.getBeanManager().getContext(RequestScoped.class).get(requestBean);
+    }
+}
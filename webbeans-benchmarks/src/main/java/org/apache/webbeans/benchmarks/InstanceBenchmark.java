@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.se.SeContainer;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Programmatic lookup via {@link Instance#get()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstanceBenchmark
+{
+    private SeContainer container;
+
+    private Instance<ApplicationBean> applicationBeans;
+    private Instance<DependentBean> dependentBeans;
+
+    @Setup
+    public void setup()
+    {
+        container = Containers.boot();
+        applicationBeans = container.select(ApplicationBean.class);
+        dependentBeans = container.select(DependentBean.class);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.close();
+    }
+
+    @Benchmark
+    public ApplicationBean normalScoped()
+    {
+        return applicationBeans.get();
+    }
+
+    @Benchmark
+    public DependentBean dependentAndDestroy()
+    {
+        DependentBean instance = dependentBeans.get();
+        dependentBeans.destroy(instance);
+        return instance;
+    }
+
+    @Benchmark
+    public Object selectAndGet()
+    {
+        return container.select(ApplicationBean.class).get();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.Greeter;
+import org.apache.webbeans.benchmarks.beans.InterceptedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Invocations through an interceptor and a decorator chain.
+ * The plain application scoped bean is the baseline with the same normal scoped proxy but no chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptionBenchmark
+{
+    private SeContainer container;
+
+    private ApplicationBean plain;
+    private InterceptedBean intercepted;
+    private Greeter decorated;
+
+    @Setup
+    public void setup()
+    {
+        container = Containers.boot();
+        plain = container.select(ApplicationBean.class).get();
+        intercepted = container.select(InterceptedBean.class).get();
+        decorated = container.select(Greeter.class).get();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.close();
+    }
+
+    @Benchmark
+    public int baseline()
+    {
+        return plain.increment();
+    }
+
+    @Benchmark
+    public int interceptor()
+    {
+        return intercepted.increment();
+    }
+
+    @Benchmark
+    public String decorator()
+    {
+        return decorated.greet("benchmark");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.apache.webbeans.benchmarks.beans.RequestBean;
+import org.apache.webbeans.benchmarks.beans.SessionBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A business method invocation through the normal scoped proxy for each built-in scope.
+ * The dependent bean is the baseline without any proxy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NormalScopedProxyBenchmark
+{
+    private SeContainer container;
+
+    private ApplicationBean applicationBean;
+    private RequestBean requestBean;
+    private SessionBean sessionBean;
+    private DependentBean dependentBean;
+
+    @Setup
+    public void setup()
+    {
+        container = Containers.boot();
+        Containers.startRequest();
+
+        applicationBean = container.select(ApplicationBean.class).get();
+        requestBean = container.select(RequestBean.class).get();
+        sessionBean = container.select(SessionBean.class).get();
+        dependentBean = container.select(DependentBean.class).get();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        Containers.stopRequest();
+        container.close();
+    }
+
+    @Benchmark
+    public int applicationScoped()
+    {
+        return applicationBean.increment();
+    }
+
+    @Benchmark
+    public int requestScoped()
+    {
+        return requestBean.increment();
+    }
+
+    @Benchmark
+    public int sessionScoped()
+    {
+        return sessionBean.increment();
+    }
+
+    @Benchmark
+    public int dependent()
+    {
+        return dependentBean.increment();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.se.SeContainer;
+
+import org.apache.webbeans.benchmarks.beans.SyntheticBean;
+import org.apache.webbeans.benchmarks.beans.SyntheticBeansExtension;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A full request: start the request context, use {@code beans} request scoped beans and end the context again,
+ * which destroys all of the created instances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestContextBenchmark
+{
+    @Param({"10", "100"})
+    private int beans;
+
+    private SeContainer container;
+    private SyntheticBean[] proxies;
+
+    @Setup
+    public void setup()
+    {
+        container = Containers.boot(new Class<?>[0], new SyntheticBeansExtension(beans, RequestScoped.class));
+
+        proxies = new SyntheticBean[beans];
+        for (int i = 0; i < beans; i++)
+        {
+            proxies[i] = container.select(SyntheticBean.class, SyntheticBeansExtension.qualifier(i)).get();
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        container.close();
+    }
+
+    @Benchmark
+    public int request()
+    {
+        Containers.startContext(RequestScoped.class);
+        try
+        {
+            int sum = 0;
+            for (SyntheticBean proxy : proxies)
+            {
+                sum += proxy.increment();
+            }
+            return sum;
+        }
+        finally
+        {
+            Containers.endContext(RequestScoped.class);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks.beans;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+/**
+ * Registers {@code count} beans of type {@link SyntheticBean} in the given scope.
+ * Each bean gets the qualifier {@code @Named("synthetic" + i)}.
+ */
+public class SyntheticBeansExtension implements Extension
+{
+    private final int count;
+    private final Class<? extends Annotation> scope;
+
+    public SyntheticBeansExtension(int count, Class<? extends Annotation> scope)
+    {
+        this.count = count;
+        this.scope = scope;
+    }
+
+    public static NamedLiteral qualifier(int i)
+    {
+        return NamedLiteral.of("synthetic" + i);
+    }
+
+    void addBeans(@Observes AfterBeanDiscovery afterBeanDiscovery)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            afterBeanDiscovery.addBean()
+                    .beanClass(SyntheticBean.class)
+                    .types(SyntheticBean.class, Object.class)
+                    .qualifiers(qualifier(i), Any.Literal.INSTANCE)
+                    .scope(scope)
+                    .createWith(creationalContext -> new SyntheticBean());
+        }
+    }
+}
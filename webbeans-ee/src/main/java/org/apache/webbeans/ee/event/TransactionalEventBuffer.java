@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+
+/**
+ * A single {@link Synchronization} which gets registered once per {@link Transaction}
+ * and collects all the transactional observer notifications fired within it.
+ *
+ * Instead of bloating the synchronization list of the TransactionManager with one
+ * entry per (observer, event) pair we only register this buffer and deliver the
+ * pending notifications in the order they got fired.
+ */
+final class TransactionalEventBuffer implements Synchronization
+{
+    /**
+     * All buffers of currently running transactions.
+     * A buffer removes itself once its transaction completed.
+     */
+    private static final ConcurrentMap<Transaction, TransactionalEventBuffer> BUFFERS = new ConcurrentHashMap<>();
+
+    private final Transaction transaction;
+
+    /**
+     * max number of buffered notifications, {@code 0} means unbounded
+     */
+    private final int limit;
+
+    private final List<Synchronization> pending = new ArrayList<>();
+
+    private boolean completed;
+
+    private TransactionalEventBuffer(Transaction transaction, int limit)
+    {
+        this.transaction = transaction;
+        this.limit = limit;
+    }
+
+    /**
+     * @return the buffer of the given transaction or {@code null} if none got registered yet
+     */
+    static TransactionalEventBuffer get(Transaction transaction)
+    {
+        return BUFFERS.get(transaction);
+    }
+
+    /**
+     * Create a new buffer and register it as {@link Synchronization} in the given transaction.
+     * If the registration fails the buffer will not be remembered.
+     */
+    static TransactionalEventBuffer register(Transaction transaction, int limit) throws RollbackException, SystemException
+    {
+        TransactionalEventBuffer buffer = new TransactionalEventBuffer(transaction, limit);
+        transaction.registerSynchronization(buffer);
+
+        TransactionalEventBuffer existing = BUFFERS.putIfAbsent(transaction, buffer);
+        if (existing != null)
+        {
+            // someone else was faster. Our buffer stays registered but will simply remain empty
+            return existing;
+        }
+        return buffer;
+    }
+
+    /**
+     * Enqueue the given notification.
+     * @return {@code false} if the buffer is full or the transaction is already completed
+     */
+    synchronized boolean add(Synchronization synchronization)
+    {
+        if (completed || (limit > 0 && pending.size() >= limit))
+        {
+            return false;
+        }
+        pending.add(synchronization);
+        return true;
+    }
+
+    synchronized boolean isCompleted()
+    {
+        return completed;
+    }
+
+    private synchronized int size()
+    {
+        return pending.size();
+    }
+
+    private synchronized Synchronization pendingAt(int i)
+    {
+        return pending.get(i);
+    }
+
+    @Override
+    public void beforeCompletion()
+    {
+        // BEFORE_COMPLETION observers might fire further events, so we must not use an Iterator
+        for (int i = 0; i < size(); i++)
+        {
+            pendingAt(i).beforeCompletion();
+        }
+    }
+
+    @Override
+    public void afterCompletion(int status)
+    {
+        List<Synchronization> toNotify;
+        synchronized (this)
+        {
+            completed = true;
+            toNotify = new ArrayList<>(pending);
+            pending.clear();
+        }
+        BUFFERS.remove(transaction, this);
+
+        for (Synchronization synchronization : toNotify)
+        {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
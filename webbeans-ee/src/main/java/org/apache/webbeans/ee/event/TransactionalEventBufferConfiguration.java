@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.ee.event.TransactionalEventNotifier.OverflowPolicy;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+
+/**
+ * The transactional event buffering settings of an application.
+ * They get parsed once and are then kept as service of the {@link WebBeansContext}.
+ *
+ * @see TransactionalEventNotifier#BUFFER_EVENTS
+ */
+public final class TransactionalEventBufferConfiguration
+{
+    private final int bufferLimit;
+
+    private final OverflowPolicy overflowPolicy;
+
+    TransactionalEventBufferConfiguration(OpenWebBeansConfiguration configuration)
+    {
+        if ("true".equalsIgnoreCase(configuration.getProperty(TransactionalEventNotifier.BUFFER_EVENTS)))
+        {
+            bufferLimit = parseBufferLimit(configuration.getProperty(TransactionalEventNotifier.BUFFER_LIMIT));
+            overflowPolicy = parseOverflowPolicy(configuration.getProperty(TransactionalEventNotifier.BUFFER_OVERFLOW_POLICY));
+        }
+        else
+        {
+            bufferLimit = -1;
+            overflowPolicy = OverflowPolicy.REGISTER;
+        }
+    }
+
+    /**
+     * @return the settings of the given application
+     * @throws WebBeansConfigurationException if the configuration is invalid
+     */
+    public static TransactionalEventBufferConfiguration get(WebBeansContext webBeansContext)
+    {
+        TransactionalEventBufferConfiguration configuration = webBeansContext.getService(TransactionalEventBufferConfiguration.class);
+        if (configuration == null)
+        {
+            configuration = new TransactionalEventBufferConfiguration(webBeansContext.getOpenWebBeansConfiguration());
+            webBeansContext.registerService(TransactionalEventBufferConfiguration.class, configuration);
+        }
+        return configuration;
+    }
+
+    /**
+     * @return {@code -1} if notifications should not get buffered,
+     *         {@code 0} for an unbounded buffer or the max number of buffered notifications per transaction
+     */
+    public int getBufferLimit()
+    {
+        return bufferLimit;
+    }
+
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+    private static int parseBufferLimit(String value)
+    {
+        if (value == null || value.trim().isEmpty())
+        {
+            return 0;
+        }
+        try
+        {
+            int bufferLimit = Integer.parseInt(value.trim());
+            if (bufferLimit >= 0)
+            {
+                return bufferLimit;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // reported below
+        }
+        throw new WebBeansConfigurationException("Invalid value for " + TransactionalEventNotifier.BUFFER_LIMIT + ": " + value);
+    }
+
+    private static OverflowPolicy parseOverflowPolicy(String value)
+    {
+        if (value == null || value.trim().isEmpty())
+        {
+            return OverflowPolicy.REGISTER;
+        }
+        for (OverflowPolicy overflowPolicy : OverflowPolicy.values())
+        {
+            if (overflowPolicy.name().equalsIgnoreCase(value.trim()))
+            {
+                return overflowPolicy;
+            }
+        }
+        throw new WebBeansConfigurationException("Invalid value for " + TransactionalEventNotifier.BUFFER_OVERFLOW_POLICY + ": " + value);
+    }
+}
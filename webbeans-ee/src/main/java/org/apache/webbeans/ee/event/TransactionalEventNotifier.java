@@ -41,6 +41,41 @@ public final class TransactionalEventNotifier
 {
     private static final Logger logger = WebBeansLoggerFacade.getLogger(TransactionalEventNotifier.class);
 
+    /**
+     * If set to {@code true} we only register a single {@link Synchronization} per transaction
+     * which buffers all transactional observer notifications and delivers them in order.
+     * Default is {@code false} which registers one Synchronization per observer and event.
+     */
+    public static final String BUFFER_EVENTS = TransactionalEventNotifier.class.getName() + ".bufferEvents";
+
+    /**
+     * The maximum number of notifications buffered per transaction.
+     * Default is {@code 0} which means unbounded.
+     */
+    public static final String BUFFER_LIMIT = TransactionalEventNotifier.class.getName() + ".bufferLimit";
+
+    /**
+     * What to do if the {@link #BUFFER_LIMIT} got exceeded.
+     * See {@link OverflowPolicy}, default is {@link OverflowPolicy#REGISTER}.
+     */
+    public static final String BUFFER_OVERFLOW_POLICY = TransactionalEventNotifier.class.getName() + ".bufferOverflowPolicy";
+
+    /**
+     * Handling of notifications which do not fit into the transaction buffer anymore.
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * Register an own {@link Synchronization} for the notification as if buffering is disabled.
+         */
+        REGISTER,
+
+        /**
+         * Throw an {@link IllegalStateException} to the code which fired the event.
+         */
+        FAIL
+    }
+
     private TransactionalEventNotifier()
     {
         // utility class ct
@@ -67,8 +102,23 @@ public final class TransactionalEventNotifier
      */
     public static void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event, EventMetadata metadata) throws Exception
     {
-        TransactionService transactionService = WebBeansContext.currentInstance().getService(TransactionService.class);
-        
+        WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        TransactionalEventBufferConfiguration configuration = TransactionalEventBufferConfiguration.get(webBeansContext);
+
+        registerTransactionSynchronization(webBeansContext.getService(TransactionService.class),
+                configuration.getBufferLimit(), configuration.getOverflowPolicy(),
+                phase, observer, event, metadata);
+    }
+
+    /**
+     * @param bufferLimit {@code -1} to not buffer at all, {@code 0} for an unbounded buffer per transaction
+     *                    or the max number of notifications to buffer
+     * @see #registerTransactionSynchronization(TransactionPhase, ObserverMethod, Object, EventMetadata)
+     */
+    static void registerTransactionSynchronization(TransactionService transactionService, int bufferLimit, OverflowPolicy overflowPolicy,
+                                                   TransactionPhase phase, ObserverMethod<? super Object> observer,
+                                                   Object event, EventMetadata metadata) throws Exception
+    {
         Transaction transaction = null;
         if(transactionService != null)
         {
@@ -79,7 +129,7 @@ public final class TransactionalEventNotifier
         {
             if (phase == TransactionPhase.AFTER_COMPLETION)
             {
-                registerEvent(transaction, new AfterCompletion(observer, event, metadata), true);
+                registerEvent(transaction, new AfterCompletion(observer, event, metadata), true, bufferLimit, overflowPolicy);
             }
             else if (phase == TransactionPhase.AFTER_SUCCESS)
             {
@@ -90,16 +140,16 @@ public final class TransactionalEventNotifier
                 }
                 else
                 {
-                    registerEvent(transaction, new AfterCompletionSuccess(observer, event, metadata), false);
+                    registerEvent(transaction, new AfterCompletionSuccess(observer, event, metadata), false, bufferLimit, overflowPolicy);
                 }
             }
             else if (phase == TransactionPhase.AFTER_FAILURE)
             {
-                registerEvent(transaction, new AfterCompletionFailure(observer, event, metadata), true);
+                registerEvent(transaction, new AfterCompletionFailure(observer, event, metadata), true, bufferLimit, overflowPolicy);
             }
             else if (phase == TransactionPhase.BEFORE_COMPLETION)
             {
-                registerEvent(transaction, new BeforeCompletion(observer, event, metadata), true);
+                registerEvent(transaction, new BeforeCompletion(observer, event, metadata), true, bufferLimit, overflowPolicy);
             }
             else
             {
@@ -112,26 +162,63 @@ public final class TransactionalEventNotifier
         }
     }
 
-    private static void registerEvent(Transaction transaction, AbstractSynchronization synchronization, boolean immediateOnError)
+    private static void registerEvent(Transaction transaction, AbstractSynchronization synchronization, boolean immediateOnError,
+                                      int bufferLimit, OverflowPolicy overflowPolicy)
         throws SystemException
     {
+        if (bufferLimit >= 0)
+        {
+            TransactionalEventBuffer buffer = TransactionalEventBuffer.get(transaction);
+            if (buffer == null)
+            {
+                try
+                {
+                    buffer = TransactionalEventBuffer.register(transaction, bufferLimit);
+                }
+                catch (RollbackException re)
+                {
+                    registrationFailed(synchronization, immediateOnError);
+                    return;
+                }
+                catch (IllegalStateException ise)
+                {
+                    registrationFailed(synchronization, immediateOnError);
+                    return;
+                }
+            }
+
+            if (buffer.add(synchronization))
+            {
+                return;
+            }
+
+            if (overflowPolicy == OverflowPolicy.FAIL && !buffer.isCompleted())
+            {
+                throw new IllegalStateException("Transactional event buffer limit of " + bufferLimit +
+                        " exceeded while registering observer " + synchronization.observer);
+            }
+            // otherwise fall back to an own Synchronization
+        }
+
         try
         {
             transaction.registerSynchronization(synchronization);
         }
         catch (RollbackException re)
         {
-            if (immediateOnError)
-            {
-                synchronization.notifyObserver();
-            }
+            registrationFailed(synchronization, immediateOnError);
         }
         catch (IllegalStateException ise)
         {
-            if (immediateOnError)
-            {
-                synchronization.notifyObserver();
-            }
+            registrationFailed(synchronization, immediateOnError);
+        }
+    }
+
+    private static void registrationFailed(AbstractSynchronization synchronization, boolean immediateOnError)
+    {
+        if (immediateOnError)
+        {
+            synchronization.notifyObserver();
         }
     }
 
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Properties;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.ee.event.TransactionalEventNotifier.OverflowPolicy;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.junit.Test;
+
+public class TransactionalEventBufferConfigurationTest
+{
+    @Test
+    public void disabledByDefault()
+    {
+        TransactionalEventBufferConfiguration configuration
+            = TransactionalEventBufferConfiguration.get(new WebBeansContext(null, new Properties()));
+        assertEquals(-1, configuration.getBufferLimit());
+        assertEquals(OverflowPolicy.REGISTER, configuration.getOverflowPolicy());
+    }
+
+    @Test
+    public void parsedOncePerContext()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(TransactionalEventNotifier.BUFFER_EVENTS, "true");
+        properties.setProperty(TransactionalEventNotifier.BUFFER_LIMIT, " 100 ");
+        properties.setProperty(TransactionalEventNotifier.BUFFER_OVERFLOW_POLICY, "fail");
+
+        WebBeansContext webBeansContext = new WebBeansContext(null, properties);
+        TransactionalEventBufferConfiguration configuration = TransactionalEventBufferConfiguration.get(webBeansContext);
+        assertEquals(100, configuration.getBufferLimit());
+        assertEquals(OverflowPolicy.FAIL, configuration.getOverflowPolicy());
+
+        webBeansContext.getOpenWebBeansConfiguration().setProperty(TransactionalEventNotifier.BUFFER_LIMIT, "x");
+        assertSame(configuration, TransactionalEventBufferConfiguration.get(webBeansContext));
+    }
+
+    @Test(expected = WebBeansConfigurationException.class)
+    public void invalidLimit()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(TransactionalEventNotifier.BUFFER_EVENTS, "true");
+        properties.setProperty(TransactionalEventNotifier.BUFFER_LIMIT, "-1");
+        TransactionalEventBufferConfiguration.get(new WebBeansContext(null, properties));
+    }
+
+    @Test(expected = WebBeansConfigurationException.class)
+    public void invalidOverflowPolicy()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(TransactionalEventNotifier.BUFFER_EVENTS, "true");
+        properties.setProperty(TransactionalEventNotifier.BUFFER_OVERFLOW_POLICY, "drop");
+        TransactionalEventBufferConfiguration.get(new WebBeansContext(null, properties));
+    }
+}
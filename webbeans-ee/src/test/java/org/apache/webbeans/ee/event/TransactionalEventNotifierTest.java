@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+import javax.transaction.xa.XAResource;
+
+import org.apache.webbeans.ee.event.TransactionalEventNotifier.OverflowPolicy;
+import org.apache.webbeans.spi.TransactionService;
+import org.junit.Test;
+
+public class TransactionalEventNotifierTest
+{
+    private final List<String> received = new ArrayList<>();
+
+    @Test
+    public void unbufferedRegistersOneSynchronizationPerEvent() throws Exception
+    {
+        TestTransaction tx = new TestTransaction();
+        TransactionService transactionService = new TestTransactionService(tx);
+
+        for (int i = 0; i < 5; i++)
+        {
+            fire(transactionService, -1, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "event" + i);
+        }
+
+        assertEquals(5, tx.synchronizations.size());
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(5, received.size());
+    }
+
+    @Test
+    public void bufferedRegistersOneSynchronizationAndKeepsOrder() throws Exception
+    {
+        TestTransaction tx = new TestTransaction();
+        TransactionService transactionService = new TestTransactionService(tx);
+
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "success1");
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_FAILURE, "failure");
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.BEFORE_COMPLETION, "before");
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_COMPLETION, "completion");
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "success2");
+
+        assertEquals(1, tx.synchronizations.size());
+
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(4, received.size());
+        assertEquals("before", received.get(0));
+        assertEquals("success1", received.get(1));
+        assertEquals("completion", received.get(2));
+        assertEquals("success2", received.get(3));
+    }
+
+    @Test
+    public void bufferedRollback() throws Exception
+    {
+        TestTransaction tx = new TestTransaction();
+        TransactionService transactionService = new TestTransactionService(tx);
+
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "success");
+        fire(transactionService, 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_FAILURE, "failure");
+
+        tx.complete(Status.STATUS_ROLLEDBACK);
+        assertEquals(Collections.singletonList("failure"), received);
+    }
+
+    @Test
+    public void bufferOverflowFallsBackToOwnSynchronization() throws Exception
+    {
+        TestTransaction tx = new TestTransaction();
+        TransactionService transactionService = new TestTransactionService(tx);
+
+        for (int i = 0; i < 5; i++)
+        {
+            fire(transactionService, 3, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "event" + i);
+        }
+
+        // the buffer + 2 overflowing events
+        assertEquals(3, tx.synchronizations.size());
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(5, received.size());
+    }
+
+    @Test
+    public void bufferOverflowFails() throws Exception
+    {
+        TestTransaction tx = new TestTransaction();
+        TransactionService transactionService = new TestTransactionService(tx);
+
+        fire(transactionService, 1, OverflowPolicy.FAIL, TransactionPhase.AFTER_SUCCESS, "event1");
+        try
+        {
+            fire(transactionService, 1, OverflowPolicy.FAIL, TransactionPhase.AFTER_SUCCESS, "event2");
+            fail("buffer overflow must fail");
+        }
+        catch (IllegalStateException expected)
+        {
+            // all fine
+        }
+
+        tx.complete(Status.STATUS_COMMITTED);
+        assertEquals(Collections.singletonList("event1"), received);
+    }
+
+    @Test
+    public void newBufferForNextTransaction() throws Exception
+    {
+        TestTransaction tx1 = new TestTransaction();
+        fire(new TestTransactionService(tx1), 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "tx1");
+        tx1.complete(Status.STATUS_COMMITTED);
+
+        TestTransaction tx2 = new TestTransaction();
+        fire(new TestTransactionService(tx2), 0, OverflowPolicy.REGISTER, TransactionPhase.AFTER_SUCCESS, "tx2");
+        assertEquals(1, tx2.synchronizations.size());
+        tx2.complete(Status.STATUS_COMMITTED);
+
+        assertEquals(2, received.size());
+        assertTrue(TransactionalEventBuffer.get(tx1) == null);
+        assertTrue(TransactionalEventBuffer.get(tx2) == null);
+    }
+
+    private void fire(TransactionService transactionService, int bufferLimit, OverflowPolicy overflowPolicy,
+                      TransactionPhase phase, String event) throws Exception
+    {
+        TransactionalEventNotifier.registerTransactionSynchronization(transactionService, bufferLimit, overflowPolicy,
+                phase, new RecordingObserver(phase), event, null);
+    }
+
+    private final class RecordingObserver implements ObserverMethod<Object>
+    {
+        private final TransactionPhase phase;
+
+        private RecordingObserver(TransactionPhase phase)
+        {
+            this.phase = phase;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return TransactionalEventNotifierTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return String.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return phase;
+        }
+
+        @Override
+        public void notify(Object event)
+        {
+            received.add(event.toString());
+        }
+    }
+
+    private static final class TestTransaction implements Transaction
+    {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+        private int status = Status.STATUS_ACTIVE;
+
+        private void complete(int finalStatus)
+        {
+            for (Synchronization synchronization : new ArrayList<>(synchronizations))
+            {
+                synchronization.beforeCompletion();
+            }
+            status = finalStatus;
+            for (Synchronization synchronization : new ArrayList<>(synchronizations))
+            {
+                synchronization.afterCompletion(finalStatus);
+            }
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization)
+        {
+            if (status != Status.STATUS_ACTIVE)
+            {
+                throw new IllegalStateException("transaction not active");
+            }
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public int getStatus()
+        {
+            return status;
+        }
+
+        @Override
+        public void commit()
+        {
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        @Override
+        public void rollback()
+        {
+            complete(Status.STATUS_ROLLEDBACK);
+        }
+
+        @Override
+        public boolean delistResource(XAResource xaResource, int flag)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean enlistResource(XAResource xaResource)
+        {
+            return false;
+        }
+
+        @Override
+        public void setRollbackOnly()
+        {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+    }
+
+    private static final class TestTransactionService implements TransactionService
+    {
+        private final Transaction transaction;
+
+        private TestTransactionService(Transaction transaction)
+        {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public TransactionManager getTransactionManager()
+        {
+            return null;
+        }
+
+        @Override
+        public Transaction getTransaction()
+        {
+            return transaction;
+        }
+
+        @Override
+        public UserTransaction getUserTransaction()
+        {
+            return null;
+        }
+
+        @Override
+        public void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
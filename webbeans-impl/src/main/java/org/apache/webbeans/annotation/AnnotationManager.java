@@ -82,6 +82,8 @@ public final class AnnotationManager
 
     private final boolean strictValidation;
 
+    private final CanonicalQualifierRegistry canonicalQualifierRegistry;
+
     // No instantiate
 
     public AnnotationManager(WebBeansContext context)
@@ -89,6 +91,31 @@ public final class AnnotationManager
         webBeansContext = context;
         beanManagerImpl = context.getBeanManagerImpl();
         strictValidation = context.getOpenWebBeansConfiguration().strictDynamicValidation();
+        canonicalQualifierRegistry = new CanonicalQualifierRegistry(
+            type -> beanManagerImpl.getAdditionalAnnotatedTypeQualifiers().get(type));
+    }
+
+    /**
+     * @return the interned representation of the given qualifier
+     * @see CanonicalQualifierRegistry
+     */
+    public CanonicalQualifier getCanonicalQualifier(Annotation qualifier)
+    {
+        return canonicalQualifierRegistry.getCanonicalQualifier(qualifier);
+    }
+
+    /**
+     * @return the interned representation of the given qualifiers in a stable order
+     * @see CanonicalQualifierRegistry
+     */
+    public CanonicalQualifier[] getCanonicalQualifiers(Annotation... qualifiers)
+    {
+        return canonicalQualifierRegistry.getCanonicalQualifiers(qualifiers);
+    }
+
+    public CanonicalQualifierRegistry getCanonicalQualifierRegistry()
+    {
+        return canonicalQualifierRegistry;
     }
 
     public Annotation getDeclaredScopeAnnotation(Class<?> beanClass)
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+
+/**
+ * Internal representation of a qualifier value.
+ *
+ * It only contains the values of the binding members, so all qualifier annotations which
+ * are equal in the sense of the CDI specification (ignoring {@link javax.enterprise.util.Nonbinding}
+ * members) map to the same CanonicalQualifier.
+ *
+ * The qualifiers of beans get interned by the {@link CanonicalQualifierRegistry}, so two interned
+ * CanonicalQualifiers are equal if and only if they are identical.
+ * The {@link #getOrdinal() ordinal} gets assigned while interning and defines a stable
+ * order for qualifier arrays. Values which no bean declares stay uninterned and have the ordinal {@code -1}.
+ */
+public final class CanonicalQualifier
+{
+    private final Class<? extends Annotation> annotationType;
+
+    /**
+     * the values of all binding members in a stable order
+     */
+    private final Object[] bindingValues;
+
+    /**
+     * the first annotation instance seen for this qualifier value
+     */
+    private final Annotation annotation;
+
+    private final int hashCode;
+
+    private final int ordinal;
+
+    CanonicalQualifier(Class<? extends Annotation> annotationType, Object[] bindingValues, Annotation annotation)
+    {
+        this(annotationType, bindingValues, annotation, -1);
+    }
+
+    private CanonicalQualifier(Class<? extends Annotation> annotationType, Object[] bindingValues, Annotation annotation, int ordinal)
+    {
+        this.annotationType = annotationType;
+        this.bindingValues = bindingValues;
+        this.annotation = annotation;
+        this.ordinal = ordinal;
+        this.hashCode = 31 * annotationType.hashCode() + Arrays.deepHashCode(bindingValues);
+    }
+
+    /**
+     * @return a copy of this instance with the given ordinal
+     */
+    CanonicalQualifier intern(int newOrdinal)
+    {
+        return new CanonicalQualifier(annotationType, bindingValues, annotation, newOrdinal);
+    }
+
+    public Class<? extends Annotation> getAnnotationType()
+    {
+        return annotationType;
+    }
+
+    /**
+     * @return an annotation instance representing this qualifier.
+     *         Note that {@link javax.enterprise.util.Nonbinding} members might differ from the originally used annotation.
+     */
+    public Annotation getAnnotation()
+    {
+        return annotation;
+    }
+
+    /**
+     * @return the position of this qualifier in the registry, {@code -1} if it did not get interned yet
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof CanonicalQualifier))
+        {
+            return false;
+        }
+
+        CanonicalQualifier other = (CanonicalQualifier) o;
+        return hashCode == other.hashCode
+                && annotationType == other.annotationType
+                && Arrays.deepEquals(bindingValues, other.bindingValues);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        return annotation.toString();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.util.Nonbinding;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.util.AnnotationUtil;
+
+/**
+ * Interns qualifier annotations into {@link CanonicalQualifier}s.
+ *
+ * For each qualifier type we precompute the table of binding members once.
+ * Qualifiers without binding members (like &#064;Default, &#064;Any or most custom qualifiers)
+ * map to a single CanonicalQualifier per type without touching any member at all.
+ * For all others the binding member values get read once per lookup.
+ *
+ * Only the qualifier values declared by beans get {@link #internQualifier(Annotation) interned}.
+ * Lookups return the interned instance if there is one, any other value, e.g. a literal
+ * created for a programmatic lookup, stays a short lived uninterned instance.
+ * Thus the registry only grows with the number of qualifier types and bean qualifiers.
+ * CanonicalQualifiers are compared via {@link CanonicalQualifier#equals(Object)}
+ * which boils down to an identity check for interned ones.
+ *
+ * There is one registry per {@link AnnotationManager}.
+ */
+public class CanonicalQualifierRegistry
+{
+    /**
+     * uninterned qualifiers all have the same ordinal, the hashCode keeps their order stable in most cases
+     */
+    private static final Comparator<CanonicalQualifier> ORDINAL_COMPARATOR
+            = Comparator.comparingInt(CanonicalQualifier::getOrdinal).thenComparingInt(CanonicalQualifier::hashCode);
+
+    private static final Method[] NO_MEMBERS = new Method[0];
+
+    private static final CanonicalQualifier[] NO_QUALIFIERS = new CanonicalQualifier[0];
+
+    /**
+     * Resolves qualifiers which got registered via an AnnotatedType.
+     * Those might declare other &#064;Nonbinding members than the annotation class.
+     */
+    private final Function<Class<?>, AnnotatedType<?>> qualifierModelLoader;
+
+    private final ConcurrentMap<Class<? extends Annotation>, Method[]> bindingMembers = new ConcurrentHashMap<>();
+
+    /**
+     * fast path for qualifiers without any binding member
+     */
+    private final ConcurrentMap<Class<? extends Annotation>, CanonicalQualifier> memberlessQualifiers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<CanonicalQualifier, CanonicalQualifier> qualifiers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger ordinals = new AtomicInteger();
+
+    public CanonicalQualifierRegistry(Function<Class<?>, AnnotatedType<?>> qualifierModelLoader)
+    {
+        this.qualifierModelLoader = qualifierModelLoader;
+    }
+
+    /**
+     * @return the interned representation of the given qualifier annotation if there is one,
+     *         an uninterned CanonicalQualifier otherwise
+     */
+    public CanonicalQualifier getCanonicalQualifier(Annotation qualifier)
+    {
+        return getCanonicalQualifier(qualifier, false);
+    }
+
+    /**
+     * Intern the given qualifier, e.g. because a bean declares it.
+     *
+     * @return the interned representation of the given qualifier annotation
+     */
+    public CanonicalQualifier internQualifier(Annotation qualifier)
+    {
+        return getCanonicalQualifier(qualifier, true);
+    }
+
+    private CanonicalQualifier getCanonicalQualifier(Annotation qualifier, boolean intern)
+    {
+        Class<? extends Annotation> annotationType = qualifier.annotationType();
+
+        CanonicalQualifier canonicalQualifier = memberlessQualifiers.get(annotationType);
+        if (canonicalQualifier != null)
+        {
+            return canonicalQualifier;
+        }
+
+        Method[] members = getBindingMembers(annotationType);
+        if (members.length == 0)
+        {
+            return intern(memberlessQualifiers, annotationType, new CanonicalQualifier(annotationType, AnnotationUtil.EMPTY_OBJECT_ARRAY, qualifier));
+        }
+
+        Object[] values = new Object[members.length];
+        for (int i = 0; i < members.length; i++)
+        {
+            values[i] = readMember(qualifier, members[i]);
+        }
+
+        CanonicalQualifier probe = new CanonicalQualifier(annotationType, values, qualifier);
+        canonicalQualifier = qualifiers.get(probe);
+        if (canonicalQualifier != null || !intern)
+        {
+            return canonicalQualifier != null ? canonicalQualifier : probe;
+        }
+        return intern(qualifiers, probe, probe);
+    }
+
+    /**
+     * @return the canonical qualifiers sorted by their {@link CanonicalQualifier#getOrdinal()}
+     * @see #getCanonicalQualifier(Annotation)
+     */
+    public CanonicalQualifier[] getCanonicalQualifiers(Annotation... qualifierAnnotations)
+    {
+        if (qualifierAnnotations == null || qualifierAnnotations.length == 0)
+        {
+            return NO_QUALIFIERS;
+        }
+
+        CanonicalQualifier[] result = new CanonicalQualifier[qualifierAnnotations.length];
+        for (int i = 0; i < qualifierAnnotations.length; i++)
+        {
+            result[i] = getCanonicalQualifier(qualifierAnnotations[i]);
+        }
+        if (result.length > 1)
+        {
+            Arrays.sort(result, ORDINAL_COMPARATOR);
+        }
+        return result;
+    }
+
+    /**
+     * Forget all interned qualifiers, e.g. after a new qualifier got registered
+     * via {@link javax.enterprise.inject.spi.BeforeBeanDiscovery#addQualifier(AnnotatedType)}.
+     */
+    public void clear()
+    {
+        bindingMembers.clear();
+        memberlessQualifiers.clear();
+        qualifiers.clear();
+    }
+
+    /**
+     * @return the number of interned qualifier values
+     */
+    public int size()
+    {
+        return memberlessQualifiers.size() + qualifiers.size();
+    }
+
+    private <K> CanonicalQualifier intern(ConcurrentMap<K, CanonicalQualifier> map, K key, CanonicalQualifier probe)
+    {
+        CanonicalQualifier interned = probe.intern(ordinals.incrementAndGet());
+        CanonicalQualifier existing = map.putIfAbsent(key, interned);
+        return existing != null ? existing : interned;
+    }
+
+    private Method[] getBindingMembers(Class<? extends Annotation> annotationType)
+    {
+        Method[] members = bindingMembers.get(annotationType);
+        if (members == null)
+        {
+            members = computeBindingMembers(annotationType);
+            bindingMembers.putIfAbsent(annotationType, members);
+        }
+        return members;
+    }
+
+    private Method[] computeBindingMembers(Class<? extends Annotation> annotationType)
+    {
+        List<Method> members = new ArrayList<>();
+
+        AnnotatedType<?> qualifierModel = qualifierModelLoader != null ? qualifierModelLoader.apply(annotationType) : null;
+        if (qualifierModel != null)
+        {
+            for (AnnotatedMethod<?> method : qualifierModel.getMethods())
+            {
+                if (!method.isAnnotationPresent(Nonbinding.class))
+                {
+                    members.add(method.getJavaMember());
+                }
+            }
+        }
+        else
+        {
+            for (Method method : annotationType.getDeclaredMethods())
+            {
+                if (!AnnotationUtil.hasMethodAnnotation(method, Nonbinding.class))
+                {
+                    members.add(method);
+                }
+            }
+        }
+
+        if (members.isEmpty())
+        {
+            return NO_MEMBERS;
+        }
+
+        // the order of getDeclaredMethods is not defined, so make it stable
+        members.sort(Comparator.comparing(Method::getName));
+        for (Method member : members)
+        {
+            if (!member.isAccessible())
+            {
+                member.setAccessible(true);
+            }
+        }
+        return members.toArray(new Method[members.size()]);
+    }
+
+    private static Object readMember(Annotation annotation, Method member)
+    {
+        try
+        {
+            return member.invoke(annotation, AnnotationUtil.EMPTY_OBJECT_ARRAY);
+        }
+        catch (Exception e)
+        {
+            throw new WebBeansException("Exception in method call : " + member.getName(), e);
+        }
+    }
+}
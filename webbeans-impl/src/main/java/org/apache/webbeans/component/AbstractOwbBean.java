@@ -40,6 +40,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -257,6 +258,65 @@ public abstract class AbstractOwbBean<T>
     /** cache previously calculated result */
     private Boolean isPassivationCapable;
 
+    /**
+     * Dense index of this bean within its normal scope.
+     * Gets assigned once all beans are known and is used by the built-in contexts
+     * to store the contextual instance in an array instead of a Map.
+     * {@code -1} if no slot got assigned.
+     */
+    private int contextSlot = -1;
+
+    /**
+     * @return the slot of this bean within the context of its scope or {@code -1} if none got assigned
+     * @see org.apache.webbeans.context.AbstractContext
+     */
+    public int getContextSlot()
+    {
+        return contextSlot;
+    }
+
+    public void setContextSlot(int contextSlot)
+    {
+        this.contextSlot = contextSlot;
+    }
+
+    /**
+     * Types this bean already got successfully looked up with via
+     * {@link javax.enterprise.inject.spi.BeanManager#getReference}.
+     * Lazily created since most beans never get looked up with an explicit type.
+     */
+    private volatile Set<Type> validatedReferenceTypes;
+
+    /**
+     * @return {@code true} if the given type already got checked to be applicable for a reference of this bean
+     */
+    public boolean isValidatedReferenceType(Type type)
+    {
+        Set<Type> types = validatedReferenceTypes;
+        return types != null && types.contains(type);
+    }
+
+    /**
+     * Remember that the given type is applicable for a reference of this bean.
+     */
+    public void addValidatedReferenceType(Type type)
+    {
+        Set<Type> types = validatedReferenceTypes;
+        if (types == null)
+        {
+            synchronized (this)
+            {
+                types = validatedReferenceTypes;
+                if (types == null)
+                {
+                    types = ConcurrentHashMap.newKeySet();
+                    validatedReferenceTypes = types;
+                }
+            }
+        }
+        types.add(type);
+    }
+
     /**
      * Get web bean type of the bean.
      * 
@@ -33,6 +33,7 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 import org.apache.webbeans.portable.AbstractProducer;
+import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.util.Asserts;
 
 /**
@@ -101,6 +102,19 @@ public class InjectionTargetBean<T> extends AbstractOwbBean<T> implements Serial
         return injectionTarget;
     }
 
+    /**
+     * Destroying a dependent instance which has no &#064;PreDestroy callback,
+     * no interceptors and no decorators doesn't do anything.
+     * Such instances don't need to get tracked in the {@link javax.enterprise.context.spi.CreationalContext}.
+     *
+     * @return {@code true} if destroying the given instance is a no-op
+     */
+    public boolean isDestroyNoop(T instance)
+    {
+        InjectionTarget<T> producer = getProducer();
+        return producer instanceof InjectionTargetImpl && ((InjectionTargetImpl<T>) producer).isDestroyNoop(instance);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -20,6 +20,7 @@ package org.apache.webbeans.config;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.BeanAttributesImpl;
 import org.apache.webbeans.component.BuiltInOwbBean;
@@ -43,6 +44,8 @@ import org.apache.webbeans.container.AnnotatedTypeWrapper;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
@@ -66,6 +69,7 @@ import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.portable.BaseProducerProducer;
+import org.apache.webbeans.portable.MetadataCompactor;
 import org.apache.webbeans.portable.events.ProcessBeanAttributesImpl;
 import org.apache.webbeans.portable.events.ProcessBeanImpl;
 import org.apache.webbeans.portable.events.ProcessSyntheticAnnotatedTypeImpl;
@@ -109,9 +113,12 @@ import javax.enterprise.inject.spi.Producer;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.net.URL;
 import java.security.PrivilegedActionException;
 import java.util.ArrayList;
@@ -227,8 +234,23 @@ public class BeansDeployer
         {
             if (!deployed)
             {                
+                BootReport bootReport = webBeansContext.getBootReport();
+                boolean ownBootReport = false;
+                if (bootReport == null && (webBeansContext.getOpenWebBeansConfiguration().isBootReportEnabled()
+                        || webBeansContext.getMetricsService().isEnabled()))
+                {
+                    bootReport = new BootReport();
+                    webBeansContext.setBootReport(bootReport);
+                    ownBootReport = true;
+                }
+                else if (bootReport != null)
+                {
+                    bootReport.startPhase();
+                }
+
                 //Load Extensions
                 webBeansContext.getExtensionLoader().loadExtensionServices();
+                endPhase(bootReport, "loadExtensions");
 
                 // Bind manager
                 JNDIService service = webBeansContext.getService(JNDIService.class);
@@ -251,11 +273,13 @@ public class BeansDeployer
 
                 //Fire Event
                 fireBeforeBeanDiscoveryEvent();
+                endPhase(bootReport, "beforeBeanDiscovery");
                 
                 //Configure Default Beans
                 configureDefaultBeans();
 
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
+                endPhase(bootReport, "processAnnotatedTypes");
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
 
@@ -273,6 +297,12 @@ public class BeansDeployer
                 deployFromXML(scanner);
 
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
+                endPhase(bootReport, "afterTypeDiscovery");
+
+                if (bootReport != null)
+                {
+                    countAnnotatedTypes(bootReport, scanner, annotatedTypesPerBda);
+                }
 
 
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
@@ -280,6 +310,7 @@ public class BeansDeployer
 
                 // shouldn't be used anymore, view is now beanAttributes
                 annotatedTypesPerBda.clear();
+                endPhase(bootReport, "processBeanAttributes");
 
                 SpecializationUtil specializationUtil = new SpecializationUtil(webBeansContext);
                 specializationUtil.removeDisabledBeanAttributes(beanAttributesPerBda, null, true);
@@ -318,16 +349,23 @@ public class BeansDeployer
 
                 // all beans which got 'overridden' by a Specialized version can be removed now
                 removeDisabledBeans();
+                endPhase(bootReport, "beanDefinition");
                 
                 // We are finally done with our bean discovery
                 fireAfterBeanDiscoveryEvent();
 
+                // the set of beans is final now
+                assignContextSlots();
+                endPhase(bootReport, "afterBeanDiscovery");
+
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
                 
                 validateAlternatives(beanAttributesPerBda);
 
                 validateInjectionPoints();
+                endPhase(bootReport, "validateInjectionPoints");
+
                 validateDisposeParameters();
 
                 validateDecoratorDecoratedTypes();
@@ -343,15 +381,32 @@ public class BeansDeployer
                             .getExecutor().execute(() -> {});
                 }
 
+                endPhase(bootReport, "validation");
+
                 // fire event
                 fireAfterDeploymentValidationEvent();
-
+                endPhase(bootReport, "afterDeploymentValidation");
 
                 // do some cleanup after the deployment
                 scanner.release();
                 webBeansContext.getAnnotatedElementFactory().clear();
                 webBeansContext.getNotificationManager().clearCaches();
                 webBeansContext.getAnnotationManager().clearCaches();
+
+                if (webBeansContext.getOpenWebBeansConfiguration().isCompactMetadata())
+                {
+                    compactMetadata(bootReport);
+                    endPhase(bootReport, "compactMetadata");
+                }
+
+                if (bootReport != null)
+                {
+                    countBeans(bootReport);
+                    if (ownBootReport)
+                    {
+                        bootReport.publish(webBeansContext);
+                    }
+                }
             }
         }
         catch (UnsatisfiedResolutionException e)
@@ -630,6 +685,29 @@ public class BeansDeployer
         }
     }
 
+    /**
+     * Number all normal scoped beans per scope, so the built-in contexts
+     * can store their instances in an array.
+     */
+    private void assignContextSlots()
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Map<Class<? extends Annotation>, Integer> slotsPerScope = new HashMap<>();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (bean instanceof AbstractOwbBean && beanManager.isNormalScope(bean.getScope()))
+            {
+                Integer slot = slotsPerScope.get(bean.getScope());
+                if (slot == null)
+                {
+                    slot = 0;
+                }
+                ((AbstractOwbBean<?>) bean).setContextSlot(slot);
+                slotsPerScope.put(bean.getScope(), slot + 1);
+            }
+        }
+    }
+
     private void registerAlternativesDecoratorsAndInterceptorsWithPriority(List<AnnotatedType<?>> annotatedTypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -1086,7 +1164,7 @@ public class BeansDeployer
         logger.fine("Validation of the decorator's injection points has started.");
         
         //Validate Decorators
-        validate(decorators);
+        validate(decorators, Collections.emptySet());
         
         //Adding interceptors to validate
         List<javax.enterprise.inject.spi.Interceptor<?>> interceptors = interceptorsManager.getCdiInterceptors();
@@ -1094,14 +1172,15 @@ public class BeansDeployer
         logger.fine("Validation of the interceptor's injection points has started.");
         
         //Validate Interceptors
-        validate(interceptors);
+        validate(interceptors, Collections.emptySet());
 
         logger.fine("Validation of the beans' injection points has started.");
 
         Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
+        Set<Bean<?>> lazyBeans = findLazyBeans(beans, decorators, interceptors);
         
         //Validate Others
-        validate(beans);
+        validate(beans, lazyBeans);
         
         logger.fine("Validation of the observer methods' injection points has started.");
         
@@ -1110,14 +1189,270 @@ public class BeansDeployer
 
         logger.info(OWBLogConst.INFO_0003);
     }
+
+    /**
+     * Close the given phase of the boot report, if there is one.
+     */
+    private static void endPhase(BootReport bootReport, String phase)
+    {
+        if (bootReport != null)
+        {
+            bootReport.endPhase(phase);
+        }
+    }
+
+    /**
+     * Record the number of scanned archives, classes and AnnotatedTypes in the boot report.
+     */
+    private void countAnnotatedTypes(BootReport bootReport, ScannerService scanner,
+                                     Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda)
+    {
+        int annotatedTypes = 0;
+        for (List<AnnotatedType<?>> types : annotatedTypesPerBda.values())
+        {
+            annotatedTypes += types.size();
+        }
+        bootReport.setCount(BootReport.COUNT_ARCHIVES, annotatedTypesPerBda.size());
+        bootReport.setCount(BootReport.COUNT_CLASSES, scanner.getBeanClasses().size());
+        bootReport.setCount(BootReport.COUNT_ANNOTATED_TYPES, annotatedTypes);
+    }
+
+    /**
+     * Record the number of beans and their injection points in the boot report.
+     */
+    private void countBeans(BootReport bootReport)
+    {
+        Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
+        int injectionPoints = 0;
+        for (Bean<?> bean : beans)
+        {
+            injectionPoints += bean.getInjectionPoints().size();
+        }
+        bootReport.setCount(BootReport.COUNT_BEANS, beans.size());
+        bootReport.setCount(BootReport.COUNT_INJECTION_POINTS, injectionPoints);
+    }
+
+    /**
+     * Convert the metadata retained by the beans, interceptors, decorators and observer methods
+     * into compact immutable forms.
+     */
+    private void compactMetadata(BootReport bootReport)
+    {
+        MetadataCompactor compactor = new MetadataCompactor();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            compactor.compact(bean);
+        }
+        for (Bean<?> interceptor : webBeansContext.getInterceptorsManager().getCdiInterceptors())
+        {
+            compactor.compact(interceptor);
+        }
+        for (Bean<?> decorator : webBeansContext.getDecoratorsManager().getDecorators())
+        {
+            compactor.compact(decorator);
+        }
+        for (ObserverMethod<?> observerMethod : webBeansContext.getNotificationManager().getObserverMethods())
+        {
+            compactor.compact(observerMethod);
+        }
+
+        if (bootReport != null)
+        {
+            bootReport.setCount(BootReport.COUNT_COMPACTED_ANNOTATED_TYPES, compactor.getCompactedTypes());
+            bootReport.setCount(BootReport.COUNT_COMPACTED_METADATA_BYTES, compactor.getReclaimedBytes());
+        }
+        logger.info("Compacted the metadata of " + compactor.getCompactedTypes() + " AnnotatedTypes ("
+                + compactor.getCompactedElements() + " elements), reclaimed about " + compactor.getReclaimedBytes()
+                + " bytes");
+    }
+
+    /**
+     * Define the interceptor stack of the given bean and record the time it took in the boot report.
+     */
+    private void defineInterceptorStack(AbstractProducer producer, Bean<?> bean, AnnotatedType<?> annotatedType)
+    {
+        BootReport bootReport = webBeansContext.getBootReport();
+        long start = bootReport != null ? System.nanoTime() : 0;
+
+        producer.defineInterceptorStack(bean, annotatedType, webBeansContext);
+
+        if (bootReport != null)
+        {
+            bootReport.addTime("defineInterceptorStack", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Postpone the interceptor stack of the given bean until it gets used.
+     * Without the strict flag the validation of its injection points gets postponed as well.
+     */
+    private <T> void deferInterceptorStack(AbstractProducer<T> producer, OwbBean<T> bean, AnnotatedType<T> annotatedType,
+                                           boolean strict)
+    {
+        Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+        if (strict)
+        {
+            // report broken interceptor and decorator definitions right away, the proxy class still gets created lazily
+            webBeansContext.getInterceptorResolutionService()
+                    .calculateInterceptorInfo(bean.getTypes(), bean.getQualifiers(), annotatedType, false);
+            webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+            producer.deferInterceptorStack(bean, annotatedType, webBeansContext, () -> {});
+        }
+        else
+        {
+            producer.deferInterceptorStack(bean, annotatedType, webBeansContext,
+                () -> webBeansContext.getWebBeansUtil().validate(injectionPoints, bean));
+        }
+    }
+
+    /**
+     * Find the managed beans which can get realized lazily.
+     * Those are beans which are not referenced by the raw type of any static injection point
+     * (including the type arguments, e.g. of {@code Instance<X>}), which declare neither
+     * observer methods nor producers, and which are not passivation capable.
+     *
+     * @return an empty set if {@link OpenWebBeansConfiguration#LAZY_BEAN_REALIZATION} is not enabled
+     */
+    private Set<Bean<?>> findLazyBeans(Set<Bean<?>> beans, Set<Decorator<?>> decorators,
+                                       List<javax.enterprise.inject.spi.Interceptor<?>> interceptors)
+    {
+        if (!webBeansContext.getOpenWebBeansConfiguration().isLazyBeanRealization())
+        {
+            return Collections.emptySet();
+        }
+
+        Set<Class<?>> injectedTypes = new HashSet<>();
+        Set<Class<?>> beanClassesWithMembers = new HashSet<>();
+        for (Bean<?> bean : beans)
+        {
+            addInjectedTypes(injectedTypes, bean.getInjectionPoints());
+            if (bean instanceof AbstractProducerBean)
+            {
+                beanClassesWithMembers.add(bean.getBeanClass());
+            }
+        }
+        for (Bean<?> decorator : decorators)
+        {
+            addInjectedTypes(injectedTypes, decorator.getInjectionPoints());
+        }
+        for (Bean<?> interceptor : interceptors)
+        {
+            addInjectedTypes(injectedTypes, interceptor.getInjectionPoints());
+        }
+        for (ObserverMethod<?> observerMethod : webBeansContext.getNotificationManager().getObserverMethods())
+        {
+            beanClassesWithMembers.add(observerMethod.getBeanClass());
+            if (observerMethod instanceof OwbObserverMethod)
+            {
+                addInjectedTypes(injectedTypes, ((OwbObserverMethod<?>) observerMethod).getInjectionPoints());
+            }
+        }
+
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Set<Bean<?>> lazyBeans = new HashSet<>();
+        for (Bean<?> bean : beans)
+        {
+            if (bean.getClass() != ManagedBean.class
+                || beanClassesWithMembers.contains(bean.getBeanClass())
+                || beanManager.isPassivatingScope(bean.getScope())
+                || isInjected(bean, injectedTypes))
+            {
+                continue;
+            }
+            lazyBeans.add(bean);
+        }
+
+        BootReport bootReport = webBeansContext.getBootReport();
+        if (bootReport != null)
+        {
+            bootReport.setCount(BootReport.COUNT_LAZY_BEANS, lazyBeans.size());
+        }
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine(lazyBeans.size() + " of " + beans.size() + " beans will get realized lazily");
+        }
+        return lazyBeans;
+    }
+
+    private static void addInjectedTypes(Set<Class<?>> injectedTypes, Set<InjectionPoint> injectionPoints)
+    {
+        if (injectionPoints == null)
+        {
+            return;
+        }
+        for (InjectionPoint injectionPoint : injectionPoints)
+        {
+            addInjectedTypes(injectedTypes, injectionPoint.getType());
+        }
+    }
+
+    private static void addInjectedTypes(Set<Class<?>> injectedTypes, Type type)
+    {
+        if (type instanceof Class)
+        {
+            injectedTypes.add((Class<?>) type);
+        }
+        else if (type instanceof ParameterizedType)
+        {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            addInjectedTypes(injectedTypes, parameterizedType.getRawType());
+            for (Type argument : parameterizedType.getActualTypeArguments())
+            {
+                addInjectedTypes(injectedTypes, argument);
+            }
+        }
+        else if (type instanceof WildcardType)
+        {
+            for (Type bound : ((WildcardType) type).getUpperBounds())
+            {
+                addInjectedTypes(injectedTypes, bound);
+            }
+        }
+        else if (type instanceof GenericArrayType)
+        {
+            addInjectedTypes(injectedTypes, ((GenericArrayType) type).getGenericComponentType());
+        }
+        else if (type instanceof TypeVariable)
+        {
+            // don't follow the bounds, they might be recursive like T extends Comparable<T>
+            for (Type bound : ((TypeVariable<?>) type).getBounds())
+            {
+                Class<?> rawBound = ClassUtil.getClazz(bound);
+                if (rawBound != null)
+                {
+                    injectedTypes.add(rawBound);
+                }
+            }
+        }
+    }
+
+    private static boolean isInjected(Bean<?> bean, Set<Class<?>> injectedTypes)
+    {
+        for (Type type : bean.getTypes())
+        {
+            Class<?> rawType = ClassUtil.getClazz(type);
+            if (rawType == Object.class)
+            {
+                // every bean has this type, an injection point of type Object will realize the bean on its first use
+                continue;
+            }
+            if (rawType == null || injectedTypes.contains(rawType))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
     
     /**
      * Validates beans.
      * 
      * @param beans deployed beans
+     * @param lazyBeans beans which shall only get realized once they get used
      */
-    private <T, B extends Bean<?>> void validate(Collection<B> beans)
+    private <T, B extends Bean<?>> void validate(Collection<B> beans, Set<Bean<?>> lazyBeans)
     {
+        boolean strict = webBeansContext.getOpenWebBeansConfiguration().isStrictLazyBeanRealization();
         webBeansContext.getBeanManagerImpl().getInjectionResolver().clearCaches();
 
         if (beans != null && beans.size() > 0)
@@ -1144,7 +1479,7 @@ public class BeansDeployer
                             {
                                 AbstractProducer producer = AbstractProducer.class.cast(OwbBean.class.cast(bean).getProducer());
                                 AnnotatedType<?> annotatedType = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(proxyable);
-                                producer.defineInterceptorStack(bean, annotatedType, webBeansContext);
+                                defineInterceptorStack(producer, bean, annotatedType);
                             }
                         }
                         continue;
@@ -1180,7 +1515,13 @@ public class BeansDeployer
                             {
                                 annotatedType = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(owbBean.getReturnType());
                             }
-                            producer.defineInterceptorStack(owbBean, annotatedType, webBeansContext);
+                            if (lazyBeans.contains(bean))
+                            {
+                                deferInterceptorStack(producer, owbBean, annotatedType, strict);
+                                checkPassivationScope(bean);
+                                continue;
+                            }
+                            defineInterceptorStack(producer, owbBean, annotatedType);
                         }
                     }
 
@@ -1280,26 +1621,29 @@ public class BeansDeployer
         Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda
             = new HashMap<>();
 
+        ScannedAnnotations scannedAnnotations = scanner instanceof AbstractMetaDataDiscovery
+            ? ((AbstractMetaDataDiscovery) scanner).getScannedAnnotations() : null;
+
         if (scanner instanceof BdaScannerService)
         {
             Map<BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda = ((BdaScannerService) scanner).getBeanClassesPerBda();
 
             for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
             {
-                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
+                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses, scannedAnnotations);
                 annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
             }
 
             // also add the rest of the class es to the default bda
             // we also need this initialised in case annotatedTypes get added manually at a later step
-            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
+            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses, scannedAnnotations));
         }
         else
         {
             // this path is only for backward compat to older ScannerService implementations
 
             Set<Class<?>> classIndex = scanner.getBeanClasses();
-            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
+            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses, scannedAnnotations);
 
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
         }
@@ -1310,8 +1654,10 @@ public class BeansDeployer
 
     /**
      * @param foundClasses classes which already got processed. To prevent picking up the same class from multiple classpaths
+     * @param scannedAnnotations bytecode information about the annotations of the scanned classes, might be {@code null}
      */
-    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses)
+    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses,
+                                                                  ScannedAnnotations scannedAnnotations)
     {
         List<AnnotatedType<?>> annotatedTypes = new ArrayList<>();
 
@@ -1349,9 +1695,13 @@ public class BeansDeployer
                 {
                     //Define annotation type
                     AnnotatedType<?> annotatedType = annotatedElementFactory.getAnnotatedType(implClass);
+                    ScannedAnnotations classAnnotations = null;
                     if (annotatedType == null) // mean no annotation created it (normal case)
                     {
                         annotatedType = annotatedElementFactory.newAnnotatedType(implClass);
+
+                        // the scanner information only reflects the unmodified class
+                        classAnnotations = scannedAnnotations;
                     }
 
                     if (annotatedType == null)
@@ -1367,7 +1717,20 @@ public class BeansDeployer
                     // Fires ProcessAnnotatedType
                     if (!annotatedType.getJavaClass().isAnnotation())
                     {
-                        GProcessAnnotatedType processAnnotatedEvent = webBeansContext.getWebBeansUtil().fireProcessAnnotatedTypeEvent(annotatedType);
+                        if (classAnnotations != null
+                            && !webBeansContext.getNotificationManager().hasProcessAnnotatedTypeObservers(implClass, classAnnotations))
+                        {
+                            // no observer could veto or modify the type, so we don't even need the event
+                            annotatedTypes.add(annotatedType);
+                            if (webBeansContext.getBootReport() != null)
+                            {
+                                webBeansContext.getBootReport().increment(BootReport.COUNT_SKIPPED_PROCESS_ANNOTATED_TYPES);
+                            }
+                            continue;
+                        }
+
+                        GProcessAnnotatedType processAnnotatedEvent
+                            = webBeansContext.getWebBeansUtil().fireProcessAnnotatedTypeEvent(annotatedType, classAnnotations);
                         if (!processAnnotatedEvent.isVeto())
                         {
                             annotatedTypes.add(processAnnotatedEvent.getAnnotatedType());
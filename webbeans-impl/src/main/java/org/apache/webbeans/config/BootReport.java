@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * <p>Collects the duration of the single deployment phases, some counts and the time
+ * spent in the observer methods of each Extension while the container boots.</p>
+ *
+ * <p>Phases get measured back to back: {@link #endPhase(String)} records the time since
+ * the end of the previous phase (or since {@link #startPhase()}).
+ * Sub steps which run inside other phases (like the interceptor stack definition
+ * during the validation) get collected via {@link #addTime(String, long)}.</p>
+ *
+ * <p>The report is not thread safe except for {@link #addExtensionTime(Class, long)}
+ * and {@link #increment(String)}, as the deployment itself is single threaded.</p>
+ *
+ * @see OpenWebBeansConfiguration#BOOT_REPORT
+ */
+public class BootReport
+{
+    public static final String COUNT_ARCHIVES = "archives";
+    public static final String COUNT_CLASSES = "classes";
+    public static final String COUNT_ANNOTATED_TYPES = "annotatedTypes";
+    public static final String COUNT_BEANS = "beans";
+    public static final String COUNT_INJECTION_POINTS = "injectionPoints";
+    public static final String COUNT_PROXIES = "proxies";
+    public static final String COUNT_SKIPPED_PROCESS_ANNOTATED_TYPES = "skippedProcessAnnotatedTypes";
+    public static final String COUNT_LAZY_BEANS = "lazyBeans";
+    public static final String COUNT_COMPACTED_ANNOTATED_TYPES = "compactedAnnotatedTypes";
+    public static final String COUNT_COMPACTED_METADATA_BYTES = "compactedMetadataBytes";
+    public static final String COUNT_SHARED_METADATA_HITS = "sharedMetadataHits";
+
+    public static final String TOTAL = "total";
+
+    private static final int SLOWEST_EXTENSIONS = 10;
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BootReport.class);
+
+    private final long start = System.nanoTime();
+
+    private long phaseStart = start;
+
+    private long end;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private final Map<String, Long> subPhases = new LinkedHashMap<>();
+
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+
+    private final Map<String, Long> extensionTimes = new HashMap<>();
+
+    /**
+     * Start measuring the next phase from now on, e.g. after some work which shall not be reported.
+     */
+    public void startPhase()
+    {
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Record the time since the end of the previous phase for the given phase.
+     */
+    public void endPhase(String phase)
+    {
+        long now = System.nanoTime();
+        phases.merge(phase, now - phaseStart, Long::sum);
+        phaseStart = now;
+    }
+
+    /**
+     * Add time to a step which runs as part of other phases.
+     */
+    public void addTime(String subPhase, long nanos)
+    {
+        subPhases.merge(subPhase, nanos, Long::sum);
+    }
+
+    public void setCount(String name, long value)
+    {
+        counts.put(name, value);
+    }
+
+    public synchronized void increment(String name)
+    {
+        counts.merge(name, 1L, Long::sum);
+    }
+
+    /**
+     * Add the time spent in an observer method of the given Extension.
+     */
+    public synchronized void addExtensionTime(Class<?> extension, long nanos)
+    {
+        extensionTimes.merge(extension.getName(), nanos, Long::sum);
+    }
+
+    /**
+     * Marks the end of the deployment.
+     */
+    public void finish()
+    {
+        end = System.nanoTime();
+        counts.putIfAbsent(COUNT_PROXIES, 0L);
+    }
+
+    public long getTotalNanos()
+    {
+        return (end != 0 ? end : System.nanoTime()) - start;
+    }
+
+    public Map<String, Long> getPhases()
+    {
+        return phases;
+    }
+
+    public Map<String, Long> getSubPhases()
+    {
+        return subPhases;
+    }
+
+    public Map<String, Long> getCounts()
+    {
+        return counts;
+    }
+
+    /**
+     * @return the Extensions ordered by the time spent in their observer methods, slowest first
+     */
+    public synchronized List<Map.Entry<String, Long>> getSlowestExtensions()
+    {
+        List<Map.Entry<String, Long>> extensions = new ArrayList<>(extensionTimes.entrySet());
+        extensions.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        return extensions.size() > SLOWEST_EXTENSIONS ? extensions.subList(0, SLOWEST_EXTENSIONS) : extensions;
+    }
+
+    /**
+     * Finish this report, feed it to the MetricsService and log it if configured.
+     * This also removes the report from the given WebBeansContext.
+     */
+    public void publish(WebBeansContext webBeansContext)
+    {
+        finish();
+        webBeansContext.setBootReport(null);
+
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            report(metrics);
+        }
+
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        if (!configuration.isBootReportEnabled())
+        {
+            return;
+        }
+
+        logger.info(toString());
+
+        String file = configuration.getBootReportFile();
+        if (file != null)
+        {
+            try
+            {
+                writeJson(file);
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Could not write the boot report to " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Feed the phase durations to the given MetricsService.
+     */
+    public void report(MetricsService metrics)
+    {
+        for (Map.Entry<String, Long> phase : phases.entrySet())
+        {
+            metrics.time(MetricsService.DEPLOYMENT_PHASE + phase.getKey(), phase.getValue());
+        }
+        for (Map.Entry<String, Long> subPhase : subPhases.entrySet())
+        {
+            metrics.time(MetricsService.DEPLOYMENT_PHASE + subPhase.getKey(), subPhase.getValue());
+        }
+        metrics.time(MetricsService.DEPLOYMENT_PHASE + TOTAL, getTotalNanos());
+    }
+
+    /**
+     * Write the JSON representation of this report to the given file.
+     */
+    public void writeJson(String file) throws IOException
+    {
+        Path path = Paths.get(file);
+        if (path.getParent() != null)
+        {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            writer.write(toJson());
+        }
+    }
+
+    public String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"totalMillis\": ").append(millis(getTotalNanos())).append(",\n");
+        appendJson(json, "phasesMillis", phases, true).append(",\n");
+        appendJson(json, "subPhasesMillis", subPhases, true).append(",\n");
+        appendJson(json, "counts", counts, false).append(",\n");
+
+        Map<String, Long> extensions = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> extension : getSlowestExtensions())
+        {
+            extensions.put(extension.getKey(), extension.getValue());
+        }
+        appendJson(json, "slowestExtensionsMillis", extensions, true).append("\n}\n");
+        return json.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder text = new StringBuilder("OpenWebBeans boot report, total ")
+                .append(millis(getTotalNanos())).append(" ms");
+
+        text.append("\n  phases:");
+        for (Map.Entry<String, Long> phase : phases.entrySet())
+        {
+            text.append("\n    ").append(phase.getKey()).append(": ").append(millis(phase.getValue())).append(" ms");
+        }
+        for (Map.Entry<String, Long> subPhase : subPhases.entrySet())
+        {
+            text.append("\n    (").append(subPhase.getKey()).append(": ").append(millis(subPhase.getValue())).append(" ms)");
+        }
+
+        text.append("\n  counts:");
+        for (Map.Entry<String, Long> count : counts.entrySet())
+        {
+            text.append("\n    ").append(count.getKey()).append(": ").append(count.getValue());
+        }
+
+        List<Map.Entry<String, Long>> slowestExtensions = getSlowestExtensions();
+        if (!slowestExtensions.isEmpty())
+        {
+            text.append("\n  slowest extensions:");
+            for (Map.Entry<String, Long> extension : slowestExtensions)
+            {
+                text.append("\n    ").append(extension.getKey()).append(": ").append(millis(extension.getValue())).append(" ms");
+            }
+        }
+        return text.toString();
+    }
+
+    private static StringBuilder appendJson(StringBuilder json, String name, Map<String, Long> values, boolean nanos)
+    {
+        json.append("  \"").append(name).append("\": {");
+        boolean first = true;
+        for (Map.Entry<String, Long> value : values.entrySet())
+        {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    \"").append(escape(value.getKey())).append("\": ")
+                .append(nanos ? millis(value.getValue()) : value.getValue());
+        }
+        return json.append(first ? "}" : "\n  }");
+    }
+
+    private static String escape(String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static double millis(long nanos)
+    {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.config;
 
+import java.io.File;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -81,6 +82,23 @@ public class OpenWebBeansConfiguration
     /**If generics should be taken into account for the matching*/
     public static final String FAST_MATCHING = "org.apache.webbeans.container.InjectionResolver.fastMatching";
 
+    /**
+     * The max number of cached type resolutions of the InjectionResolver.
+     * Resolutions for static injection points are not part of this limit as they never get evicted.
+     * A value &lt;= 0 disables the limit. Default is {@value #DEFAULT_RESOLUTION_CACHE_SIZE}.
+     */
+    public static final String RESOLUTION_CACHE_SIZE = "org.apache.webbeans.container.InjectionResolver.cacheSize";
+
+    public static final int DEFAULT_RESOLUTION_CACHE_SIZE = 10000;
+
+    /**
+     * The max number of cached resolutions by EL name.
+     * A value &lt;= 0 disables the limit. Default is {@value #DEFAULT_RESOLUTION_NAME_CACHE_SIZE}.
+     */
+    public static final String RESOLUTION_NAME_CACHE_SIZE = "org.apache.webbeans.container.InjectionResolver.nameCacheSize";
+
+    public static final int DEFAULT_RESOLUTION_NAME_CACHE_SIZE = 1000;
+
     /**Use EJB Discovery or not*/
     public static final String USE_EJB_DISCOVERY = "org.apache.webbeans.spi.deployer.useEjbMetaDataDiscoveryService";
 
@@ -205,6 +223,92 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * If {@code true} a report with the duration of each deployment phase, some counts
+     * (archives, classes, beans, injection points, proxies) and the slowest extensions
+     * gets logged after the container got started. Default is {@code false}.
+     */
+    public static final String BOOT_REPORT = "org.apache.webbeans.bootReport";
+
+    /**
+     * The file the JSON version of the boot report gets written to.
+     * Defaults to {@code openwebbeans-boot-report.json} in {@code java.io.tmpdir}.
+     * Set it to an empty value to only log the report.
+     */
+    public static final String BOOT_REPORT_FILE = "org.apache.webbeans.bootReport.file";
+
+    /**
+     * If {@code true} the metadata which is retained after the deployment gets
+     * converted into compact immutable forms after {@link javax.enterprise.inject.spi.AfterDeploymentValidation}.
+     * Default is {@code false}.
+     *
+     * @see org.apache.webbeans.portable.MetadataCompactor
+     */
+    public static final String COMPACT_METADATA = "org.apache.webbeans.compactMetadata";
+
+    /**
+     * If {@code true} managed beans which are not referenced by any static injection point
+     * and which neither declare observer methods nor producers only get realized once they get used.
+     * Their interceptor stack and interceptor proxy class get created and their injection points
+     * get validated when the first instance gets produced. Default is {@code false}.
+     */
+    public static final String LAZY_BEAN_REALIZATION = "org.apache.webbeans.lazyBeanRealization";
+
+    /**
+     * If {@code true} the injection points, interceptors and decorators of lazily realized beans
+     * still get validated during the deployment, so all deployment errors get reported at boot time.
+     * Only the creation of the interceptor proxy classes gets postponed then. Default is {@code false}.
+     */
+    public static final String LAZY_BEAN_REALIZATION_STRICT = "org.apache.webbeans.lazyBeanRealization.strict";
+
+    /**
+     * If {@code true} the reflection data, type closures and normal scoped proxy classes of classes
+     * which are defined by a ClassLoader outside of the application, e.g. a shared lib folder,
+     * get cached JVM wide and reused by all applications. Default is {@code false}.
+     *
+     * @see org.apache.webbeans.util.SharedMetadataCache
+     */
+    public static final String SHARED_METADATA = "org.apache.webbeans.sharedMetadata";
+
+    /**
+     * If {@code true} the contexts of all still active sessions get destroyed in parallel
+     * when the application gets stopped. Default is {@code false}.
+     *
+     * @see org.apache.webbeans.context.ParallelContextDestroyer
+     */
+    public static final String PARALLEL_SHUTDOWN = "org.apache.webbeans.shutdown.parallel";
+
+    /**
+     * The max number of threads used to destroy contexts in parallel. Default is {@value #DEFAULT_SHUTDOWN_THREADS}.
+     */
+    public static final String SHUTDOWN_THREADS = "org.apache.webbeans.shutdown.threads";
+
+    public static final int DEFAULT_SHUTDOWN_THREADS = 4;
+
+    /**
+     * How many milliseconds the parallel destruction of all contexts may take at most.
+     * Contexts which are not destroyed by then get abandoned. Default is {@value #DEFAULT_SHUTDOWN_TIMEOUT}.
+     */
+    public static final String SHUTDOWN_TIMEOUT = "org.apache.webbeans.shutdown.timeout";
+
+    public static final int DEFAULT_SHUTDOWN_TIMEOUT = 30000;
+
+    /**
+     * Contextual instances whose destruction takes longer than this amount of milliseconds
+     * get reported when the contexts get destroyed in parallel. Default is {@value #DEFAULT_SHUTDOWN_SLOW_DESTRUCTION}.
+     */
+    public static final String SHUTDOWN_SLOW_DESTRUCTION = "org.apache.webbeans.shutdown.slowDestruction";
+
+    public static final int DEFAULT_SHUTDOWN_SLOW_DESTRUCTION = 1000;
+
+    /**
+     * If {@code true} the normal scoping proxy of an intercepted or decorated managed bean
+     * directly invokes the interceptor handler resp. the internal instance of the
+     * contextual instance instead of going through its interceptor proxy. Default is {@code false}.
+     *
+     * @see org.apache.webbeans.proxy.CombinedProxyFactory
+     */
+    public static final String COMBINED_PROXIES = "org.apache.webbeans.proxy.combined";
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -428,6 +532,141 @@ public class OpenWebBeansConfiguration
         return "true".equalsIgnoreCase(value);
     }
 
+    /**
+     * @see #RESOLUTION_CACHE_SIZE
+     */
+    public int getResolutionCacheSize()
+    {
+        return getIntProperty(RESOLUTION_CACHE_SIZE, DEFAULT_RESOLUTION_CACHE_SIZE);
+    }
+
+    /**
+     * @see #RESOLUTION_NAME_CACHE_SIZE
+     */
+    public int getResolutionNameCacheSize()
+    {
+        return getIntProperty(RESOLUTION_NAME_CACHE_SIZE, DEFAULT_RESOLUTION_NAME_CACHE_SIZE);
+    }
+
+    private int getIntProperty(String key, int defaultValue)
+    {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty())
+        {
+            return defaultValue;
+        }
+        try
+        {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * @see #BOOT_REPORT
+     */
+    public boolean isBootReportEnabled()
+    {
+        String value = getProperty(BOOT_REPORT);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @return the file for the JSON boot report or {@code null} if none should be written
+     * @see #BOOT_REPORT_FILE
+     */
+    public String getBootReportFile()
+    {
+        String value = getProperty(BOOT_REPORT_FILE);
+        if (value == null)
+        {
+            return new File(System.getProperty("java.io.tmpdir"), "openwebbeans-boot-report.json").getPath();
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @see #COMPACT_METADATA
+     */
+    public boolean isCompactMetadata()
+    {
+        String value = getProperty(COMPACT_METADATA);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #LAZY_BEAN_REALIZATION
+     */
+    public boolean isLazyBeanRealization()
+    {
+        String value = getProperty(LAZY_BEAN_REALIZATION);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #LAZY_BEAN_REALIZATION_STRICT
+     */
+    public boolean isStrictLazyBeanRealization()
+    {
+        String value = getProperty(LAZY_BEAN_REALIZATION_STRICT);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #SHARED_METADATA
+     */
+    public boolean isSharedMetadata()
+    {
+        String value = getProperty(SHARED_METADATA);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #PARALLEL_SHUTDOWN
+     */
+    public boolean isParallelShutdown()
+    {
+        String value = getProperty(PARALLEL_SHUTDOWN);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * @see #SHUTDOWN_THREADS
+     */
+    public int getShutdownThreads()
+    {
+        return getIntProperty(SHUTDOWN_THREADS, DEFAULT_SHUTDOWN_THREADS);
+    }
+
+    /**
+     * @see #SHUTDOWN_TIMEOUT
+     */
+    public int getShutdownTimeout()
+    {
+        return getIntProperty(SHUTDOWN_TIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * @see #SHUTDOWN_SLOW_DESTRUCTION
+     */
+    public int getShutdownSlowDestruction()
+    {
+        return getIntProperty(SHUTDOWN_SLOW_DESTRUCTION, DEFAULT_SHUTDOWN_SLOW_DESTRUCTION);
+    }
+
+    /**
+     * @see #COMBINED_PROXIES
+     */
+    public boolean isCombinedProxies()
+    {
+        String value = getProperty(COMBINED_PROXIES);
+        return "true".equalsIgnoreCase(value);
+    }
+
     /**
      * Flag which indicates that programmatic invocations to vaious BeanManager methods
      * should get strictly validated.
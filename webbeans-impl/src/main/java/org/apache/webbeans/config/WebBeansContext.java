@@ -37,6 +37,7 @@ import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.CreationalContextFactory;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.conversation.DefaultConversationService;
+import org.apache.webbeans.corespi.metrics.NoopMetricsService;
 import org.apache.webbeans.corespi.se.DefaultApplicationBoundaryService;
 import org.apache.webbeans.corespi.se.DefaultContextsService;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
@@ -64,11 +65,13 @@ import org.apache.webbeans.spi.ApplicationBoundaryService;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
 import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.SharedMetadataCache;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
 
@@ -106,6 +109,7 @@ public class WebBeansContext
     private final InterceptorUtil interceptorUtil = new InterceptorUtil(this);
     private final SecurityService securityService;
     private final LoaderService loaderService;
+    private final MetricsService metricsService;
     private BeanArchiveService beanArchiveService;
     private final InterceptorResolutionService interceptorResolutionService = new InterceptorResolutionService(this);
     private final DeploymentValidationService deploymentValidationService = new DeploymentValidationService(this);
@@ -115,8 +119,12 @@ public class WebBeansContext
     private ConversationService conversationService;
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
+    private final SharedMetadataCache sharedMetadataCache;
     private TransactionService transactionService;
 
+    /** only set while the container boots and a boot report got requested */
+    private volatile BootReport bootReport;
+
 
     public WebBeansContext()
     {
@@ -132,6 +140,8 @@ public class WebBeansContext
     {
         this.openWebBeansConfiguration = openWebBeansConfiguration != null ? openWebBeansConfiguration : new OpenWebBeansConfiguration();
         annotationManager = new AnnotationManager(this);
+        sharedMetadataCache = this.openWebBeansConfiguration.isSharedMetadata()
+                ? new SharedMetadataCache(this, WebBeansUtil.getCurrentClassLoader()) : null;
 
         //pluggable service-loader
         if (initialServices == null || !initialServices.containsKey(LoaderService.class))
@@ -162,6 +172,8 @@ public class WebBeansContext
         injectionPointFactory = new InjectionPointFactory(this);
         loaderService = getService(LoaderService.class);
         securityService = getService(SecurityService.class);
+        MetricsService configuredMetricsService = getService(MetricsService.class);
+        metricsService = configuredMetricsService != null ? configuredMetricsService : new NoopMetricsService();
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
 
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
@@ -175,6 +187,8 @@ public class WebBeansContext
 
         beanManagerImpl.getInjectionResolver().setFastMatching(!"false".equalsIgnoreCase(getOpenWebBeansConfiguration()
                 .getProperty(OpenWebBeansConfiguration.FAST_MATCHING)));
+        beanManagerImpl.getInjectionResolver().setMaxCacheSizes(openWebBeansConfiguration.getResolutionCacheSize(),
+                openWebBeansConfiguration.getResolutionNameCacheSize());
     }
 
     public static WebBeansContext getInstance()
@@ -253,6 +267,15 @@ public class WebBeansContext
         return injectionPointFactory;
     }
 
+    /**
+     * @return the JVM wide metadata cache or {@code null} if it is not enabled
+     * @see OpenWebBeansConfiguration#SHARED_METADATA
+     */
+    public SharedMetadataCache getSharedMetadataCache()
+    {
+        return sharedMetadataCache;
+    }
+
     public WebBeansUtil getWebBeansUtil()
     {
         return webBeansUtil;
@@ -410,6 +433,10 @@ public class WebBeansContext
         {
             return new SimpleSecurityService();
         }
+        if (NoopMetricsService.class.getName().equals(singletonName))
+        {
+            return new NoopMetricsService();
+        }
         if (DefaultApplicationBoundaryService.class.getName().equals(singletonName))
         {
             return new DefaultApplicationBoundaryService();
@@ -664,6 +691,28 @@ public class WebBeansContext
         return loaderService;
     }
 
+    /**
+     * @return the report of the currently running deployment
+     *         or {@code null} if the container doesn't boot right now or no report is needed
+     */
+    public BootReport getBootReport()
+    {
+        return bootReport;
+    }
+
+    public void setBootReport(BootReport bootReport)
+    {
+        this.bootReport = bootReport;
+    }
+
+    /**
+     * @return the configured MetricsService. Never {@code null}, but maybe not {@link MetricsService#isEnabled() enabled}.
+     */
+    public MetricsService getMetricsService()
+    {
+        return metricsService;
+    }
+
     public DeploymentValidationService getDeploymentValidationService()
     {
         return deploymentValidationService;
@@ -90,6 +90,7 @@ import org.apache.webbeans.event.EventMetadataImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.DuplicateDefinitionException;
 
+import org.apache.webbeans.intercept.ContextualInstanceCaches;
 import org.apache.webbeans.intercept.InterceptorUtil;
 import org.apache.webbeans.plugins.OpenWebBeansJmsPlugin;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
@@ -98,6 +99,7 @@ import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -186,8 +188,20 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     private Map<Class<?>, Producer<?>> producersForJavaEeComponents =
         new ConcurrentHashMap<>();
 
+    /**
+     * InjectionTargets for non-contextual instances, e.g. servlets, filters or tag handlers.
+     * Keyed by class, so each classloader gets its own entries.
+     * @see #getNonContextualInjectionTarget(Class)
+     */
+    private Map<Class<?>, InjectionTarget<?>> nonContextualInjectionTargets = new ConcurrentHashMap<>();
+
     private AnnotatedElementFactory annotatedElementFactory;
 
+    /**
+     * The contextual instances cached by the normal scoped proxies of this application.
+     */
+    private final ContextualInstanceCaches contextualInstanceCaches = new ContextualInstanceCaches();
+
     private final WebBeansContext webBeansContext;
 
     /**
@@ -254,11 +268,37 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return (Producer<T>) producersForJavaEeComponents.get(javaEeComponentClass);
     }
 
+    /**
+     * Get an InjectionTarget to inject non-contextual instances of the given class.
+     * Once the container is deployed the InjectionTarget gets cached,
+     * so subsequent injections of the same class do not need to parse the class again.
+     */
+    public <T> InjectionTarget<T> getNonContextualInjectionTarget(Class<T> type)
+    {
+        InjectionTarget<T> injectionTarget = (InjectionTarget<T>) nonContextualInjectionTargets.get(type);
+        if (injectionTarget == null)
+        {
+            injectionTarget = createInjectionTarget(createAnnotatedType(type));
+
+            // before the deployment is done extensions might still change the metadata
+            if (afterDeploymentValidationFired)
+            {
+                nonContextualInjectionTargets.putIfAbsent(type, injectionTarget);
+            }
+        }
+        return injectionTarget;
+    }
+
     public ErrorStack getErrorStack()
     {
         return errorStack;
     }
 
+    public ContextualInstanceCaches getContextualInstanceCaches()
+    {
+        return contextualInstanceCaches;
+    }
+
     /**
      * Gets injection resolver.
      *
@@ -380,6 +420,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             thirdPartyMapping.put(newBean, bean);
         }
 
+        if (afterDeploymentValidationFired)
+        {
+            // the cached resolutions and the beans bound to the injection points might be stale now
+            injectionResolver.clearCaches();
+        }
+
         return this;
     }
 
@@ -726,17 +772,31 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         Asserts.assertNotNull(providedBean, "bean parameter");
 
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.increment(MetricsService.GET_REFERENCE);
+        }
+
         Context context = null;
         Object instance = null;
 
-        Bean<?> bean =  !OwbBean.class.isInstance(providedBean) ? thirdPartyMapping.get(providedBean) : providedBean;
-        if (bean == null) // more than unlikely but still possible and not invalid (user could create new instance of bean each time, not forbidden)
+        Bean<?> bean;
+        if (providedBean instanceof OwbBean)
         {
             bean = providedBean;
         }
-        if (bean instanceof SerializableBean)
+        else
         {
-            bean = ((SerializableBean)bean).getBean();
+            bean = thirdPartyMapping.get(providedBean);
+            if (bean == null) // more than unlikely but still possible and not invalid (user could create new instance of bean each time, not forbidden)
+            {
+                bean = providedBean;
+            }
+            if (bean instanceof SerializableBean)
+            {
+                bean = ((SerializableBean)bean).getBean();
+            }
         }
 
         if(!(creationalContext instanceof CreationalContextImpl))
@@ -752,15 +812,20 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         //Check type if bean type is given
         if(beanType != null && beanType != Object.class)
         {
-            boolean isProducer = AbstractProducerBean.class.isInstance(bean);
-            if(!isProducer && // we have different rules for producers
-               !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
-               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+            if (bean instanceof AbstractOwbBean)
             {
-                throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+                // the outcome only depends on the bean and the type, so we only check each type once per bean
+                AbstractOwbBean<?> owbBean = (AbstractOwbBean<?>) bean;
+                if (!owbBean.isValidatedReferenceType(beanType))
+                {
+                    validateReferenceType(bean, beanType);
+                    owbBean.addValidatedReferenceType(beanType);
+                }
+            }
+            else
+            {
+                validateReferenceType(bean, beanType);
             }
-
         }
         else if (bean instanceof OwbBean)
         {
@@ -930,6 +995,18 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     }
 
 
+    private void validateReferenceType(Bean<?> bean, Type beanType)
+    {
+        boolean isProducer = AbstractProducerBean.class.isInstance(bean);
+        if(!isProducer && // we have different rules for producers
+           !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
+           !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
+           !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+        {
+            throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
+        }
+    }
+
     private boolean isBeanTypeAssignableToGivenType(Set<Type> beanTypes, Type givenType, boolean newBean, boolean producer)
     {
         for (Type beanApiType : beanTypes)
@@ -1311,6 +1388,9 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         {
             additionalAnnotatedTypeQualifiers.put(qualifier.getJavaClass(), qualifier);
             additionalQualifiers.add(qualifier.getJavaClass());
+
+            // the binding members might differ from the annotation class
+            webBeansContext.getAnnotationManager().getCanonicalQualifierRegistry().clear();
         }
     }
 
@@ -1473,6 +1553,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         deploymentBeans.clear();
         errorStack.clear();
         producersForJavaEeComponents.clear();
+        nonContextualInjectionTargets.clear();
         passivationBeans.clear();
         webBeansContext.getInterceptorsManager().clear();
         webBeansContext.getDecoratorsManager().clear();
@@ -85,6 +85,14 @@ public class InjectableBeanManager implements BeanManager, Externalizable
         bm = beanManager;
     }
 
+    /**
+     * @return the wrapped BeanManagerImpl
+     */
+    public BeanManagerImpl getBeanManagerImpl()
+    {
+        return bm;
+    }
+
     @Override
     public <T> AnnotatedType<T> createAnnotatedType(Class<T> type)
     {
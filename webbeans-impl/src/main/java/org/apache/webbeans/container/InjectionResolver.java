@@ -19,20 +19,24 @@
 package org.apache.webbeans.container;
 
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.annotation.CanonicalQualifier;
+import org.apache.webbeans.annotation.CanonicalQualifierRegistry;
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.ScannerService;
-import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
@@ -44,7 +48,6 @@ import javax.enterprise.event.Event;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.New;
 import javax.enterprise.inject.UnproxyableResolutionException;
-import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import java.lang.annotation.Annotation;
@@ -58,9 +61,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -88,17 +92,24 @@ public class InjectionResolver
     private AlternativesManager alternativesManager;
     
     /**
-     * This Map contains all resolved beans via it's type and qualifiers.
-     * If a bean have resolved as not existing, the entry will contain <code>null</code> as value.
-     * The Long key is a hashCode, see
-     * {@link BeanCacheKey#BeanCacheKey(boolean, Type, String, java.util.function.Function, Annotation...)}
+     * This cache contains all resolved beans via it's type and qualifiers.
+     * Only successful resolutions get cached, see
+     * {@link BeanCacheKey#BeanCacheKey(boolean, Type, String, CanonicalQualifier...)}.
+     * Entries of static injection points are pinned.
      */
-    private Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
+    private ResolutionCache<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType =
+            new ResolutionCache<>(OpenWebBeansConfiguration.DEFAULT_RESOLUTION_CACHE_SIZE);
 
     /**
-     * This Map contains all resolved beans via it's ExpressionLanguage name.
+     * This cache contains all resolved beans via it's ExpressionLanguage name.
      */
-    private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
+    private ResolutionCache<String, Set<Bean<?>>> resolvedBeansByName =
+            new ResolutionCache<>(OpenWebBeansConfiguration.DEFAULT_RESOLUTION_NAME_CACHE_SIZE);
+
+    /**
+     * The interned qualifiers of each bean, see {@link #findByQualifier(Set, CanonicalQualifier[])}.
+     */
+    private final ConcurrentMap<Bean<?>, CanonicalQualifier[]> beanQualifiers = new ConcurrentHashMap<>();
 
     /**
      * Whether the container is in startup mode.
@@ -106,6 +117,12 @@ public class InjectionResolver
      */
     private boolean startup;
 
+    /**
+     * Gets incremented whenever the cached resolutions get cleared.
+     * Beans bound to an {@link InjectionPointImpl} with an older generation are stale.
+     */
+    private final AtomicInteger bindingGeneration = new AtomicInteger();
+
     private boolean fastMatching;
 
     private Bean<Instance<Object>> instanceBean;
@@ -135,6 +152,35 @@ public class InjectionResolver
     {
         this.startup = startup;
     }
+
+    /**
+     * Replace the resolution caches with empty ones of the given size.
+     * A size &lt;= 0 means unbounded.
+     *
+     * @see OpenWebBeansConfiguration#RESOLUTION_CACHE_SIZE
+     * @see OpenWebBeansConfiguration#RESOLUTION_NAME_CACHE_SIZE
+     */
+    public void setMaxCacheSizes(int maxTypeCacheSize, int maxNameCacheSize)
+    {
+        resolvedBeansByType = new ResolutionCache<>(maxTypeCacheSize);
+        resolvedBeansByName = new ResolutionCache<>(maxNameCacheSize);
+    }
+
+    /**
+     * @return the cache for resolutions by type and qualifiers, e.g. to monitor its statistics
+     */
+    public ResolutionCache<BeanCacheKey, Set<Bean<?>>> getTypeResolutionCache()
+    {
+        return resolvedBeansByType;
+    }
+
+    /**
+     * @return the cache for resolutions by EL name, e.g. to monitor its statistics
+     */
+    public ResolutionCache<String, Set<Bean<?>>> getNameResolutionCache()
+    {
+        return resolvedBeansByName;
+    }
     
     /**
      * Clear caches.
@@ -143,6 +189,17 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        beanQualifiers.clear();
+        bindingGeneration.incrementAndGet();
+    }
+
+    /**
+     * @return the current generation of the beans bound to the injection points
+     * @see InjectionPointImpl#getResolvedBean(int)
+     */
+    public int getBindingGeneration()
+    {
+        return bindingGeneration.get();
     }
 
     /**
@@ -175,8 +232,9 @@ public class InjectionResolver
         }
 
         // not that happy about this check here and at runtime but few TCKs test Weld behavior only...
-        Bean<?> bean = resolve(implResolveByType(false, type, injectionPoint.getQualifiers().toArray(new Annotation[injectionPoint.getQualifiers().size()])),
-                                     injectionPoint);
+        Bean<?> bean = resolve(resolveByType(false, type, null, null, true,
+                                             injectionPoint.getQualifiers().toArray(new Annotation[injectionPoint.getQualifiers().size()])),
+                               injectionPoint);
         if (bean != null && ManagedBean.class.isInstance(bean))
         {
             try
@@ -224,7 +282,7 @@ public class InjectionResolver
                 injectionPointClass = (Class) type;
             }
 
-            Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, injectionPointClass, qualifiers);
+            Set<Bean<?>> beanSet = resolveByType(injectionPoint.isDelegate(), type, injectionPointClass, null, true, qualifiers);
 
             if (beanSet.isEmpty())
             {
@@ -251,6 +309,20 @@ public class InjectionResolver
                 }
                 InjectionExceptionUtil.throwUnsatisfiedResolutionException(clazz, injectionPoint, qualifiers);
             }
+
+            if (!startup && injectionPoint instanceof InjectionPointImpl)
+            {
+                // bind the bean now, so the first injection at runtime doesn't need to resolve it again
+                try
+                {
+                    getInjectionPointBean(injectionPoint);
+                }
+                catch (RuntimeException e)
+                {
+                    // the runtime lookup resolves against the BDA of the injected type,
+                    // if that fails it will get reported on the first injection as before
+                }
+            }
         }
     }
 
@@ -263,7 +335,25 @@ public class InjectionResolver
      */
     public Bean<?> getInjectionPointBean(InjectionPoint injectionPoint)
     {
+        if (startup || !(injectionPoint instanceof InjectionPointImpl))
+        {
+            return resolveInjectionPointBean(injectionPoint);
+        }
 
+        // the set of beans is final now, so we can bind the resolved bean to the injection point
+        InjectionPointImpl injectionPointImpl = (InjectionPointImpl) injectionPoint;
+        int generation = bindingGeneration.get();
+        Bean<?> bean = injectionPointImpl.getResolvedBean(generation);
+        if (bean == null)
+        {
+            bean = resolveInjectionPointBean(injectionPoint);
+            injectionPointImpl.setResolvedBean(bean, generation);
+        }
+        return bean;
+    }
+
+    private Bean<?> resolveInjectionPointBean(InjectionPoint injectionPoint)
+    {
         Type type = injectionPoint.getType();
         Class<?> clazz;
 
@@ -280,7 +370,7 @@ public class InjectionResolver
         Set<Annotation> qualSet = injectionPoint.getQualifiers();
         Annotation[] qualifiers = qualSet.toArray(new Annotation[qualSet.size()]);
 
-        Set<Bean<?>> beanSet = implResolveByType(injectionPoint.isDelegate(), type, clazz, qualifiers);
+        Set<Bean<?>> beanSet = resolveByType(injectionPoint.isDelegate(), type, clazz, null, true, qualifiers);
 
         if (beanSet.isEmpty())
         {
@@ -394,11 +484,11 @@ public class InjectionResolver
         if (resolvedComponents.isEmpty())
         {
             // maintain negative cache but use standard empty set so we can garbage collect
-            resolvedBeansByName.put(cacheKey, Collections.EMPTY_SET);
+            putIntoCache(resolvedBeansByName, cacheKey, Collections.EMPTY_SET, false);
         }
         else
         {
-            resolvedBeansByName.put(cacheKey, resolvedComponents);
+            putIntoCache(resolvedBeansByName, cacheKey, resolvedComponents, false);
         }
         if (logger.isLoggable(Level.FINE))
         {
@@ -444,6 +534,33 @@ public class InjectionResolver
      */
     public Set<Bean<?>> implResolveByType(boolean isDelegate, Type injectionPointType,
                                           Class<?> injectionPointClass, Annotation... qualifiers)
+    {
+        return implResolveByType(isDelegate, injectionPointType, injectionPointClass, null, qualifiers);
+    }
+
+    /**
+     * Resolution by type.
+     *
+     * @param isDelegate whether the InjectionPoint is for a {@link javax.decorator.Delegate}
+     * @param injectionPointType injection point api type
+     * @param canonicalQualifiers the interned qualifiers if already known by the caller or {@code null}
+     * @param qualifiers         qualifiers of the injection point
+     * @return set of resolved beans
+     * @see org.apache.webbeans.annotation.AnnotationManager#getCanonicalQualifiers(Annotation...)
+     */
+    public Set<Bean<?>> implResolveByType(boolean isDelegate, Type injectionPointType,
+                                          Class<?> injectionPointClass, CanonicalQualifier[] canonicalQualifiers,
+                                          Annotation... qualifiers)
+    {
+        return resolveByType(isDelegate, injectionPointType, injectionPointClass, canonicalQualifiers, false, qualifiers);
+    }
+
+    /**
+     * @param pin whether the result must stay in the cache, e.g. because it got resolved for a static injection point
+     */
+    private Set<Bean<?>> resolveByType(boolean isDelegate, Type injectionPointType,
+                                       Class<?> injectionPointClass, CanonicalQualifier[] canonicalQualifiers,
+                                       boolean pin, Annotation... qualifiers)
     {
         ScannerService scannerService = webBeansContext.getScannerService();
         String bdaBeansXMLFilePath = null;
@@ -458,6 +575,12 @@ public class InjectionResolver
         {
             qualifiers = DefaultLiteral.ARRAY;
             currentQualifier = true;
+            canonicalQualifiers = null;
+        }
+
+        if (canonicalQualifiers == null)
+        {
+            canonicalQualifiers = webBeansContext.getAnnotationManager().getCanonicalQualifiers(qualifiers);
         }
 
         Set<Bean<?>> resolvedComponents;
@@ -468,13 +591,22 @@ public class InjectionResolver
             // we only cache and validate once the set of Beans is final, otherwise we would cache crap
             validateInjectionPointType(injectionPointType);
 
-            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, this::findQualifierModel, qualifiers);
+            cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, canonicalQualifiers);
 
-            resolvedComponents = resolvedBeansByType.get(cacheKey);
+            resolvedComponents = resolvedBeansByType.get(cacheKey, pin);
+            MetricsService metrics = webBeansContext.getMetricsService();
             if (resolvedComponents != null)
             {
+                if (metrics.isEnabled())
+                {
+                    metrics.increment(MetricsService.RESOLUTION_CACHE_HIT);
+                }
                 return resolvedComponents;
             }
+            if (metrics.isEnabled())
+            {
+                metrics.increment(MetricsService.RESOLUTION_CACHE_MISS);
+            }
         }
 
         resolvedComponents = new HashSet<>();
@@ -528,7 +660,7 @@ public class InjectionResolver
         if (!returnAll)
         {
             // Look for qualifiers
-            resolvedComponents = findByQualifier(resolvedComponents, injectionPointType, qualifiers);
+            resolvedComponents = findByQualifier(resolvedComponents, canonicalQualifiers);
 
             // have an additional round of checks for assignability of parameterized types.
             Set<Bean<?>> byParameterizedType = findByParameterizedType(resolvedComponents, injectionPointType, isDelegate);
@@ -560,7 +692,7 @@ public class InjectionResolver
 
         if (!startup && !resolvedComponents.isEmpty())
         {
-            resolvedBeansByType.put(cacheKey, resolvedComponents);
+            putIntoCache(resolvedBeansByType, cacheKey, resolvedComponents, pin);
 
             if (logger.isLoggable(Level.FINE))
             {
@@ -571,6 +703,22 @@ public class InjectionResolver
         return resolvedComponents;
     }
 
+    private <K> void putIntoCache(ResolutionCache<K, Set<Bean<?>>> cache, K key, Set<Bean<?>> beans, boolean pin)
+    {
+        int evicted = cache.put(key, beans, pin);
+        if (evicted > 0)
+        {
+            MetricsService metrics = webBeansContext.getMetricsService();
+            if (metrics.isEnabled())
+            {
+                for (int i = 0; i < evicted; i++)
+                {
+                    metrics.increment(MetricsService.RESOLUTION_CACHE_EVICTION);
+                }
+            }
+        }
+    }
+
     private void findNewBean(Set<Bean<?>> resolvedComponents, Type injectionPointType, Annotation[] qualifiers)
     {
         if (qualifiers.length == 1 && New.class.equals(qualifiers[0].annotationType()))
@@ -786,49 +934,31 @@ public class InjectionResolver
      * Returns filtered bean set according to the qualifiers.
      *
      * @param remainingSet bean set for filtering by qualifier
-     * @param annotations  qualifiers on injection point
+     * @param canonicalQualifiers interned qualifiers on injection point
      * @return filtered bean set according to the qualifiers
      */
-    private Set<Bean<?>> findByQualifier(Set<Bean<?>> remainingSet, Type type, Annotation... annotations)
+    private Set<Bean<?>> findByQualifier(Set<Bean<?>> remainingSet, CanonicalQualifier[] canonicalQualifiers)
     {
-        Iterator<Bean<?>> it = remainingSet.iterator();
         Set<Bean<?>> result = new HashSet<>();
 
-        while (it.hasNext())
+        for (Bean<?> component : remainingSet)
         {
-            Bean<?> component = it.next();
-            Set<Annotation> qTypes = component.getQualifiers();
+            CanonicalQualifier[] beanQualifiers = getBeanQualifiers(component);
 
             int i = 0;
-            for (Annotation annot : annotations)
+            for (CanonicalQualifier required : canonicalQualifiers)
             {
-                Iterator<Annotation> itQualifiers = qTypes.iterator();
-                while (itQualifiers.hasNext())
+                for (CanonicalQualifier qualifier : beanQualifiers)
                 {
-                    Annotation qualifier = itQualifiers.next();
-                    if (annot.annotationType().equals(qualifier.annotationType()))
+                    // mostly interned, so equals is an identity check
+                    if (qualifier.equals(required))
                     {
-                        AnnotatedType<?> at = findQualifierModel(qualifier.annotationType());
-                        if (at == null)
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
-                        else
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(at, qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
+                        i++;
                     }
-
                 }
             }
 
-            if (i == annotations.length)
+            if (i == canonicalQualifiers.length)
             {
                 result.add(component);
             }
@@ -837,8 +967,24 @@ public class InjectionResolver
         return result;
     }
 
-    private AnnotatedType<? extends Annotation> findQualifierModel(final Class<?> qualifier)
+    /**
+     * @return the interned qualifiers of the given bean, computed once per bean
+     */
+    private CanonicalQualifier[] getBeanQualifiers(Bean<?> bean)
     {
-        return webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier);
+        CanonicalQualifier[] qualifiers = beanQualifiers.get(bean);
+        if (qualifiers == null)
+        {
+            CanonicalQualifierRegistry registry = webBeansContext.getAnnotationManager().getCanonicalQualifierRegistry();
+            Set<Annotation> qualifierAnnotations = bean.getQualifiers();
+            qualifiers = new CanonicalQualifier[qualifierAnnotations.size()];
+            int i = 0;
+            for (Annotation qualifier : qualifierAnnotations)
+            {
+                qualifiers[i++] = registry.internQualifier(qualifier);
+            }
+            beanQualifiers.putIfAbsent(bean, qualifiers);
+        }
+        return qualifiers;
     }
 }
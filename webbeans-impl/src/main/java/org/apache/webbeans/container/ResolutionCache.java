@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache for resolution results as used by the {@link InjectionResolver}.
+ *
+ * <p>Lookups are lock free and only flag the entry as accessed.
+ * The eviction policy is a segmented LRU with such access bits (a CLOCK approximation of SLRU):
+ * new entries start in the <em>probation</em> segment. When an entry has to be evicted,
+ * the probation segment gets scanned from its oldest entry on. Entries which got accessed
+ * since they were added get promoted into the <em>protected</em> segment, the first entry
+ * which was not accessed gets evicted. If the protected segment grows over its share, its oldest
+ * entries get demoted to the probation segment again.
+ * This way a burst of one time lookups, e.g. with dynamic qualifiers, cannot displace the
+ * entries which are used over and over again.</p>
+ *
+ * <p><em>Pinned</em> entries, e.g. the ones of static injection points, are never evicted
+ * and don't count against the max size.</p>
+ *
+ * <p>A max size &lt;= 0 disables the bound.</p>
+ */
+public final class ResolutionCache<K, V>
+{
+    /**
+     * the share of the max size for the protected segment in percent
+     */
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    private final int maxSize;
+    private final int maxProtectedSize;
+
+    private final ConcurrentMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+    // the segments are guarded by 'this'
+    private final ArrayDeque<Node<K, V>> probation = new ArrayDeque<>();
+    private final ArrayDeque<Node<K, V>> protectedSegment = new ArrayDeque<>();
+    private int pinnedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResolutionCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+        maxProtectedSize = (int) ((long) maxSize * PROTECTED_PERCENTAGE / 100);
+    }
+
+    /**
+     * @return the cached value or {@code null}
+     */
+    public V get(K key)
+    {
+        return get(key, false);
+    }
+
+    /**
+     * @param pin whether a found entry must never get evicted from now on
+     * @return the cached value or {@code null}
+     */
+    public V get(K key, boolean pin)
+    {
+        Node<K, V> node = entries.get(key);
+        if (node == null)
+        {
+            misses.increment();
+            return null;
+        }
+        if (pin && !node.pinned)
+        {
+            put(key, node.value, true);
+        }
+
+        if (!node.accessed)
+        {
+            // only write if needed to not invalidate the cache line over and over again
+            node.accessed = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Add the value to the cache, evicting other entries if the cache is full.
+     * An already existing entry is kept, but gets pinned if requested.
+     *
+     * @param pin if the entry must never get evicted
+     * @return the number of entries which got evicted to make room for the new one
+     */
+    public synchronized int put(K key, V value, boolean pin)
+    {
+        Node<K, V> existing = entries.get(key);
+        if (existing != null)
+        {
+            if (pin && !existing.pinned)
+            {
+                // the unpinned node remains in its segment and gets dropped once it reaches the head
+                entries.put(key, new Node<>(key, existing.value, true));
+                pinnedSize++;
+            }
+            return 0;
+        }
+
+        Node<K, V> node = new Node<>(key, value, pin);
+        entries.put(key, node);
+        if (pin)
+        {
+            pinnedSize++;
+            return 0;
+        }
+        if (maxSize <= 0)
+        {
+            return 0;
+        }
+
+        probation.addLast(node);
+
+        int evicted = 0;
+        while (probation.size() + protectedSegment.size() > maxSize)
+        {
+            Node<K, V> victim = nextVictim();
+            if (victim == null)
+            {
+                break;
+            }
+            // a node which got pinned in the meantime is no longer in the map
+            if (entries.remove(victim.key, victim))
+            {
+                evicted++;
+            }
+        }
+        if (evicted > 0)
+        {
+            evictions.add(evicted);
+        }
+        return evicted;
+    }
+
+    /**
+     * Remove all entries including the pinned ones.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+        probation.clear();
+        protectedSegment.clear();
+        pinnedSize = 0;
+    }
+
+    /**
+     * @return the number of cached entries including the pinned ones
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    public synchronized int getPinnedSize()
+    {
+        return pinnedSize;
+    }
+
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes the next entry to evict from its segment.
+     */
+    private Node<K, V> nextVictim()
+    {
+        // every node gets promoted at most once per call, afterwards we evict the oldest one anyway
+        int secondChances = probation.size() + protectedSegment.size();
+        while (true)
+        {
+            Node<K, V> node = probation.pollFirst();
+            if (node == null)
+            {
+                node = protectedSegment.pollFirst();
+                if (node == null)
+                {
+                    return null;
+                }
+                probation.addLast(node);
+                continue;
+            }
+
+            if (node.accessed && secondChances-- > 0 && entries.get(node.key) == node)
+            {
+                node.accessed = false;
+                protectedSegment.addLast(node);
+                if (protectedSegment.size() > maxProtectedSize)
+                {
+                    probation.addLast(protectedSegment.pollFirst());
+                }
+                continue;
+            }
+
+            return node;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ResolutionCache{size=" + size() + ", maxSize=" + maxSize + ", hits=" + hits + ", misses=" + misses +
+                ", evictions=" + evictions + '}';
+    }
+
+    private static final class Node<K, V>
+    {
+        private final K key;
+        private final V value;
+        private final boolean pinned;
+        private volatile boolean accessed;
+
+        private Node(K key, V value, boolean pinned)
+        {
+            this.key = key;
+            this.value = value;
+            this.pinned = pinned;
+        }
+    }
+}
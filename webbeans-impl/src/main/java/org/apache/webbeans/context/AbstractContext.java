@@ -24,20 +24,25 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.MetricsService;
 
 /**
  * Abstract implementation of the {@link javax.enterprise.context.spi.Context} interfaces.
@@ -59,9 +64,25 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     /**Context contextual instances*/
     protected Map<Contextual<?>, BeanInstanceBag<?>> componentInstanceMap;
 
+    /**
+     * Array index of the bags in {@link #componentInstanceMap} for beans which got a
+     * {@link AbstractOwbBean#getContextSlot() context slot} assigned during deployment.
+     * This avoids hashing the Contextual on each lookup.
+     * The componentInstanceMap stays the authoritative storage, so beans without slot
+     * and instances restored via serialisation simply fall back to the map.
+     * Reads are lock free, all writes are synchronized on the context.
+     */
+    private transient volatile AtomicReferenceArray<BeanInstanceBag<?>> slotInstances;
+
     /**Contextual Scope Type*/
     protected Class<? extends Annotation> scopeType;
 
+    /**
+     * The metric names of this scope, lazily computed as the scopeType might only get set on deserialisation.
+     */
+    private transient volatile String createdCounterName;
+    private transient volatile String destroyedCounterName;
+
     @SuppressWarnings("unchecked")
     private <T> BeanInstanceBag<T> createContextualBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
     {
@@ -80,8 +101,95 @@ public abstract class AbstractContext implements AlterableContext, Serializable
             componentInstanceMap.put(contextual, bag);
         }
 
+        int slot = getContextSlot(contextual);
+        if (slot >= 0)
+        {
+            publishSlot(contextual, slot, bag);
+        }
+
+        return bag;
+    }
+
+    /**
+     * @return the bag of the given contextual or {@code null} if there is no instance in this context yet
+     */
+    protected BeanInstanceBag<?> getBag(Contextual<?> contextual)
+    {
+        int slot = getContextSlot(contextual);
+        if (slot < 0)
+        {
+            return componentInstanceMap.get(contextual);
+        }
+
+        AtomicReferenceArray<BeanInstanceBag<?>> slots = slotInstances;
+        if (slots != null && slot < slots.length())
+        {
+            BeanInstanceBag<?> bag = slots.get(slot);
+            if (bag != null)
+            {
+                return bag;
+            }
+        }
+
+        BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+        if (bag != null)
+        {
+            // e.g. restored from serialisation or created before the slots got assigned
+            publishSlot(contextual, slot, bag);
+        }
         return bag;
     }
+
+    private int getContextSlot(Contextual<?> contextual)
+    {
+        if (contextual instanceof AbstractOwbBean)
+        {
+            AbstractOwbBean<?> bean = (AbstractOwbBean<?>) contextual;
+            // slots are only unique within a single scope
+            if (bean.getScope() == scopeType)
+            {
+                return bean.getContextSlot();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Store the bag in its slot unless it got removed from the {@link #componentInstanceMap} meanwhile.
+     * {@link #destroyInstance(Contextual, Object, CreationalContext)} removes the bag from the map
+     * before it clears the slot under the same lock, so a destroyed bag never ends up in a slot again.
+     */
+    private synchronized void publishSlot(Contextual<?> contextual, int slot, BeanInstanceBag<?> bag)
+    {
+        if (componentInstanceMap.get(contextual) != bag)
+        {
+            return;
+        }
+
+        AtomicReferenceArray<BeanInstanceBag<?>> slots = slotInstances;
+        if (slots == null || slot >= slots.length())
+        {
+            int length = slots == null ? 0 : slots.length();
+            AtomicReferenceArray<BeanInstanceBag<?>> newSlots = new AtomicReferenceArray<>(Math.max(slot + 1, Math.max(16, length * 2)));
+            for (int i = 0; i < length; i++)
+            {
+                newSlots.set(i, slots.get(i));
+            }
+            slots = newSlots;
+            slotInstances = newSlots;
+        }
+        slots.set(slot, bag);
+    }
+
+    private synchronized void clearSlot(Contextual<?> contextual)
+    {
+        int slot = getContextSlot(contextual);
+        AtomicReferenceArray<BeanInstanceBag<?>> slots = slotInstances;
+        if (slot >= 0 && slots != null && slot < slots.length())
+        {
+            slots.set(slot, null);
+        }
+    }
     
     /**
      * Creates a new context with given scope type.
@@ -104,7 +212,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     {
         checkActive();
 
-        BeanInstanceBag bag = componentInstanceMap.get(component);
+        BeanInstanceBag bag = getBag(component);
         
         if(bag != null)
         {
@@ -134,7 +242,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         T instance;
         
         //Look for bag
-        BeanInstanceBag<T> bag = (BeanInstanceBag<T>)componentInstanceMap.get(contextual);
+        BeanInstanceBag<T> bag = (BeanInstanceBag<T>) getBag(contextual);
         if(bag == null)
         {
             bag = createContextualBag(contextual, creationalContext);
@@ -157,6 +265,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
             else
             {                
                 instance = bag.create(contextual);    
+                count(true, contextual);
             }
         }
 
@@ -174,8 +283,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      */
     public void destroyInstance(Contextual<?> contextual)
     {
-        
-        BeanInstanceBag<?> instance = componentInstanceMap.get(contextual);
+        BeanInstanceBag<?> instance = getBag(contextual);
         if (instance == null)
         {
             // just exit if people manually invoke destroy after the bean already got ditched
@@ -205,6 +313,51 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         //Destroy component
         component.destroy(instance,creationalContext);
         componentInstanceMap.remove(component);
+        clearSlot(component);
+        invalidateCachedInstance(component);
+        count(false, component);
+    }
+
+    private void invalidateCachedInstance(Contextual<?> contextual)
+    {
+        WebBeansContext webBeansContext = contextual instanceof AbstractOwbBean
+                ? ((AbstractOwbBean<?>) contextual).getWebBeansContext()
+                : WebBeansContext.getInstance();
+        webBeansContext.getBeanManagerImpl().getContextualInstanceCaches().invalidate(scopeType, contextual);
+    }
+
+    private void count(boolean created, Contextual<?> contextual)
+    {
+        if (contextual instanceof AbstractOwbBean)
+        {
+            MetricsService metrics = ((AbstractOwbBean<?>) contextual).getWebBeansContext().getMetricsService();
+            if (metrics.isEnabled())
+            {
+                metrics.increment(created ? getCreatedCounterName() : getDestroyedCounterName());
+            }
+        }
+    }
+
+    private String getCreatedCounterName()
+    {
+        String name = createdCounterName;
+        if (name == null)
+        {
+            name = MetricsService.CONTEXTUAL_INSTANCE_CREATED + scopeType.getName();
+            createdCounterName = name;
+        }
+        return name;
+    }
+
+    private String getDestroyedCounterName()
+    {
+        String name = destroyedCounterName;
+        if (name == null)
+        {
+            name = MetricsService.CONTEXTUAL_INSTANCE_DESTROYED + scopeType.getName();
+            destroyedCounterName = name;
+        }
+        return name;
     }
     
     /**
@@ -212,12 +365,41 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      */
     public void destroy()
     {
-        Set<Contextual<?>> keySet = new HashSet<>(componentInstanceMap.keySet());
-        for (Contextual<?> contextual: keySet)
+        destroy(0);
+    }
+
+    /**
+     * Destroys all contextual instances of this context and deactivates it.
+     *
+     * @param slowDestructionNanos if &gt; 0 the destruction of each instance gets timed
+     * @return the contextuals whose destruction, e.g. their &#064;PreDestroy method, took longer than slowDestructionNanos
+     */
+    public List<Contextual<?>> destroy(long slowDestructionNanos)
+    {
+        List<Contextual<?>> slowContextuals = Collections.emptyList();
+        List<Contextual<?>> contextuals = new ArrayList<>(componentInstanceMap.keySet());
+        for (Contextual<?> contextual: contextuals)
         {
+            if (slowDestructionNanos <= 0)
+            {
+                destroyInstance(contextual);
+                continue;
+            }
+
+            long start = System.nanoTime();
             destroyInstance(contextual);
+            if (System.nanoTime() - start > slowDestructionNanos)
+            {
+                if (slowContextuals.isEmpty())
+                {
+                    slowContextuals = new ArrayList<>();
+                }
+                slowContextuals.add(contextual);
+            }
         }
+        slotInstances = null;
         setActive(false);
+        return slowContextuals;
     }
 
     /**
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Destroys many independent contexts, e.g. the SessionContexts of all sessions which are
+ * still alive when the application gets stopped.
+ *
+ * <p>The contexts get destroyed by a bounded pool of threads.
+ * If they are not done within the configured timeout, the remaining contexts get abandoned.
+ * Contextual instances whose destruction overran the configured threshold get reported.
+ * The BeforeDestroyed and Destroyed events only get fired, and their payload only gets created,
+ * if there are observers for them.</p>
+ *
+ * @see OpenWebBeansConfiguration#PARALLEL_SHUTDOWN
+ */
+public class ParallelContextDestroyer
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ParallelContextDestroyer.class);
+
+    private final BeanManagerImpl beanManager;
+    private final NotificationManager notificationManager;
+    private final int threads;
+    private final long timeoutMillis;
+    private final long slowDestructionNanos;
+
+    public ParallelContextDestroyer(WebBeansContext webBeansContext)
+    {
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        beanManager = webBeansContext.getBeanManagerImpl();
+        notificationManager = webBeansContext.getNotificationManager();
+        threads = Math.max(1, configuration.getShutdownThreads());
+        timeoutMillis = configuration.getShutdownTimeout();
+        slowDestructionNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getShutdownSlowDestruction());
+    }
+
+    /**
+     * @param contexts the contexts to destroy, they must not share any contextual instance
+     * @param beforeDestroyed the qualifier of the event which gets fired before each context gets destroyed
+     * @param destroyed the qualifier of the event which gets fired after each context got destroyed
+     * @param payloadFactory creates the event payload for a context, only invoked if there are observers
+     * @return the outcome of the destruction
+     */
+    public <C extends AbstractContext> Result destroy(Collection<C> contexts,
+                                                      Annotation beforeDestroyed, Annotation destroyed,
+                                                      Function<C, Object> payloadFactory)
+    {
+        Result result = new Result(contexts.size());
+        if (contexts.isEmpty())
+        {
+            return result;
+        }
+
+        if (threads == 1 || contexts.size() == 1)
+        {
+            for (C context : contexts)
+            {
+                destroy(context, beforeDestroyed, destroyed, payloadFactory, result);
+            }
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, contexts.size()),
+                new ShutdownThreadFactory(Thread.currentThread().getContextClassLoader()));
+        try
+        {
+            for (C context : contexts)
+            {
+                executor.execute(() -> destroy(context, beforeDestroyed, destroyed, payloadFactory, result));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS))
+            {
+                logger.warning("Only " + result.getDestroyedContexts() + " of " + contexts.size() +
+                        " contexts got destroyed within " + timeoutMillis + "ms, abandoning the rest");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine("Destroyed " + result.getDestroyedContexts() + " of " + contexts.size() + " contexts in parallel");
+        }
+        return result;
+    }
+
+    private <C extends AbstractContext> void destroy(C context, Annotation beforeDestroyed, Annotation destroyed,
+                                                     Function<C, Object> payloadFactory, Result result)
+    {
+        try
+        {
+            Object payload = null;
+            boolean fireBeforeDestroyed = hasObserver(beforeDestroyed);
+            boolean fireDestroyed = hasObserver(destroyed);
+            if (fireBeforeDestroyed || fireDestroyed)
+            {
+                payload = payloadFactory.apply(context);
+            }
+
+            if (fireBeforeDestroyed)
+            {
+                beanManager.fireContextLifecyleEvent(payload, beforeDestroyed);
+            }
+
+            List<Contextual<?>> slowContextuals = context.destroy(slowDestructionNanos);
+
+            if (fireDestroyed)
+            {
+                beanManager.fireContextLifecyleEvent(payload, destroyed);
+            }
+
+            if (!slowContextuals.isEmpty())
+            {
+                result.addSlowContextuals(slowContextuals);
+                logger.warning("Destroying " + slowContextuals + " took longer than " +
+                        TimeUnit.NANOSECONDS.toMillis(slowDestructionNanos) + "ms");
+            }
+            result.destroyed.incrementAndGet();
+        }
+        catch (RuntimeException e)
+        {
+            result.failed.incrementAndGet();
+            logger.log(Level.WARNING, "Could not destroy " + context, e);
+        }
+    }
+
+    private boolean hasObserver(Annotation qualifier)
+    {
+        return qualifier != null && notificationManager.hasContextLifecycleObserver(qualifier);
+    }
+
+    /**
+     * The outcome of {@link #destroy(Collection, Annotation, Annotation, Function)}.
+     */
+    public static final class Result
+    {
+        private final int contexts;
+        private final AtomicInteger destroyed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<Contextual<?>> slowContextuals = new ArrayList<>();
+
+        private Result(int contexts)
+        {
+            this.contexts = contexts;
+        }
+
+        private synchronized void addSlowContextuals(List<Contextual<?>> contextuals)
+        {
+            slowContextuals.addAll(contextuals);
+        }
+
+        public int getDestroyedContexts()
+        {
+            return destroyed.get();
+        }
+
+        public int getFailedContexts()
+        {
+            return failed.get();
+        }
+
+        /**
+         * @return the number of contexts which didn't get destroyed within the timeout
+         */
+        public int getAbandonedContexts()
+        {
+            return contexts - destroyed.get() - failed.get();
+        }
+
+        /**
+         * @return the contextuals whose destruction overran the configured threshold
+         */
+        public synchronized List<Contextual<?>> getSlowContextuals()
+        {
+            return Collections.unmodifiableList(new ArrayList<>(slowContextuals));
+        }
+    }
+
+    private static final class ShutdownThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger count = new AtomicInteger();
+        private final ClassLoader classLoader;
+
+        private ShutdownThreadFactory(ClassLoader classLoader)
+        {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "OWB-shutdown-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            // the WebBeansContext gets looked up via the TCCL
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+}
@@ -21,9 +21,7 @@ package org.apache.webbeans.context;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
-import javax.enterprise.context.spi.Contextual;
 
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 /**
  * Session context implementation.
@@ -42,11 +40,4 @@ public class SessionContext extends PassivatingContext
     {
         componentInstanceMap = new ConcurrentHashMap<>();
     }
-
-    @Override
-    public void destroy(Contextual<?> contextual)
-    {
-        super.destroy(contextual);
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
-    }
 }
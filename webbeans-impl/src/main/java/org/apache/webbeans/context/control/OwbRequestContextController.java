@@ -30,10 +30,12 @@ import javax.enterprise.context.spi.Context;
 
 public class OwbRequestContextController implements RequestContextController
 {
+    private final WebBeansContext webBeansContext;
     private final ContextsService contextsService;
 
     OwbRequestContextController(WebBeansContext context)
     {
+        this.webBeansContext = context;
         this.contextsService = context.getContextsService();
     }
 
@@ -53,6 +55,6 @@ public class OwbRequestContextController implements RequestContextController
     public void deactivate() throws ContextNotActiveException
     {
         contextsService.endContext(RequestScoped.class, null);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
     }
 }
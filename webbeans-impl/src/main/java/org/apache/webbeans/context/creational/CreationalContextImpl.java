@@ -18,6 +18,8 @@
  */
 package org.apache.webbeans.context.creational;
 
+import org.apache.webbeans.component.EnterpriseBeanMarker;
+import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -31,10 +33,12 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /** {@inheritDoc} */
 public class CreationalContextImpl<T> implements CreationalContext<T>, Serializable
@@ -58,11 +62,35 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private transient LinkedList<EventMetadata> eventMetadata;
 
     /**
-     * Contextual bean dependent instances
+     * Contextual bean dependent instances in the order they need to get destroyed.
+     * Entries which got destroyed individually via {@link #destroyDependent(Object)}
+     * stay in the deque with a {@code null} instance until the next compaction.
      *
      * <p><b>ATTENTION</b> This variable gets initiated lazily!</p>
      */
-    private List<DependentCreationalContext<?>> dependentObjects;
+    private ArrayDeque<DependentCreationalContext<?>> dependentObjects;
+
+    /**
+     * Identity index of {@link #dependentObjects} by instance.
+     * Rebuilt lazily after deserialisation.
+     */
+    private transient Map<Object, DependentCreationalContext<?>> dependentIndex;
+
+    /**
+     * {@code true} if the same instance got added more than once.
+     * In that case we cannot rely on {@link #dependentIndex} and fall back to scanning the deque.
+     */
+    private boolean duplicateDependents;
+
+    /**
+     * number of entries in {@link #dependentObjects} which got destroyed already
+     */
+    private int removedDependents;
+
+    /**
+     * number of dependent instances which did not get tracked because destroying them is a no-op
+     */
+    private int elidedDependents;
 
     /**
      * Contains the currently created bean
@@ -182,6 +210,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
      
     /**
      * Adds given dependent instance to the map.
+     * Instances which do not need any destruction (no &#064;PreDestroy, interceptors or decorators)
+     * only get counted, see {@link #getElidedDependentCount()}.
      * 
      * @param dependent dependent contextual
      * @param instance dependent instance
@@ -190,6 +220,15 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     {
         if(instance != null)
         {
+            if (isDestroyNoop(dependent, instance))
+            {
+                synchronized (this)
+                {
+                    elidedDependents++;
+                }
+                return;
+            }
+
             DependentCreationalContext<K> dependentCreational = new DependentCreationalContext<>(dependent);
             dependentCreational.setInstance(instance);
 
@@ -197,16 +236,21 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             {
                 if (dependentObjects == null)
                 {
-                    dependentObjects = new ArrayList<>();
+                    dependentObjects = new ArrayDeque<>();
                 }
 
                 if (dependent == bean)
                 {
-                    dependentObjects.add(0, dependentCreational);
+                    dependentObjects.addFirst(dependentCreational);
                 }
                 else
                 {
-                    dependentObjects.add(dependentCreational);
+                    dependentObjects.addLast(dependentCreational);
+                }
+
+                if (getDependentIndex().putIfAbsent(instance, dependentCreational) != null)
+                {
+                    duplicateDependents = true;
                 }
             }
         }
@@ -220,9 +264,18 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
         synchronized (this)
         {
+            if (dependentObjects == null)
+            {
+                return false;
+            }
+            if (!duplicateDependents)
+            {
+                DependentCreationalContext<?> dependentCreationalContext = getDependentIndex().get(instance);
+                return dependentCreationalContext != null && dependentCreationalContext.getContextual().equals(contextual);
+            }
             for (DependentCreationalContext<?> dependentCreationalContext: dependentObjects)
             {
-                if (dependentCreationalContext.getContextual().equals(contextual) && dependentCreationalContext.getInstance() == instance)
+                if (dependentCreationalContext.getInstance() == instance && dependentCreationalContext.getContextual().equals(contextual))
                 {
                     return true;
                 }
@@ -231,29 +284,39 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
     }
 
-    public <X> void destroyDependent(X instance)
+    /**
+     * Destroy the given dependent instance.
+     *
+     * @return {@code false} if the instance is not tracked as dependent of this CreationalContext,
+     *         e.g. because destroying it is a no-op
+     */
+    public <X> boolean destroyDependent(X instance)
     {
         if (dependentObjects == null)
         {
-            return;
+            return false;
         }
         synchronized (this)
         {
-            for (Iterator<DependentCreationalContext<?>> i = dependentObjects.iterator(); i.hasNext();)
+            if (dependentObjects == null)
             {
-                DependentCreationalContext<?> dependentContext = i.next();
-                if (dependentContext.getInstance() == instance)
-                {
-                    Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
-                    CreationalContext<X> creationalContext = (CreationalContext<X>)this;
-                    dependentContextual.destroy(instance, creationalContext);
-                    if (dependentObjects != null)
-                    {
-                        i.remove();
-                    } // else previous destroy removed it
-                    break;
-                }
+                return false;
+            }
+
+            DependentCreationalContext<?> dependentContext = duplicateDependents ? findDependent(instance) : getDependentIndex().get(instance);
+            if (dependentContext == null)
+            {
+                return false;
             }
+
+            Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
+            CreationalContext<X> creationalContext = (CreationalContext<X>)this;
+            dependentContextual.destroy(instance, creationalContext);
+            if (dependentObjects != null && dependentContext.getInstance() != null)
+            {
+                removeDependent(dependentContext);
+            } // else previous destroy removed it
+            return true;
         }
     }
 
@@ -273,13 +336,22 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             {
                 // this is kind of an emergency valve...
                 int maxRemoval = dependentObjects.size() * 3;
+                // we don't use an iterator because the destroyal might register a
+                // fresh PreDestroy interceptor as dependent object...
                 while (!dependentObjects.isEmpty() && maxRemoval > 0)
                 {
-                    // we don't use an iterator because the destroyal might register a 
-                    // fresh PreDestroy interceptor as dependent object...
-                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.get(0);
-                    dependentObjects.remove(0);
-                    dependent.getContextual().destroy((T) dependent.getInstance(), this);
+                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.pollFirst();
+                    T instance = (T) dependent.getInstance();
+                    if (instance == null)
+                    {
+                        continue; // already destroyed via destroyDependent
+                    }
+                    dependent.setInstance(null);
+                    if (dependentIndex != null && dependentIndex.get(instance) == dependent)
+                    {
+                        dependentIndex.remove(instance);
+                    }
+                    dependent.getContextual().destroy(instance, this);
                     maxRemoval--;
                 }
                     
@@ -291,6 +363,82 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         }
 
         dependentObjects = null;
+        dependentIndex = null;
+        removedDependents = 0;
+    }
+
+    /**
+     * @return the number of dependent instances which did not get tracked since destroying them is a no-op
+     */
+    public synchronized int getElidedDependentCount()
+    {
+        return elidedDependents;
+    }
+
+    private static boolean isDestroyNoop(Contextual<?> dependent, Object instance)
+    {
+        return dependent instanceof InjectionTargetBean
+                && !(dependent instanceof EnterpriseBeanMarker)
+                && ((InjectionTargetBean<Object>) dependent).isDestroyNoop(instance);
+    }
+
+    private Map<Object, DependentCreationalContext<?>> getDependentIndex()
+    {
+        if (dependentIndex == null)
+        {
+            dependentIndex = new IdentityHashMap<>();
+            for (DependentCreationalContext<?> dependentCreationalContext : dependentObjects)
+            {
+                Object instance = dependentCreationalContext.getInstance();
+                if (instance != null && dependentIndex.putIfAbsent(instance, dependentCreationalContext) != null)
+                {
+                    duplicateDependents = true;
+                }
+            }
+        }
+        return dependentIndex;
+    }
+
+    private DependentCreationalContext<?> findDependent(Object instance)
+    {
+        for (DependentCreationalContext<?> dependentCreationalContext : dependentObjects)
+        {
+            if (dependentCreationalContext.getInstance() == instance)
+            {
+                return dependentCreationalContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks the entry as removed instead of searching it in the deque.
+     * Removed entries get skipped on destruction and compacted once they make up half of the deque.
+     */
+    private void removeDependent(DependentCreationalContext<?> dependentContext)
+    {
+        Object instance = dependentContext.getInstance();
+        dependentContext.setInstance(null);
+        if (dependentIndex != null && dependentIndex.get(instance) == dependentContext)
+        {
+            dependentIndex.remove(instance);
+            if (duplicateDependents)
+            {
+                // another entry for the same instance might be left
+                DependentCreationalContext<?> other = findDependent(instance);
+                if (other != null)
+                {
+                    dependentIndex.put(instance, other);
+                }
+            }
+        }
+
+        removedDependents++;
+        if (removedDependents * 2 >= dependentObjects.size())
+        {
+            dependentObjects.removeIf(it -> it.getInstance() == null);
+            removedDependents = 0;
+        }
     }
     
     /**
@@ -332,7 +480,22 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private void writeObject(ObjectOutputStream s)
     throws IOException
     {
-        s.writeObject(dependentObjects);
+        List<DependentCreationalContext<?>> dependents = null;
+        synchronized (this)
+        {
+            if (dependentObjects != null)
+            {
+                dependents = new ArrayList<>(dependentObjects.size());
+                for (DependentCreationalContext<?> dependent : dependentObjects)
+                {
+                    if (dependent.getInstance() != null)
+                    {
+                        dependents.add(dependent);
+                    }
+                }
+            }
+        }
+        s.writeObject(dependents);
 
         String id = WebBeansUtil.getPassivationId(bean);
         if (bean != null && id != null)
@@ -354,7 +517,11 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     throws IOException, ClassNotFoundException
     {
         webBeansContext = WebBeansContext.currentInstance();
-        dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        List<DependentCreationalContext<?>> dependents = (List<DependentCreationalContext<?>>)s.readObject();
+        if (dependents != null)
+        {
+            dependentObjects = new ArrayDeque<>(dependents);
+        }
 
         String id = (String) s.readObject();
         if (id != null)
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.metrics;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * <p>A simple MetricsService which keeps all counters and timers in memory.</p>
+ *
+ * <p>If {@link #JMX_ENABLED} is set to {@code true} the metrics get exposed as
+ * {@link MetricsMXBean} with the ObjectName {@code org.apache.webbeans:type=Metrics,name=<n>}.</p>
+ */
+public class InMemoryMetricsService implements MetricsService, MetricsMXBean, Closeable
+{
+    /**
+     * Set to {@code true} to register the metrics in the platform MBeanServer.
+     */
+    public static final String JMX_ENABLED = InMemoryMetricsService.class.getName() + ".jmx";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(InMemoryMetricsService.class);
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    public InMemoryMetricsService()
+    {
+        // metrics only, no JMX
+    }
+
+    public InMemoryMetricsService(WebBeansContext webBeansContext)
+    {
+        if (Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration().getProperty(JMX_ENABLED)))
+        {
+            registerMBean();
+        }
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void increment(String counter)
+    {
+        LongAdder adder = counters.get(counter);
+        if (adder == null)
+        {
+            adder = counters.computeIfAbsent(counter, k -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    @Override
+    public void time(String timer, long nanos)
+    {
+        Timer t = timers.get(timer);
+        if (t == null)
+        {
+            t = timers.computeIfAbsent(timer, k -> new Timer());
+        }
+        t.record(nanos);
+    }
+
+    /**
+     * @return the current value of the given counter, 0 if it never got incremented
+     */
+    public long getCounter(String counter)
+    {
+        LongAdder adder = counters.get(counter);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * @return how often the given timer got recorded
+     */
+    public long getTimerCount(String timer)
+    {
+        Timer t = timers.get(timer);
+        return t != null ? t.count.sum() : 0;
+    }
+
+    /**
+     * @return the sum of all recorded durations of the given timer in nanoseconds
+     */
+    public long getTimerTotalNanos(String timer)
+    {
+        Timer t = timers.get(timer);
+        return t != null ? t.totalNanos.sum() : 0;
+    }
+
+    @Override
+    public Map<String, Long> getCounters()
+    {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet())
+        {
+            snapshot.put(counter.getKey(), counter.getValue().sum());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public Map<String, Long> getTimerCounts()
+    {
+        return timerSnapshot(t -> t.count.sum());
+    }
+
+    @Override
+    public Map<String, Long> getTimerTotalMillis()
+    {
+        return timerSnapshot(t -> TimeUnit.NANOSECONDS.toMillis(t.totalNanos.sum()));
+    }
+
+    @Override
+    public Map<String, Long> getTimerMaxMicros()
+    {
+        return timerSnapshot(t -> TimeUnit.NANOSECONDS.toMicros(t.maxNanos.get()));
+    }
+
+    @Override
+    public void reset()
+    {
+        counters.clear();
+        timers.clear();
+    }
+
+    @Override
+    public void close()
+    {
+        if (objectName != null)
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            }
+            catch (Exception e)
+            {
+                logger.log(Level.FINE, "Could not unregister " + objectName, e);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("OpenWebBeans metrics:");
+        for (Map.Entry<String, Long> counter : getCounters().entrySet())
+        {
+            sb.append("\n  ").append(counter.getKey()).append(" = ").append(counter.getValue());
+        }
+        Map<String, Long> timerCounts = getTimerCounts();
+        Map<String, Long> timerMillis = getTimerTotalMillis();
+        for (Map.Entry<String, Long> timer : timerCounts.entrySet())
+        {
+            sb.append("\n  ").append(timer.getKey()).append(" = ").append(timer.getValue())
+              .append(" times, ").append(timerMillis.get(timer.getKey())).append(" ms");
+        }
+        return sb.toString();
+    }
+
+    private Map<String, Long> timerSnapshot(ToLongFunction<Timer> value)
+    {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, Timer> timer : timers.entrySet())
+        {
+            snapshot.put(timer.getKey(), value.applyAsLong(timer.getValue()));
+        }
+        return snapshot;
+    }
+
+    private void registerMBean()
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.apache.webbeans:type=Metrics,name=" + INSTANCES.incrementAndGet());
+            server.registerMBean(this, name);
+            objectName = name;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Could not register the OpenWebBeans metrics in JMX", e);
+        }
+    }
+
+    private static final class Timer
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos)
+        {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
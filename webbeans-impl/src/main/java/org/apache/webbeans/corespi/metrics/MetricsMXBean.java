@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link InMemoryMetricsService}.
+ */
+public interface MetricsMXBean
+{
+    /**
+     * @return the value of all counters
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return how often each timer got recorded
+     */
+    Map<String, Long> getTimerCounts();
+
+    /**
+     * @return the total time of each timer in milliseconds
+     */
+    Map<String, Long> getTimerTotalMillis();
+
+    /**
+     * @return the max time of each timer in microseconds
+     */
+    Map<String, Long> getTimerMaxMicros();
+
+    /**
+     * Reset all counters and timers.
+     */
+    void reset();
+}
@@ -26,6 +26,7 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
@@ -96,6 +97,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     protected ClassLoader loader;
     protected CdiArchive archive;
     protected OwbAnnotationFinder finder;
+    private ScannedAnnotations scannedAnnotations;
     protected boolean isBDAScannerEnabled;
     protected BDABeansXmlScanner bdaBeansXmlScanner;
     protected WebBeansContext webBeansContext;
@@ -313,6 +315,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     public void release()
     {
         finder = null;
+        scannedAnnotations = null;
         archive = null;
         loader = null;
     }
@@ -533,6 +536,19 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     }
 
 
+    /**
+     * @return the annotation information of the scanned classes
+     *         or {@code null} if the classpath did not get scanned or got {@link #release() released} already.
+     */
+    public ScannedAnnotations getScannedAnnotations()
+    {
+        if (scannedAnnotations == null && finder != null)
+        {
+            scannedAnnotations = new ScannedAnnotations(finder);
+        }
+        return scannedAnnotations;
+    }
+
     @Override
     public Set<URL> getBeanXmls()
     {
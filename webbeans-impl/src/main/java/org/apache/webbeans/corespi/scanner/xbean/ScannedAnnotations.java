@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.xbean.finder.AnnotationFinder;
+
+/**
+ * Answers {@link javax.enterprise.inject.spi.WithAnnotations} queries from the bytecode
+ * information the scanner collected anyway.
+ *
+ * The {@link OwbAnnotationFinder} already knows the names of all runtime visible annotations
+ * on each scanned class, its fields, methods, constructors and parameters.
+ * This allows us to rule out a ProcessAnnotatedType observer for a class without creating
+ * the AnnotatedType metadata for all its members.
+ *
+ * The answer is conservative: if any class of the hierarchy did not get scanned or
+ * an annotation class cannot be loaded, then we report a possible match and
+ * the exact check on the AnnotatedType decides.
+ */
+public class ScannedAnnotations
+{
+    private final OwbAnnotationFinder finder;
+
+    /**
+     * Whether an annotation (by name) matches the given &#064;WithAnnotations value.
+     * The arrays are only used as identity keys, they are owned by the observer methods.
+     */
+    private final ConcurrentMap<Class<?>[], Map<String, Boolean>> matchingAnnotations = new ConcurrentHashMap<>();
+
+    public ScannedAnnotations(OwbAnnotationFinder finder)
+    {
+        this.finder = finder;
+    }
+
+    /**
+     * @param clazz a scanned class
+     * @param withAnnotations the value of a &#064;WithAnnotations
+     * @return {@code false} if neither the class, its superclasses nor any of their fields, methods,
+     *         constructors or parameters are annotated with one of the given annotations,
+     *         directly or as meta-annotation. {@code true} if they might be.
+     */
+    public boolean mayHaveAnnotations(Class<?> clazz, Class<? extends Annotation>[] withAnnotations)
+    {
+        Map<String, Boolean> matching = matchingAnnotations.get(withAnnotations);
+        if (matching == null)
+        {
+            matching = new ConcurrentHashMap<>();
+            Map<String, Boolean> existing = matchingAnnotations.putIfAbsent(withAnnotations, matching);
+            if (existing != null)
+            {
+                matching = existing;
+            }
+        }
+
+        ClassLoader loader = clazz.getClassLoader();
+        Class<?> current = clazz;
+        while (current != null && current != Object.class)
+        {
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(current.getName());
+            if (classInfo == null)
+            {
+                // not scanned, e.g. a superclass from a jar without beans
+                return true;
+            }
+
+            if (hasAnnotation(classInfo.getAnnotations(), withAnnotations, matching, loader))
+            {
+                return true;
+            }
+            for (AnnotationFinder.FieldInfo field : classInfo.getFields())
+            {
+                if (hasAnnotation(field.getAnnotations(), withAnnotations, matching, loader))
+                {
+                    return true;
+                }
+            }
+            if (hasMemberAnnotation(classInfo.getMethods(), withAnnotations, matching, loader)
+                || hasMemberAnnotation(classInfo.getConstructors(), withAnnotations, matching, loader))
+            {
+                return true;
+            }
+
+            current = current.getSuperclass();
+        }
+
+        return false;
+    }
+
+    private boolean hasMemberAnnotation(List<AnnotationFinder.MethodInfo> methods, Class<? extends Annotation>[] withAnnotations,
+                                        Map<String, Boolean> matching, ClassLoader loader)
+    {
+        for (AnnotationFinder.MethodInfo method : methods)
+        {
+            if (hasAnnotation(method.getAnnotations(), withAnnotations, matching, loader))
+            {
+                return true;
+            }
+            for (List<AnnotationFinder.AnnotationInfo> parameterAnnotations : method.getParameterAnnotations())
+            {
+                if (hasAnnotation(parameterAnnotations, withAnnotations, matching, loader))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAnnotation(List<AnnotationFinder.AnnotationInfo> annotations, Class<? extends Annotation>[] withAnnotations,
+                                  Map<String, Boolean> matching, ClassLoader loader)
+    {
+        for (AnnotationFinder.AnnotationInfo annotation : annotations)
+        {
+            String name = annotation.getName();
+            Boolean matches = matching.get(name);
+            if (matches == null)
+            {
+                matches = matches(name, withAnnotations, loader);
+                matching.put(name, matches);
+            }
+            if (matches)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same semantics as the check on the AnnotatedType:
+     * the annotation itself or one of its meta-annotations must be one of the given annotations.
+     * Repeated annotations only show up as their container in the bytecode, but the AnnotatedType
+     * lists the contained annotations as well, so they get checked too.
+     */
+    private boolean matches(String annotationName, Class<? extends Annotation>[] withAnnotations, ClassLoader loader)
+    {
+        Class<?> annotationType;
+        try
+        {
+            annotationType = Class.forName(annotationName, false, loader);
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            return true;
+        }
+
+        if (matches(annotationType, withAnnotations))
+        {
+            return true;
+        }
+
+        Class<?> repeatedType;
+        try
+        {
+            repeatedType = getRepeatedType(annotationType);
+        }
+        catch (LinkageError e)
+        {
+            return true;
+        }
+        return repeatedType != null && matches(repeatedType, withAnnotations);
+    }
+
+    private boolean matches(Class<?> annotationType, Class<? extends Annotation>[] withAnnotations)
+    {
+        for (Class<? extends Annotation> withAnnotation : withAnnotations)
+        {
+            if (withAnnotation.isAssignableFrom(annotationType))
+            {
+                return true;
+            }
+            for (Annotation meta : annotationType.getAnnotations())
+            {
+                if (withAnnotation.isAssignableFrom(meta.annotationType()))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the annotation type contained in the given &#064;Repeatable container
+     *         or {@code null} if the given annotation is no container
+     * @see org.apache.webbeans.annotation.AnnotationManager#getRepeatableMethod(Class)
+     */
+    private static Class<?> getRepeatedType(Class<?> annotationType)
+    {
+        Method value;
+        try
+        {
+            value = annotationType.getMethod("value");
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+        if (!value.getReturnType().isArray())
+        {
+            return null;
+        }
+        Class<?> componentType = value.getReturnType().getComponentType();
+        Repeatable repeatable = componentType.getAnnotation(Repeatable.class);
+        return repeatable != null && repeatable.value() == annotationType ? componentType : null;
+    }
+}
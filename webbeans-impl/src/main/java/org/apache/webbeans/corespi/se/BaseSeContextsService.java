@@ -195,7 +195,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (requestCtx != null)
         {
             requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
+            RequestScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
             requestContext.set(null);
             requestContext.remove();
         }
@@ -204,7 +204,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (sessionCtx != null)
         {
             sessionCtx.destroy();
-            SessionScopedBeanInterceptorHandler.removeThreadLocals();
+            SessionScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
             sessionContext.set(null);
             sessionContext.remove();
         }
@@ -413,7 +413,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         BaseSeContextsService.requestContext.set(null);
         BaseSeContextsService.requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
 
         if (shouldFireRequestLifecycleEvents())
         {
@@ -434,7 +434,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         sessionContext.set(null);
         sessionContext.remove();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        SessionScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
     }
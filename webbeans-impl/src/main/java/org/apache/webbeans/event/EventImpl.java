@@ -23,9 +23,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,11 +36,16 @@ import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.util.TypeLiteral;
 
+import org.apache.webbeans.annotation.CanonicalQualifier;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.util.Asserts;
 
 /**
  * Event implementation.
+ *
+ * The metadata of an Event never changes after creation, only the resolved observers get cached lazily.
+ * This allows to share one instance between all beans injecting the same injection point,
+ * see {@link org.apache.webbeans.portable.EventProducer}.
  * 
  * @param <T> event type
  * @see Event
@@ -50,7 +54,13 @@ public class EventImpl<T> implements Event<T>, Serializable
 {
     private static final long serialVersionUID = 393021493190378023L;
 
-    private EventMetadataImpl metadata;
+    /**
+     * Max number of {@link #select(Annotation...)} results we keep per Event.
+     * Selections with ever changing qualifier values must not let the cache grow unbounded.
+     */
+    private static final int MAX_CACHED_SELECTIONS = 64;
+
+    private final EventMetadataImpl metadata;
 
     private transient WebBeansContext webBeansContext;
 
@@ -60,6 +70,8 @@ public class EventImpl<T> implements Event<T>, Serializable
     // cache for metadata == this.metadata (fast path)
     private volatile transient List<ObserverMethod<? super Object>> defaultMetadataObservers;
     private volatile transient List<ObserverMethod<? super Object>> defaultMetadataAsyncObservers;
+    // the Events created via select(...) together with their warmed up observer caches
+    private volatile transient ConcurrentMap<SelectionKey, EventImpl<?>> selections;
 
     /**
      * Creates a new event.
@@ -136,7 +148,12 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public Event<T> select(Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(bindings), webBeansContext);
+        EventImpl<T> selected = getSelection(null, bindings);
+        if (selected == null)
+        {
+            selected = putSelection(null, bindings, new EventImpl<>(metadata.select(bindings), webBeansContext));
+        }
+        return selected;
     }
     
     /**
@@ -145,7 +162,12 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public <U extends T> Event<U> select(Class<U> subtype, Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
+        EventImpl<U> selected = getSelection(subtype, bindings);
+        if (selected == null)
+        {
+            selected = putSelection(subtype, bindings, new EventImpl<>(metadata.select(subtype, bindings), webBeansContext));
+        }
+        return selected;
     }
     
     /**
@@ -154,7 +176,45 @@ public class EventImpl<T> implements Event<T>, Serializable
     @Override
     public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... bindings)
     {
-        return new EventImpl<>(metadata.select(subtype, bindings), webBeansContext);
+        EventImpl<U> selected = getSelection(subtype.getType(), bindings);
+        if (selected == null)
+        {
+            selected = putSelection(subtype.getType(), bindings, new EventImpl<>(metadata.select(subtype, bindings), webBeansContext));
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> EventImpl<U> getSelection(Type subtype, Annotation[] bindings)
+    {
+        ConcurrentMap<SelectionKey, EventImpl<?>> cachedSelections = selections;
+        if (cachedSelections == null)
+        {
+            return null;
+        }
+        return (EventImpl<U>) cachedSelections.get(new SelectionKey(subtype, bindings));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> EventImpl<U> putSelection(Type subtype, Annotation[] bindings, EventImpl<U> selected)
+    {
+        if (selections == null)
+        {
+            synchronized (this)
+            {
+                if (selections == null)
+                {
+                    selections = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        if (selections.size() >= MAX_CACHED_SELECTIONS)
+        {
+            return selected;
+        }
+
+        EventImpl<?> existing = selections.putIfAbsent(new SelectionKey(subtype, bindings.clone()), selected);
+        return existing != null ? (EventImpl<U>) existing : selected;
     }
     
     private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException
@@ -201,7 +261,7 @@ public class EventImpl<T> implements Event<T>, Serializable
                 }
             }
             final ObserverCacheKey key = new ObserverCacheKey(
-                    event.getClass(), metadata.validatedType(), metadata.getQualifiers());
+                    event.getClass(), metadata.validatedType(), metadata.getCanonicalQualifiers());
             observerMethods = observers.get(key);
             if (observerMethods == null)
             {
@@ -247,7 +307,7 @@ public class EventImpl<T> implements Event<T>, Serializable
                 }
             }
             final ObserverCacheKey key = new ObserverCacheKey(
-                    event.getClass(), metadata.validatedType(), metadata.getQualifiers());
+                    event.getClass(), metadata.validatedType(), metadata.getCanonicalQualifiers());
             observerMethods = asyncObservers.get(key);
             if (observerMethods == null)
             {
@@ -261,19 +321,56 @@ public class EventImpl<T> implements Event<T>, Serializable
                 new EventContextImpl<>(event, metadata), false, options, observerMethods);
     }
 
+    private static class SelectionKey
+    {
+        private final Type subtype;
+        private final Annotation[] bindings;
+        private final int hash;
+
+        private SelectionKey(Type subtype, Annotation[] bindings)
+        {
+            this.subtype = subtype;
+            this.bindings = bindings;
+            this.hash = 31 * (subtype != null ? subtype.hashCode() : 0) + Arrays.hashCode(bindings);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            SelectionKey that = SelectionKey.class.cast(o);
+            return hash == that.hash &&
+                    (subtype == null ? that.subtype == null : subtype.equals(that.subtype)) &&
+                    Arrays.equals(bindings, that.bindings);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
     private static class ObserverCacheKey
     {
         private final Class<?> clazz;
         private final Type type;
-        private final Collection<Annotation> qualifiers;
+        private final CanonicalQualifier[] qualifiers;
         private final int hash;
 
-        private ObserverCacheKey(Class<?> clazz, Type type, Collection<Annotation> qualifiers)
+        private ObserverCacheKey(Class<?> clazz, Type type, CanonicalQualifier[] qualifiers)
         {
             this.clazz = clazz;
             this.type = type;
             this.qualifiers = qualifiers;
-            this.hash = Objects.hash(clazz, type, qualifiers);
+            this.hash = 31 * (31 * clazz.hashCode() + type.hashCode()) + Arrays.hashCode(qualifiers);
         }
 
         @Override
@@ -288,9 +385,11 @@ public class EventImpl<T> implements Event<T>, Serializable
                 return false;
             }
             ObserverCacheKey that = ObserverCacheKey.class.cast(o);
-            return Objects.equals(clazz, that.clazz) &&
-                    Objects.equals(type, that.type) &&
-                    Objects.equals(qualifiers, that.qualifiers);
+            // qualifiers are interned and sorted, Arrays.equals boils down to identity checks
+            return hash == that.hash &&
+                    clazz == that.clazz &&
+                    type.equals(that.type) &&
+                    Arrays.equals(qualifiers, that.qualifiers);
         }
 
         @Override
@@ -39,6 +39,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.TypeLiteral;
 
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.annotation.CanonicalQualifier;
 import org.apache.webbeans.config.OwbParametrizedTypeImpl;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.util.ArrayUtil;
@@ -52,6 +53,7 @@ public class EventMetadataImpl implements EventMetadata, Serializable
     private final InjectionPoint injectionPoint;
     private final Set<Annotation> qualifiers;
     private transient WebBeansContext webBeansContext;
+    private transient volatile CanonicalQualifier[] canonicalQualifiers;
 
     public EventMetadataImpl(Type selectType, Type type, InjectionPoint injectionPoint, Annotation[] qualifiers, WebBeansContext context)
     {
@@ -126,6 +128,21 @@ public class EventMetadataImpl implements EventMetadata, Serializable
         return qualifiers;
     }
 
+    /**
+     * @return the interned qualifiers of this event, used as cache key
+     */
+    public CanonicalQualifier[] getCanonicalQualifiers()
+    {
+        CanonicalQualifier[] result = canonicalQualifiers;
+        if (result == null)
+        {
+            result = webBeansContext.getAnnotationManager().getCanonicalQualifiers(
+                qualifiers.toArray(new Annotation[qualifiers.size()]));
+            canonicalQualifiers = result;
+        }
+        return result;
+    }
+
     public EventMetadataImpl select(Annotation... bindings)
     {
         return select(type, bindings);
@@ -64,17 +64,22 @@ import javax.enterprise.inject.spi.ProcessAnnotatedType;
 import javax.enterprise.inject.spi.ProcessProducer;
 
 import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.component.ExtensionBean;
+import org.apache.webbeans.config.BootReport;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
 import org.apache.webbeans.portable.events.generics.TwoParametersGenericBeanEvent;
 import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -101,6 +106,12 @@ public final class NotificationManager
     private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
+    /**
+     * All observers which might get notified about a ProcessAnnotatedType of a scanned class.
+     * Lazily computed and reset whenever an observer gets added.
+     */
+    private volatile List<ObserverMethod<?>> processAnnotatedTypeObservers;
+
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
     private Comparator<? super ObserverMethod<? super Object>> observerMethodComparator
         = new Comparator<ObserverMethod<? super Object>>()
@@ -137,6 +148,7 @@ public final class NotificationManager
     {
         observersByRawType.clear();
         hasContextLifecycleEventObservers.clear();
+        processAnnotatedTypeObservers = null;
     }
 
     /**
@@ -189,6 +201,51 @@ public final class NotificationManager
         }
 
         set.add(observer);
+        processAnnotatedTypeObservers = null;
+    }
+
+    /**
+     * Check whether firing a ProcessAnnotatedType event for the given scanned class would notify any observer.
+     * Observers with &#064;WithAnnotations get matched against the bytecode information of the scanner,
+     * so neither the event nor the metadata of the class members needs to get created for classes
+     * which are only of interest to the container itself.
+     *
+     * @param beanClass the scanned class
+     * @param scannedAnnotations the annotation information of the scanner
+     * @return {@code false} if it is safe to skip the event
+     */
+    public boolean hasProcessAnnotatedTypeObservers(Class<?> beanClass, ScannedAnnotations scannedAnnotations)
+    {
+        List<ObserverMethod<?>> candidates = processAnnotatedTypeObservers;
+        if (candidates == null)
+        {
+            candidates = new ArrayList<>();
+            for (Map.Entry<Type, Set<ObserverMethod<?>>> entry : observers.entrySet())
+            {
+                Class<?> observerClass = ClassUtil.getClazz(entry.getKey());
+                if (observerClass == null || observerClass.isAssignableFrom(GProcessAnnotatedType.class))
+                {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            processAnnotatedTypeObservers = candidates;
+        }
+
+        for (ObserverMethod<?> observerMethod : candidates)
+        {
+            if (!(observerMethod instanceof ContainerEventObserverMethodImpl))
+            {
+                return true;
+            }
+
+            Class[] withAnnotations = ((ContainerEventObserverMethodImpl) observerMethod).getWithAnnotations();
+            if (withAnnotations == null || withAnnotations.length == 0 || scannedAnnotations.mayHaveAnnotations(beanClass, withAnnotations))
+            {
+                return true;
+            }
+        }
+
+        return false;
     }
 
 
@@ -200,7 +257,9 @@ public final class NotificationManager
 
         if (isLifecycleEvent && event instanceof ProcessAnnotatedType)
         {
-            observersMethods = filterByWithAnnotations(observersMethods, ((ProcessAnnotatedType) event).getAnnotatedType());
+            ScannedAnnotations scannedAnnotations = event instanceof GProcessAnnotatedType
+                ? ((GProcessAnnotatedType) event).getScannedAnnotations() : null;
+            observersMethods = filterByWithAnnotations(observersMethods, ((ProcessAnnotatedType) event).getAnnotatedType(), scannedAnnotations);
         }
 
         if (!isLifecycleEvent && observersMethods.isEmpty())
@@ -213,7 +272,8 @@ public final class NotificationManager
         return observersMethods;
     }
 
-    private <T> Collection<ObserverMethod<? super T>> filterByWithAnnotations(Collection<ObserverMethod<? super T>> observersMethods, AnnotatedType annotatedType)
+    private <T> Collection<ObserverMethod<? super T>> filterByWithAnnotations(Collection<ObserverMethod<? super T>> observersMethods, AnnotatedType annotatedType,
+                                                                              ScannedAnnotations scannedAnnotations)
     {
         List<ObserverMethod<? super T>> observerMethodsWithAnnotations = new ArrayList<>();
 
@@ -222,7 +282,9 @@ public final class NotificationManager
             Class[] withAnnotations = ((ContainerEventObserverMethodImpl) observerMethod).getWithAnnotations();
             if (withAnnotations != null && withAnnotations.length > 0)
             {
-                if (annotatedTypeHasAnnotations(annotatedType, withAnnotations))
+                // the bytecode information can only rule out a match, the AnnotatedType has the final word
+                if ((scannedAnnotations == null || scannedAnnotations.mayHaveAnnotations(annotatedType.getJavaClass(), withAnnotations))
+                    && annotatedTypeHasAnnotations(annotatedType, withAnnotations))
                 {
                     observerMethodsWithAnnotations.add(observerMethod);
                 }
@@ -859,7 +921,32 @@ public final class NotificationManager
 
     private void invokeObserverMethod(EventContext context, ObserverMethod<?> observer)
     {
-        observer.notify(context);
+        MetricsService metrics = webBeansContext.getMetricsService();
+        BootReport bootReport = webBeansContext.getBootReport();
+        if (!metrics.isEnabled() && bootReport == null)
+        {
+            observer.notify(context);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try
+        {
+            observer.notify(context);
+        }
+        finally
+        {
+            long duration = System.nanoTime() - start;
+            if (metrics.isEnabled())
+            {
+                metrics.time(MetricsService.OBSERVER_INVOCATION, duration);
+            }
+            if (bootReport != null && observer instanceof OwbObserverMethod
+                    && ((OwbObserverMethod<?>) observer).getOwnerBean() instanceof ExtensionBean)
+            {
+                bootReport.addExtensionTime(((OwbObserverMethod<?>) observer).getOwnerBean().getBeanClass(), duration);
+            }
+        }
     }
 
     /**
@@ -60,6 +60,7 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
+import org.apache.webbeans.util.MethodHandleInvoker;
 
 /**
  * Defines observers that are declared in observer methods.
@@ -117,6 +118,36 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
     private int priority = ObserverMethod.DEFAULT_PRIORITY;
 
     private boolean isAsync;
+
+    /** how to invoke this observer, computed once at deployment time */
+    private final InvocationStrategy invocationStrategy;
+
+    private final boolean staticObserver;
+
+    private final boolean privateObserver;
+
+    /**
+     * invokes the observer method, {@code null} if the method could not get unreflected
+     */
+    private final MethodHandleInvoker invoker;
+
+    /**
+     * The way an observer gets invoked.
+     */
+    private enum InvocationStrategy
+    {
+        /** static method which only takes the event */
+        STATIC,
+
+        /** the owner bean is normal scoped and the method only takes the event */
+        NORMAL_SCOPED,
+
+        /** the owner bean is &#064;Dependent (or of an unknown scope), the method only takes the event */
+        DEPENDENT,
+
+        /** the method has further parameters which need to get injected */
+        INJECTED_PARAMETERS
+    }
     
     private static class ObserverParams
     {
@@ -204,6 +235,28 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         {
             ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
         }
+
+        staticObserver = Modifier.isStatic(view.getModifiers());
+        privateObserver = Modifier.isPrivate(view.getModifiers());
+        invoker = MethodHandleInvoker.create(view);
+        invocationStrategy = getInvocationStrategy();
+    }
+
+    private InvocationStrategy getInvocationStrategy()
+    {
+        if (!injectionPoints.isEmpty() || annotatedObservesParameter.getPosition() != 0)
+        {
+            return InvocationStrategy.INJECTED_PARAMETERS;
+        }
+        if (staticObserver)
+        {
+            return InvocationStrategy.STATIC;
+        }
+        if (getWebBeansContext().getBeanManagerImpl().isNormalScope(ownerBean.getScope()))
+        {
+            return InvocationStrategy.NORMAL_SCOPED;
+        }
+        return InvocationStrategy.DEPENDENT;
     }
 
     protected void checkObserverCondition(AnnotatedParameter<T> annotatedObservesParameter)
@@ -262,12 +315,125 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         T event = eventContext.getEvent();
         EventMetadata metadata = eventContext.getMetadata();
 
-        AbstractOwbBean<Object> component = (AbstractOwbBean<Object>) ownerBean;
         if (!ownerBean.isEnabled())
         {
             return;
         }
 
+        switch (invocationStrategy)
+        {
+            case STATIC:
+                notifyStatic(event);
+                break;
+            case NORMAL_SCOPED:
+                notifyNormalScoped(event, metadata);
+                break;
+            default:
+                notifyWithCreationalContext(event, metadata);
+        }
+    }
+
+    /**
+     * Invokes a static observer method which only takes the event.
+     */
+    private void notifyStatic(T event)
+    {
+        try
+        {
+            invoke(null, new Object[]{event});
+        }
+        catch (InvocationTargetException ite)
+        {
+            throw new WebBeansException(ite.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new WebBeansException(e);
+        }
+    }
+
+    /**
+     * Invokes an observer method which only takes the event on a normal scoped bean.
+     * A CreationalContext only gets created if the contextual instance doesn't exist yet.
+     */
+    @SuppressWarnings("unchecked")
+    private void notifyNormalScoped(T event, EventMetadata metadata)
+    {
+        AbstractOwbBean<Object> component = (AbstractOwbBean<Object>) ownerBean;
+        BeanManagerImpl manager = ownerBean.getWebBeansContext().getBeanManagerImpl();
+
+        Context context;
+        try
+        {
+            context = manager.getContext(component.getScope());
+        }
+        catch (ContextNotActiveException cnae)
+        {
+            if (!ifExist)
+            {
+                logger.log(Level.INFO, OWBLogConst.INFO_0010, ownerBean);
+            }
+            return;
+        }
+
+        CreationalContextImpl<Object> creationalContext = null;
+        try
+        {
+            Object object = context.get(component);
+            if (object == null)
+            {
+                if (ifExist)
+                {
+                    return;
+                }
+
+                creationalContext = manager.createCreationalContext(component);
+                if (metadata != null)
+                {
+                    creationalContext.putInjectionPoint(metadata.getInjectionPoint());
+                    creationalContext.putEventMetadata(metadata);
+                }
+                object = getContextualInstance(component, context, manager, creationalContext);
+            }
+
+            if (object != null)
+            {
+                if (privateObserver && object instanceof OwbNormalScopeProxy)
+                {
+                    // since private methods cannot be intercepted, we have to unwrap any possible proxy
+                    object = getWebBeansContext().getInterceptorDecoratorProxyFactory().unwrapInstance(object);
+                }
+
+                invoke(object, new Object[]{event});
+            }
+        }
+        catch (InvocationTargetException ite)
+        {
+            throw new WebBeansException(ite.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new WebBeansException(e);
+        }
+        finally
+        {
+            if (creationalContext != null && metadata != null)
+            {
+                creationalContext.removeEventMetadata();
+                creationalContext.removeInjectionPoint();
+            }
+        }
+    }
+
+    /**
+     * The generic way to invoke an observer method.
+     * Used for &#064;Dependent owner beans and observer methods with further injected parameters.
+     */
+    @SuppressWarnings("unchecked")
+    private void notifyWithCreationalContext(T event, EventMetadata metadata)
+    {
+        AbstractOwbBean<Object> component = (AbstractOwbBean<Object>) ownerBean;
+
         Object object = null;
         
         List<ObserverParams> methodArgsMap = getMethodArguments(event, metadata);
@@ -301,7 +467,7 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             }
 
             //Static or not
-            if (Modifier.isStatic(view.getModifiers()))
+            if (staticObserver)
             {
                 //Invoke Method
                 view.invoke(null, args);
@@ -335,28 +501,12 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
                 if (object == null)
                 {
-                    object = context.get(component, creationalContext);
-                }
-
-                if (object == null)
-                {
-                    // this might happen for EJB components.
-                    Type t = component.getBeanClass();
-
-                    // If the bean is an EJB, its beanClass may not be one of
-                    // its types. Instead pick a local interface
-                    if (component.getWebBeansType() == WebBeansType.ENTERPRISE)
-                    {
-                        t = (Type) component.getTypes().toArray()[0];
-                    }
-
-                    object = manager.getReference(component, t, creationalContext);
-
+                    object = getContextualInstance(component, context, manager, creationalContext);
                 }
 
                 if (object != null)
                 {
-                    if (Modifier.isPrivate(view.getModifiers()))
+                    if (privateObserver)
                     {
                         // since private methods cannot be intercepted, we have to unwrap any possible proxy
                         if (object instanceof OwbNormalScopeProxy)
@@ -403,9 +553,38 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     }
 
+    private Object getContextualInstance(AbstractOwbBean<Object> component, Context context, BeanManagerImpl manager,
+                                         CreationalContextImpl<Object> creationalContext)
+    {
+        Object object = context.get(component, creationalContext);
+        if (object == null)
+        {
+            // this might happen for EJB components.
+            Type t = component.getBeanClass();
+
+            // If the bean is an EJB, its beanClass may not be one of
+            // its types. Instead pick a local interface
+            if (component.getWebBeansType() == WebBeansType.ENTERPRISE)
+            {
+                t = (Type) component.getTypes().toArray()[0];
+            }
+
+            object = manager.getReference(component, t, creationalContext);
+        }
+        return object;
+    }
+
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        if (invoker == null)
+        {
+            // we fall back to reflection
+            view.invoke(object, args);
+        }
+        else
+        {
+            invoker.invoke(object, args);
+        }
     }
 
     /**
@@ -56,13 +56,15 @@ public abstract class AbstractInjectable<T>
     
     protected final CreationalContextImpl<?> creationalContext;
     
+    /**
+     * CreationalContext for &#064;TransientReference parameters, only gets created if such a parameter gets injected
+     */
     protected CreationalContextImpl<?> transientCreationalContext;
 
     protected AbstractInjectable(Producer<?> owner, CreationalContextImpl<?> creationalContext)
     {
         this.owner = owner;
         this.creationalContext = creationalContext;
-        this.transientCreationalContext = creationalContext.getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
     }
 
     /**
@@ -89,7 +91,7 @@ public abstract class AbstractInjectable<T>
         CreationalContext<?> injectionPointContext;
         if (injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class))
         {
-            injectionPointContext = transientCreationalContext;
+            injectionPointContext = getTransientCreationalContext();
         }
         else
         {
@@ -125,6 +127,26 @@ public abstract class AbstractInjectable<T>
         return injected;
     }
     
+    protected CreationalContextImpl<?> getTransientCreationalContext()
+    {
+        if (transientCreationalContext == null)
+        {
+            transientCreationalContext = getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
+        }
+        return transientCreationalContext;
+    }
+
+    /**
+     * Destroys the dependent instances of all injected &#064;TransientReference parameters.
+     */
+    protected void releaseTransientCreationalContext()
+    {
+        if (transientCreationalContext != null)
+        {
+            transientCreationalContext.release();
+        }
+    }
+
     protected Contextual<?> getBean()
     {
         return creationalContext.getBean();
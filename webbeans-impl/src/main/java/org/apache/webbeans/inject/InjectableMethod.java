@@ -60,6 +60,9 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
 
     private Set<InjectionPoint> injectionPoints;
 
+    /** the precomputed invocation, if any */
+    private MethodInjectionPlan plan;
+
     public InjectableMethod(Method m, Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext)
     {
         this(m, instance, owner, creationalContext, new HashSet<>(createInjectionPoints(owner, m)));
@@ -79,6 +82,17 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
         injectionPoints = ips;
     }
 
+    /**
+     * Constructs a new instance which invokes the method according to the given plan.
+     */
+    public InjectableMethod(MethodInjectionPlan plan, Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext)
+    {
+        super(owner, creationalContext);
+        this.plan = plan;
+        method = plan.getMethod();
+        ownerInstance = instance;
+    }
+
     /*
      * (non-Javadoc)
      * @see org.apache.webbeans.inject.Injectable#doInjection()
@@ -91,6 +105,11 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
             owner = NormalScopeProxyFactory.unwrapInstance(owner);
         }
 
+        if (plan != null)
+        {
+            return doPlannedInjection(owner);
+        }
+
         List<Object> list = new ArrayList<>();
                 
         
@@ -161,7 +180,55 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
         }
         finally
         {
-            transientCreationalContext.release();
+            releaseTransientCreationalContext();
+        }
+    }
+
+    private T doPlannedInjection(Object owner)
+    {
+        try
+        {
+            Object[] args = new Object[plan.getParameterCount()];
+            for (int i = 0; i < args.length; i++)
+            {
+                InjectionPoint point = plan.getInjectionPoint(i);
+                MethodInjectionPlan.ParameterKind kind = plan.getParameterKind(i);
+                if (kind == MethodInjectionPlan.ParameterKind.DELEGATE)
+                {
+                    args[i] = creationalContext.getDelegate();
+                }
+                else if (kind == MethodInjectionPlan.ParameterKind.DISPOSED && isDisposable())
+                {
+                    args[i] = producerMethodInstance;
+                }
+                else if (kind == MethodInjectionPlan.ParameterKind.INJECTION_POINT && getBean() instanceof ProducerMethodBean)
+                {
+                    args[i] = getWebBeansContext().getBeanManagerImpl().getInjectableReference(point, creationalContext);
+                }
+                else if (point != null)
+                {
+                    Object instance = inject(point);
+                    Bean<?> injectedBean = getWebBeansContext().getBeanManagerImpl().getInjectionResolver().getInjectionPointBean(point);
+                    if (injectedBean.getScope() == Dependent.class)
+                    {
+                        dependentParameters.put(injectedBean, instance);
+                    }
+                    args[i] = instance;
+                }
+            }
+
+            try
+            {
+                return (T) plan.invoke(owner, args);
+            }
+            catch (Exception e)
+            {
+                throw new WebBeansException(e);
+            }
+        }
+        finally
+        {
+            releaseTransientCreationalContext();
         }
     }
 
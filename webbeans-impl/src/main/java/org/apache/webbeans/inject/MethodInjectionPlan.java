@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.util.MethodHandleInvoker;
+
+/**
+ * The precomputed invocation of a producer or disposer method.
+ *
+ * It gets created once per method and holds the injection point of each parameter
+ * by position, what kind of value has to get passed for it and a
+ * {@link MethodHandleInvoker} to call the method.
+ * {@link InjectableMethod} thus doesn't need to match the parameters against the
+ * injection points nor inspect their annotations on each invocation.
+ */
+public final class MethodInjectionPlan
+{
+    enum ParameterKind
+    {
+        /** a regular injected reference */
+        REFERENCE,
+
+        /** the decorator delegate */
+        DELEGATE,
+
+        /** the InjectionPoint of a producer method, only if the owner is a ProducerMethodBean */
+        INJECTION_POINT,
+
+        /** the &#064;Disposes parameter of a disposer method */
+        DISPOSED
+    }
+
+    private final Method method;
+
+    private final boolean staticMethod;
+
+    private final InjectionPoint[] injectionPoints;
+
+    private final ParameterKind[] parameterKinds;
+
+    /**
+     * {@code null} if the method could not get unreflected
+     */
+    private final MethodHandleInvoker invoker;
+
+    /**
+     * @param method the producer or disposer method
+     * @param injectionPoints the injection points of the method parameters
+     * @param disposer whether the &#064;Disposes parameter gets passed instead of being injected
+     */
+    public MethodInjectionPlan(WebBeansContext webBeansContext, Method method, Collection<InjectionPoint> injectionPoints, boolean disposer)
+    {
+        this.method = method;
+        staticMethod = Modifier.isStatic(method.getModifiers());
+
+        int parameterCount = method.getParameterCount();
+        this.injectionPoints = new InjectionPoint[parameterCount];
+        parameterKinds = new ParameterKind[parameterCount];
+        for (InjectionPoint injectionPoint : injectionPoints)
+        {
+            AnnotatedParameter<?> parameter = (AnnotatedParameter<?>) injectionPoint.getAnnotated();
+            int position = parameter.getPosition();
+            this.injectionPoints[position] = injectionPoint;
+            if (injectionPoint.isDelegate())
+            {
+                parameterKinds[position] = ParameterKind.DELEGATE;
+            }
+            else if (disposer && parameter.isAnnotationPresent(Disposes.class))
+            {
+                parameterKinds[position] = ParameterKind.DISPOSED;
+            }
+            else if (!disposer && InjectionPoint.class.equals(parameter.getBaseType()))
+            {
+                parameterKinds[position] = ParameterKind.INJECTION_POINT;
+            }
+            else
+            {
+                parameterKinds[position] = ParameterKind.REFERENCE;
+            }
+        }
+        if (disposer)
+        {
+            // the disposed parameter is not necessarily an injection point
+            for (int i = 0; i < parameterCount; i++)
+            {
+                if (parameterKinds[i] == null && method.getParameters()[i].isAnnotationPresent(Disposes.class))
+                {
+                    parameterKinds[i] = ParameterKind.DISPOSED;
+                }
+            }
+        }
+
+        if (!method.isAccessible())
+        {
+            webBeansContext.getSecurityService().doPrivilegedSetAccessible(method, true);
+        }
+        invoker = MethodHandleInvoker.create(method);
+    }
+
+    /**
+     * Invokes the method with the same contract as {@link Method#invoke(Object, Object...)}.
+     */
+    Object invoke(Object instance, Object[] args) throws IllegalAccessException, InvocationTargetException
+    {
+        if (invoker == null)
+        {
+            // we fall back to reflection
+            return method.invoke(instance, args);
+        }
+        return invoker.invoke(instance, args);
+    }
+
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    public boolean isStatic()
+    {
+        return staticMethod;
+    }
+
+    int getParameterCount()
+    {
+        return parameterKinds.length;
+    }
+
+    InjectionPoint getInjectionPoint(int position)
+    {
+        return injectionPoints[position];
+    }
+
+    ParameterKind getParameterKind(int position)
+    {
+        return parameterKinds[position];
+    }
+}
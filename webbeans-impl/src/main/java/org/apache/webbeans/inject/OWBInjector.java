@@ -21,6 +21,10 @@ package org.apache.webbeans.inject;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectableBeanManager;
 
 /**
  * Injects dependencies of the given Java EE component
@@ -52,9 +56,26 @@ public final class OWBInjector
             creationalContext = beanManager.createCreationalContext(null);
         }
 
+        BeanManagerImpl beanManagerImpl = null;
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            beanManagerImpl = (BeanManagerImpl) beanManager;
+        }
+        else if (beanManager instanceof InjectableBeanManager)
+        {
+            beanManagerImpl = ((InjectableBeanManager) beanManager).getBeanManagerImpl();
+        }
+
+        if (beanManagerImpl != null)
+        {
+            // reuses the InjectionTarget of previously injected instances of the same class
+            InjectionTarget injectionTarget = beanManagerImpl.getNonContextualInjectionTarget(instanceUnderInjection.getClass());
+            injectionTarget.inject(instanceUnderInjection, creationalContext);
+            return;
+        }
+
         AnnotatedType annotatedType = beanManager.createAnnotatedType(instanceUnderInjection.getClass());
         beanManager.createInjectionTarget(annotatedType).inject(instanceUnderInjection, creationalContext);
     }
 
-
 }
@@ -73,6 +73,11 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
     
     private boolean delegate;
 
+    /**
+     * The bean this injection point got resolved to, see {@link #getResolvedBean(int)}
+     */
+    private transient volatile ResolvedBean resolvedBean;
+
     InjectionPointImpl(Bean<?> ownerBean, Collection<Annotation> qualifiers, AnnotatedField<?> annotatedField)
     {
         this(ownerBean, annotatedField.getBaseType(), qualifiers, annotatedField,
@@ -171,6 +176,27 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
     {
         return transientt;
     }
+
+    /**
+     * @param generation the current {@link org.apache.webbeans.container.InjectionResolver#getBindingGeneration() binding generation}
+     * @return the bean this injection point got bound to or {@code null} if it is not bound
+     *         or the binding got invalidated in the meantime
+     */
+    public Bean<?> getResolvedBean(int generation)
+    {
+        ResolvedBean resolved = resolvedBean;
+        return resolved != null && resolved.generation == generation ? resolved.bean : null;
+    }
+
+    /**
+     * Bind the bean this injection point resolves to.
+     *
+     * @param generation the binding generation read <em>before</em> the bean got resolved
+     */
+    public void setResolvedBean(Bean<?> bean, int generation)
+    {
+        resolvedBean = new ResolvedBean(bean, generation);
+    }
     
     private void writeObject(java.io.ObjectOutputStream op) throws IOException
     {
@@ -356,4 +382,16 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         
         return buffer.toString();
     }
+
+    private static final class ResolvedBean
+    {
+        private final Bean<?> bean;
+        private final int generation;
+
+        private ResolvedBean(Bean<?> bean, int generation)
+        {
+            this.bean = bean;
+            this.generation = generation;
+        }
+    }
 }
@@ -42,12 +42,14 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.TypeLiteral;
 import javax.inject.Provider;
 
+import org.apache.webbeans.annotation.CanonicalQualifier;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.InjectionExceptionUtil;
 import org.apache.webbeans.util.OwbCustomObjectInputStream;
@@ -73,6 +75,11 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     /** Qualifier annotations appeared on the injection point */
     private Set<Annotation> qualifierAnnotations = new HashSet<>();
 
+    /**
+     * the interned {@link #qualifierAnnotations}, lazily computed on the first resolution
+     */
+    private transient volatile CanonicalQualifier[] canonicalQualifiers;
+
     private WebBeansContext webBeansContext;
 
     private Map<Object, CreationalContextImpl<?>> creationalContexts;
@@ -114,6 +121,11 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        MetricsService metrics = webBeansContext.getMetricsService();
+        if (metrics.isEnabled())
+        {
+            metrics.increment(MetricsService.INSTANCE_GET);
+        }
 
         Set<Bean<?>> beans = resolveBeans();
 
@@ -148,7 +160,13 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         {
             injectionPointClass = injectionPointBean.getBeanClass();
         }
-        Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, anns);
+        CanonicalQualifier[] canonical = canonicalQualifiers;
+        if (canonical == null)
+        {
+            canonical = webBeansContext.getAnnotationManager().getCanonicalQualifiers(anns);
+            canonicalQualifiers = canonical;
+        }
+        Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, canonical, anns);
         return injectionResolver.resolveAll(beans);
     }
     
@@ -281,7 +299,11 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             {
                 throw new IllegalArgumentException("instance " + instance + " not produced with this Instance<?>");
             }
-            creationalContext.destroyDependent(instance);
+            if (!creationalContext.destroyDependent(instance))
+            {
+                // the instance itself did not need to get tracked, but its dependents still need to get destroyed
+                creationalContext.release();
+            }
         }
     }
 
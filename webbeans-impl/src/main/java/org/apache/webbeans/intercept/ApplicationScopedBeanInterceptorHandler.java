@@ -30,9 +30,9 @@ import javax.enterprise.inject.spi.BeanManager;
  * we can simply cache this instance inside our bean. We only need to reload this instance
  * if it is null. This happens at the first usage and after the MethodHandler got deserialized</p>
  *
- * <p>Also if the application uses the {@link javax.enterprise.context.spi.AlterableContext#destroy(javax.enterprise.context.spi.Contextual)}
- * method on any ApplicationScoped bean, then the standard NormalScopedBeanInterceptorHandler must be configured to prevent any caching.
- * Be careful as this might slow down your application!</p>
+ * <p>If the application uses the {@link javax.enterprise.context.spi.AlterableContext#destroy(javax.enterprise.context.spi.Contextual)}
+ * method on any ApplicationScoped bean, then the generation of the application scoped {@link ContextualInstanceCache}
+ * gets bumped and all cached instances get reloaded on their next invocation.</p>
  */
 public class ApplicationScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
@@ -46,12 +46,15 @@ public class ApplicationScopedBeanInterceptorHandler extends NormalScopedBeanInt
      * contextual instances because they could be injected into EJBs or other
      * shared instances which span over multiple web-apps.
      */
-    private transient Object cachedInstance;
+    private transient volatile CachedInstance cachedInstance;
+
+    private final transient ContextualInstanceCache cache;
 
 
     public ApplicationScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         super(beanManager, bean);
+        cache = ContextualInstanceCaches.of(beanManager).forScope(bean.getScope(), false);
     }
 
     /**
@@ -60,12 +63,28 @@ public class ApplicationScopedBeanInterceptorHandler extends NormalScopedBeanInt
     @Override
     protected Object getContextualInstance()
     {
-        if (cachedInstance == null) 
+        long generation = cache.getGeneration();
+        CachedInstance cached = cachedInstance;
+        if (cached != null && cached.generation == generation)
+        {
+            return cached.instance;
+        }
+
+        Object instance = super.getContextualInstance();
+        cachedInstance = new CachedInstance(instance, generation);
+        return instance;
+    }
+
+    private static final class CachedInstance
+    {
+        private final Object instance;
+        private final long generation;
+
+        private CachedInstance(Object instance, long generation)
         {
-            cachedInstance = super.getContextualInstance();
+            this.instance = instance;
+            this.generation = generation;
         }
-        
-        return cachedInstance;
     }
 
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+
+/**
+ * <p>Per scope cache of contextual instances used by the caching
+ * {@link NormalScopedBeanInterceptorHandler}s.
+ * Each application has its own caches, see {@link ContextualInstanceCaches}.</p>
+ *
+ * <p>Each thread keeps an array of contextual instances indexed by the
+ * {@link org.apache.webbeans.component.AbstractOwbBean#getContextSlot() context slot} of the bean.
+ * A lookup is thus an array access plus an identity check of the bean and doesn't
+ * allocate anything.</p>
+ *
+ * <p>Invalidation:
+ * <ul>
+ *     <li>{@link #clearThread()} drops all instances cached by the current thread,
+ *     e.g. at the end of a request.</li>
+ *     <li>Destroying a single contextual instance via its context always clears the slot
+ *     of the current thread. For scopes which are <em>not</em> thread bound (e.g. &#064;SessionScoped,
+ *     where multiple requests share the same context) the generation of the cache gets bumped as well.
+ *     Other threads will notice the new generation on their next lookup and drop their cached instances.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>A scope is <em>thread bound</em> if a context instance is only ever active on a single thread
+ * and ends before or together with the request, like &#064;RequestScoped.</p>
+ */
+public final class ContextualInstanceCache
+{
+    private static final AtomicLongFieldUpdater<ContextualInstanceCache> GENERATION_UPDATER
+            = AtomicLongFieldUpdater.newUpdater(ContextualInstanceCache.class, "generation");
+
+    private static final int INITIAL_SIZE = 16;
+
+    private final boolean threadBound;
+
+    private final ThreadLocal<Entries> entries = new ThreadLocal<>();
+
+    private volatile long generation;
+
+    ContextualInstanceCache(boolean threadBound)
+    {
+        this.threadBound = threadBound;
+    }
+
+    /**
+     * @return the cached instance or {@code null} if the current thread has none for the given bean
+     */
+    public Object get(int slot, Bean<?> bean)
+    {
+        Entries threadEntries = entries.get();
+        if (threadEntries == null)
+        {
+            return null;
+        }
+        if (threadEntries.generation != generation)
+        {
+            threadEntries.reset(generation);
+            return null;
+        }
+        if (slot >= threadEntries.beans.length || threadEntries.beans[slot] != bean)
+        {
+            // nothing cached for this bean
+            return null;
+        }
+        return threadEntries.instances[slot];
+    }
+
+    /**
+     * Remember the given instance for the current thread.
+     *
+     * @param generation the {@link #getGeneration() generation} read <em>before</em> the instance got resolved
+     */
+    public void put(int slot, Bean<?> bean, Object instance, long generation)
+    {
+        if (generation != this.generation)
+        {
+            // the instance might already be stale
+            return;
+        }
+
+        Entries threadEntries = entries.get();
+        if (threadEntries == null)
+        {
+            threadEntries = new Entries(Math.max(slot + 1, INITIAL_SIZE), generation);
+            entries.set(threadEntries);
+        }
+        else if (threadEntries.generation != generation)
+        {
+            threadEntries.reset(generation);
+        }
+
+        threadEntries.put(slot, bean, instance);
+    }
+
+    /**
+     * Invalidate the cached instance of the given contextual.
+     */
+    public void invalidate(Contextual<?> contextual)
+    {
+        if (!threadBound)
+        {
+            GENERATION_UPDATER.incrementAndGet(this);
+        }
+
+        Entries threadEntries = entries.get();
+        if (threadEntries != null)
+        {
+            threadEntries.remove(contextual);
+        }
+    }
+
+    /**
+     * Drop all instances cached by the current thread.
+     */
+    public void clearThread()
+    {
+        entries.remove();
+    }
+
+    public long getGeneration()
+    {
+        return generation;
+    }
+
+    public boolean isThreadBound()
+    {
+        return threadBound;
+    }
+
+    private static final class Entries
+    {
+        private long generation;
+        private Bean<?>[] beans;
+        private Object[] instances;
+
+        private Entries(int size, long generation)
+        {
+            this.generation = generation;
+            beans = new Bean<?>[size];
+            instances = new Object[size];
+        }
+
+        private void put(int slot, Bean<?> bean, Object instance)
+        {
+            if (slot >= beans.length)
+            {
+                int newSize = Math.max(slot + 1, beans.length * 2);
+                beans = Arrays.copyOf(beans, newSize);
+                instances = Arrays.copyOf(instances, newSize);
+            }
+            beans[slot] = bean;
+            instances[slot] = instance;
+        }
+
+        private void remove(Contextual<?> contextual)
+        {
+            int slot = contextual instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) contextual).getContextSlot() : -1;
+            if (slot >= 0)
+            {
+                if (slot < beans.length && beans[slot] == contextual)
+                {
+                    beans[slot] = null;
+                    instances[slot] = null;
+                }
+                return;
+            }
+
+            for (int i = 0; i < beans.length; i++)
+            {
+                if (beans[i] == contextual)
+                {
+                    beans[i] = null;
+                    instances[i] = null;
+                    return;
+                }
+            }
+        }
+
+        private void reset(long newGeneration)
+        {
+            Arrays.fill(beans, null);
+            Arrays.fill(instances, null);
+            generation = newGeneration;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+
+/**
+ * The {@link ContextualInstanceCache}s of a single application, one per normal scope.
+ *
+ * Owned by the {@link org.apache.webbeans.container.BeanManagerImpl}, so the cached instances
+ * and invalidations of an application never affect the proxies of another one.
+ */
+public final class ContextualInstanceCaches
+{
+    private final ConcurrentMap<Class<? extends Annotation>, ContextualInstanceCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @return the caches of the application the given BeanManager belongs to
+     */
+    static ContextualInstanceCaches of(BeanManager beanManager)
+    {
+        BeanManagerImpl beanManagerImpl = beanManager instanceof BeanManagerImpl
+                ? (BeanManagerImpl) beanManager
+                : WebBeansContext.getInstance().getBeanManagerImpl();
+        return beanManagerImpl.getContextualInstanceCaches();
+    }
+
+    /**
+     * @param scope the normal scope annotation
+     * @param threadBound whether contexts of this scope are only ever used by a single thread.
+     *                    Only taken into account when the cache for this scope gets created.
+     * @return the cache for the given scope
+     */
+    public ContextualInstanceCache forScope(Class<? extends Annotation> scope, boolean threadBound)
+    {
+        ContextualInstanceCache cache = caches.get(scope);
+        if (cache == null)
+        {
+            cache = new ContextualInstanceCache(threadBound);
+            ContextualInstanceCache existing = caches.putIfAbsent(scope, cache);
+            if (existing != null)
+            {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Invalidate the cached contextual instance of the given bean, e.g. because it got destroyed.
+     * This is a no-op if no proxy of the given scope ever used a cache.
+     */
+    public void invalidate(Class<? extends Annotation> scope, Contextual<?> contextual)
+    {
+        ContextualInstanceCache cache = caches.get(scope);
+        if (cache != null)
+        {
+            cache.invalidate(contextual);
+        }
+    }
+
+    /**
+     * Drop the instances of the given scope cached by the current thread.
+     */
+    public void clearThread(Class<? extends Annotation> scope)
+    {
+        ContextualInstanceCache cache = caches.get(scope);
+        if (cache != null)
+        {
+            cache.clearThread();
+        }
+    }
+
+    /**
+     * Drop the instances of all thread bound scopes cached by the current thread.
+     * Must get invoked when a request ends.
+     */
+    public void clearThreadBoundCaches()
+    {
+        for (ContextualInstanceCache cache : caches.values())
+        {
+            if (cache.isThreadBound())
+            {
+                cache.clearThread();
+            }
+        }
+    }
+}
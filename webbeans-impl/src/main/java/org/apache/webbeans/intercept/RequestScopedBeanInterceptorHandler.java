@@ -20,7 +20,8 @@ package org.apache.webbeans.intercept;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.config.WebBeansContext;
 
 
 /**
@@ -28,24 +29,23 @@ import java.util.HashMap;
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
  * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * we can simply cache this instance per thread. The instances are kept in a {@link ContextualInstanceCache}
+ * indexed by the context slot of the bean. We only need to reload an instance
+ * if it got destroyed or if the request ends.</p>
  */
-public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+public class RequestScopedBeanInterceptorHandler extends ThreadBoundScopedBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
+
     /**
-     * Cached bean instance for each thread
+     * Drop the instances of the given application cached for the current thread.
+     * This also clears the caches of all other thread bound scopes.
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
-    public static void removeThreadLocals()
+    public static void removeThreadLocals(WebBeansContext webBeansContext)
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        webBeansContext.getBeanManagerImpl().getContextualInstanceCaches().clearThreadBoundCaches();
     }
 
     /**
@@ -55,29 +55,4 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     {
         super(beanManager, bean);
     }
-    
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Object getContextualInstance()
-    {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
-    }
-
 }
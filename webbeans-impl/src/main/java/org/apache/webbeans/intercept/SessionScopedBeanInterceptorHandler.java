@@ -18,34 +18,35 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.config.WebBeansContext;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;SessionScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;SessionScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>The contextual instance of an &#064;SessionScoped bean gets cached per thread
+ * in a {@link ContextualInstanceCache} indexed by the context slot of the bean.
+ * We only need to reload an instance if the request ends or if any
+ * &#064;SessionScoped bean got destroyed, as other requests of the same session might
+ * run in parallel.</p>
  */
-public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+public class SessionScopedBeanInterceptorHandler extends ThreadBoundScopedBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
+
     /**
-     * Cached bean instance for each thread
+     * Drop the instances of the given application cached for the current thread.
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
-    public static void removeThreadLocals()
+    public static void removeThreadLocals(WebBeansContext webBeansContext)
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        webBeansContext.getBeanManagerImpl().getContextualInstanceCaches().clearThread(SessionScoped.class);
     }
 
     /**
@@ -53,31 +54,6 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
      */
     public SessionScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
-        super(beanManager, bean);
-    }
-    
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Object getContextualInstance()
-    {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
+        super(beanManager, bean, ContextualInstanceCaches.of(beanManager).forScope(bean.getScope(), false));
     }
-
 }
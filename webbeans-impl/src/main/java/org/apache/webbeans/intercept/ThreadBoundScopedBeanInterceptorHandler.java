@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+
+
+/**
+ * <p>A {@link NormalScopedBeanInterceptorHandler} which caches the contextual instance
+ * per thread in a {@link ContextualInstanceCache}.</p>
+ *
+ * <p>This handler can be used for custom scopes (and &#064;ConversationScoped) whose
+ * contexts are only active on a single thread and end at the latest together with the request:
+ * <pre>
+ * org.apache.webbeans.proxy.mapping.javax.enterprise.context.ConversationScoped=org.apache.webbeans.intercept.ThreadBoundScopedBeanInterceptorHandler
+ * </pre>
+ * The cached instances get dropped when the request ends
+ * (see {@link RequestScopedBeanInterceptorHandler#removeThreadLocals(org.apache.webbeans.config.WebBeansContext)}) or when
+ * the bean gets destroyed via its context.</p>
+ *
+ * <p>Only beans which got a context slot assigned during deployment are cached.
+ * All other beans get resolved via the context on each invocation.</p>
+ */
+public class ThreadBoundScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+{
+    /**default serial id*/
+    private static final long serialVersionUID = 1L;
+
+    private final transient ContextualInstanceCache cache;
+
+    private final transient int slot;
+
+
+    public ThreadBoundScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
+    {
+        this(beanManager, bean, ContextualInstanceCaches.of(beanManager).forScope(bean.getScope(), true));
+    }
+
+    protected ThreadBoundScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean, ContextualInstanceCache cache)
+    {
+        super(beanManager, bean);
+        this.cache = cache;
+        slot = bean instanceof AbstractOwbBean ? ((AbstractOwbBean<?>) bean).getContextSlot() : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getContextualInstance()
+    {
+        if (slot < 0)
+        {
+            return super.getContextualInstance();
+        }
+
+        Object cachedInstance = cache.get(slot, bean);
+        if (cachedInstance == null)
+        {
+            long generation = cache.getGeneration();
+            cachedInstance = super.getContextualInstance();
+            cache.put(slot, bean, cachedInstance, generation);
+        }
+
+        return cachedInstance;
+    }
+}
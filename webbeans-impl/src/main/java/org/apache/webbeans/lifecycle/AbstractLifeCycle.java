@@ -26,6 +26,7 @@ import java.util.logging.Logger;
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.apache.webbeans.config.BeansDeployer;
+import org.apache.webbeans.config.BootReport;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
@@ -124,17 +125,40 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         //Initialize contexts
         contextsService.init(startupObject);
         
+        BootReport bootReport = null;
+        if (webBeansContext.getOpenWebBeansConfiguration().isBootReportEnabled() || webBeansContext.getMetricsService().isEnabled())
+        {
+            bootReport = new BootReport();
+            webBeansContext.setBootReport(bootReport);
+        }
+
         //Scanning process
         logger.fine("Scanning classpaths for beans artifacts.");
 
         //Scan
         scannerService.scan();
+        if (bootReport != null)
+        {
+            bootReport.endPhase("scanning");
+        }
         
         //Deploy beans
         logger.fine("Deploying scanned beans.");
 
         //Deploy
-        deployer.deploy(scannerService);
+        try
+        {
+            deployer.deploy(scannerService);
+        }
+        finally
+        {
+            webBeansContext.setBootReport(null);
+        }
+
+        if (bootReport != null)
+        {
+            bootReport.publish(webBeansContext);
+        }
 
         //Start actual starting on sub-classes
         afterStartApplication(startupObject);
@@ -0,0 +1,541 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.lifecycle.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.inject.spi.Extension;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.xbean.asm8.AnnotationVisitor;
+import org.apache.xbean.asm8.ClassWriter;
+import org.apache.xbean.asm8.FieldVisitor;
+import org.apache.xbean.asm8.MethodVisitor;
+import org.apache.xbean.asm8.Opcodes;
+
+/**
+ * Generates a synthetic bean archive in memory, e.g. to measure how the container
+ * scales with the size of a deployment.
+ *
+ * The generated classes get defined in their own ClassLoader and are:
+ * <ul>
+ *     <li>{@code managedBeans} beans {@code Bean<i>} which alternate between &#064;ApplicationScoped,
+ *     &#064;RequestScoped and &#064;Dependent. Each of them implements {@code SyntheticService} and
+ *     injects its predecessor. If qualifiers are configured, each bean gets one of them.
+ *     Every 4th bean is bound to one of the interceptors.</li>
+ *     <li>{@code qualifiers} qualifier annotations {@code Qualifier<i>}.</li>
+ *     <li>{@code producers} beans {@code Producer<i>} with a producer method for the vetoed type {@code Product<i>}.
+ *     The products get injected into the managed beans.</li>
+ *     <li>{@code genericTypes} beans {@code Repository<i>} implementing {@code GenericRepository<Entity<i>>}.
+ *     The repositories get injected into the managed beans via their parameterized type.</li>
+ *     <li>{@code interceptors} interceptors with their own interceptor binding, enabled via &#064;Priority.</li>
+ *     <li>{@code decorators} decorators for {@code SyntheticService}, enabled via &#064;Priority.
+ *     They decorate every managed bean.</li>
+ *     <li>{@code observers} beans {@code Observer<i>} observing the vetoed {@code SyntheticEvent}.</li>
+ *     <li>{@code extensions} extensions observing ProcessAnnotatedType. Those are no bean classes,
+ *     see {@link #getExtensions()}.</li>
+ * </ul>
+ *
+ * Use the {@link SyntheticDeploymentScannerService} to deploy them.
+ */
+public class SyntheticDeployment
+{
+    private static final String OBJECT = "java/lang/Object";
+
+    private String packageName = "org.apache.webbeans.synthetic";
+
+    private int managedBeans;
+    private int producers;
+    private int qualifiers;
+    private int genericTypes;
+    private int interceptors;
+    private int decorators;
+    private int observers;
+    private int extensions;
+
+    private ClassLoader parentClassLoader;
+
+    private SyntheticClassLoader classLoader;
+    private List<Class<?>> beanClasses;
+    private List<Class<? extends Extension>> extensionClasses;
+
+    public SyntheticDeployment managedBeans(int count)
+    {
+        managedBeans = count;
+        return this;
+    }
+
+    public SyntheticDeployment producers(int count)
+    {
+        producers = count;
+        return this;
+    }
+
+    public SyntheticDeployment qualifiers(int count)
+    {
+        qualifiers = count;
+        return this;
+    }
+
+    public SyntheticDeployment genericTypes(int count)
+    {
+        genericTypes = count;
+        return this;
+    }
+
+    public SyntheticDeployment interceptors(int count)
+    {
+        interceptors = count;
+        return this;
+    }
+
+    public SyntheticDeployment decorators(int count)
+    {
+        decorators = count;
+        return this;
+    }
+
+    public SyntheticDeployment observers(int count)
+    {
+        observers = count;
+        return this;
+    }
+
+    public SyntheticDeployment extensions(int count)
+    {
+        extensions = count;
+        return this;
+    }
+
+    public SyntheticDeployment packageName(String packageName)
+    {
+        this.packageName = packageName;
+        return this;
+    }
+
+    /**
+     * @param parentClassLoader the parent of the ClassLoader for the generated classes.
+     *                          Must be able to load the CDI API and OpenWebBeans.
+     *                          Defaults to the ClassLoader of this class.
+     */
+    public SyntheticDeployment parentClassLoader(ClassLoader parentClassLoader)
+    {
+        this.parentClassLoader = parentClassLoader;
+        return this;
+    }
+
+    /**
+     * @return all generated classes which are part of the bean archive. The classes get generated on the first invocation.
+     */
+    public synchronized List<Class<?>> getBeanClasses()
+    {
+        if (beanClasses == null)
+        {
+            generate();
+        }
+        return beanClasses;
+    }
+
+    /**
+     * @param simpleName the simple name of a generated class, e.g. {@code Bean0} or {@code SyntheticService}
+     * @return the generated class
+     */
+    public Class<?> getGeneratedClass(String simpleName)
+    {
+        getBeanClasses();
+        try
+        {
+            return classLoader.loadClass(packageName + '.' + simpleName);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new WebBeansException("No such synthetic class " + simpleName, e);
+        }
+    }
+
+    /**
+     * @return new instances of the generated extensions
+     */
+    public List<Extension> getExtensions()
+    {
+        getBeanClasses();
+
+        List<Extension> instances = new ArrayList<>(extensionClasses.size());
+        for (Class<? extends Extension> extensionClass : extensionClasses)
+        {
+            try
+            {
+                instances.add(extensionClass.newInstance());
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new WebBeansException("Could not create extension " + extensionClass.getName(), e);
+            }
+        }
+        return instances;
+    }
+
+    private void generate()
+    {
+        SyntheticClassLoader loader = new SyntheticClassLoader(
+                parentClassLoader != null ? parentClassLoader : SyntheticDeployment.class.getClassLoader());
+        classLoader = loader;
+        List<Class<?>> classes = new ArrayList<>();
+
+        String serviceType = internalName("SyntheticService");
+        String eventType = internalName("SyntheticEvent");
+        String repositoryType = internalName("GenericRepository");
+
+        classes.add(loader.define(serviceType, serviceInterface(serviceType)));
+        classes.add(loader.define(eventType, vetoedClass(eventType, null)));
+        classes.add(loader.define(repositoryType, genericInterface(repositoryType)));
+
+        for (int i = 0; i < qualifiers; i++)
+        {
+            String name = internalName("Qualifier" + i);
+            classes.add(loader.define(name, annotationType(name, "Ljavax/inject/Qualifier;")));
+        }
+
+        for (int i = 0; i < interceptors; i++)
+        {
+            String binding = internalName("Binding" + i);
+            String name = internalName("Interceptor" + i);
+            classes.add(loader.define(binding, annotationType(binding, "Ljavax/interceptor/InterceptorBinding;")));
+            classes.add(loader.define(name, interceptor(name, binding, i)));
+        }
+
+        for (int i = 0; i < decorators; i++)
+        {
+            String name = internalName("Decorator" + i);
+            classes.add(loader.define(name, decorator(name, serviceType, i)));
+        }
+
+        for (int i = 0; i < producers; i++)
+        {
+            String product = internalName("Product" + i);
+            String name = internalName("Producer" + i);
+            classes.add(loader.define(product, vetoedClass(product, null)));
+            classes.add(loader.define(name, producer(name, product)));
+        }
+
+        for (int i = 0; i < genericTypes; i++)
+        {
+            String entity = internalName("Entity" + i);
+            String name = internalName("Repository" + i);
+            classes.add(loader.define(entity, vetoedClass(entity, null)));
+            classes.add(loader.define(name, repository(name, repositoryType, entity)));
+        }
+
+        for (int i = 0; i < managedBeans; i++)
+        {
+            String name = internalName("Bean" + i);
+            classes.add(loader.define(name, managedBean(name, serviceType, repositoryType, i)));
+        }
+
+        for (int i = 0; i < observers; i++)
+        {
+            String name = internalName("Observer" + i);
+            classes.add(loader.define(name, observer(name, eventType)));
+        }
+
+        List<Class<? extends Extension>> generatedExtensions = new ArrayList<>(extensions);
+        for (int i = 0; i < extensions; i++)
+        {
+            String name = internalName("Extension" + i);
+            generatedExtensions.add(loader.define(name, extension(name)).asSubclass(Extension.class));
+        }
+
+        beanClasses = Collections.unmodifiableList(classes);
+        extensionClasses = Collections.unmodifiableList(generatedExtensions);
+    }
+
+    private String internalName(String simpleName)
+    {
+        return packageName.replace('.', '/') + '/' + simpleName;
+    }
+
+    private static String descriptor(String internalName)
+    {
+        return 'L' + internalName + ';';
+    }
+
+    private static ClassWriter newClass(String name, String signature, String... interfaces)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, signature, OBJECT, interfaces);
+        return cw;
+    }
+
+    private static void defaultConstructor(ClassWriter cw)
+    {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void annotate(ClassWriter cw, String annotationDescriptor)
+    {
+        cw.visitAnnotation(annotationDescriptor, true).visitEnd();
+    }
+
+    private static void priority(ClassWriter cw, int priority)
+    {
+        AnnotationVisitor av = cw.visitAnnotation("Ljavax/annotation/Priority;", true);
+        av.visit("value", priority);
+        av.visitEnd();
+    }
+
+    private static byte[] serviceInterface(String name)
+    {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE, name, null, OBJECT, null);
+        cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "value", "()I", null, null).visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] genericInterface(String name)
+    {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE,
+                name, "<T:Ljava/lang/Object;>Ljava/lang/Object;", OBJECT, null);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] annotationType(String name, String metaAnnotation)
+    {
+        ClassWriter cw = new ClassWriter(0);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE | Opcodes.ACC_ANNOTATION,
+                name, null, OBJECT, new String[]{"java/lang/annotation/Annotation"});
+        AnnotationVisitor retention = cw.visitAnnotation("Ljava/lang/annotation/Retention;", true);
+        retention.visitEnum("value", "Ljava/lang/annotation/RetentionPolicy;", "RUNTIME");
+        retention.visitEnd();
+        annotate(cw, metaAnnotation);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] vetoedClass(String name, String signature)
+    {
+        ClassWriter cw = newClass(name, signature);
+        annotate(cw, "Ljavax/enterprise/inject/Vetoed;");
+        defaultConstructor(cw);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] interceptor(String name, String binding, int index)
+    {
+        ClassWriter cw = newClass(name, null);
+        annotate(cw, "Ljavax/interceptor/Interceptor;");
+        annotate(cw, descriptor(binding));
+        priority(cw, 1000 + index);
+        defaultConstructor(cw);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "around", "(Ljavax/interceptor/InvocationContext;)Ljava/lang/Object;",
+                null, new String[]{"java/lang/Exception"});
+        mv.visitAnnotation("Ljavax/interceptor/AroundInvoke;", true).visitEnd();
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "javax/interceptor/InvocationContext", "proceed", "()Ljava/lang/Object;", true);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] decorator(String name, String serviceType, int index)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER | Opcodes.ACC_ABSTRACT, name, null, OBJECT, new String[]{serviceType});
+        annotate(cw, "Ljavax/decorator/Decorator;");
+        priority(cw, 1000 + index);
+        defaultConstructor(cw);
+
+        FieldVisitor fv = cw.visitField(Opcodes.ACC_PRIVATE, "delegate", descriptor(serviceType), null, null);
+        fv.visitAnnotation("Ljavax/inject/Inject;", true).visitEnd();
+        fv.visitAnnotation("Ljavax/decorator/Delegate;", true).visitEnd();
+        fv.visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "value", "()I", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, name, "delegate", descriptor(serviceType));
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, serviceType, "value", "()I", true);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] producer(String name, String product)
+    {
+        ClassWriter cw = newClass(name, null);
+        annotate(cw, "Ljavax/enterprise/context/ApplicationScoped;");
+        defaultConstructor(cw);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "produce", "()" + descriptor(product), null, null);
+        mv.visitAnnotation("Ljavax/enterprise/inject/Produces;", true).visitEnd();
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, product);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, product, "<init>", "()V", false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] repository(String name, String repositoryType, String entity)
+    {
+        ClassWriter cw = newClass(name, descriptor(OBJECT) + parameterized(repositoryType, entity), repositoryType);
+        annotate(cw, "Ljavax/enterprise/context/ApplicationScoped;");
+        defaultConstructor(cw);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static String parameterized(String rawType, String typeArgument)
+    {
+        return 'L' + rawType + '<' + descriptor(typeArgument) + ">;";
+    }
+
+    private byte[] managedBean(String name, String serviceType, String repositoryType, int index)
+    {
+        ClassWriter cw = newClass(name, null, serviceType);
+        switch (index % 3)
+        {
+            case 0:
+                annotate(cw, "Ljavax/enterprise/context/ApplicationScoped;");
+                break;
+            case 1:
+                annotate(cw, "Ljavax/enterprise/context/RequestScoped;");
+                break;
+            default:
+                annotate(cw, "Ljavax/enterprise/context/Dependent;");
+        }
+        if (qualifiers > 0)
+        {
+            annotate(cw, descriptor(internalName("Qualifier" + (index % qualifiers))));
+        }
+        if (interceptors > 0 && index % 4 == 0)
+        {
+            annotate(cw, descriptor(internalName("Binding" + (index / 4 % interceptors))));
+        }
+        defaultConstructor(cw);
+
+        if (index > 0)
+        {
+            FieldVisitor fv = cw.visitField(Opcodes.ACC_PRIVATE, "previous", descriptor(internalName("Bean" + (index - 1))), null, null);
+            fv.visitAnnotation("Ljavax/inject/Inject;", true).visitEnd();
+            if (qualifiers > 0)
+            {
+                fv.visitAnnotation(descriptor(internalName("Qualifier" + ((index - 1) % qualifiers))), true).visitEnd();
+            }
+            fv.visitEnd();
+        }
+        for (int i = index; i < producers; i += managedBeans)
+        {
+            injectField(cw, "product" + i, descriptor(internalName("Product" + i)), null);
+        }
+        for (int i = index; i < genericTypes; i += managedBeans)
+        {
+            String entity = internalName("Entity" + i);
+            injectField(cw, "repository" + i, descriptor(repositoryType), parameterized(repositoryType, entity));
+        }
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "value", "()I", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(index);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void injectField(ClassWriter cw, String fieldName, String fieldDescriptor, String signature)
+    {
+        FieldVisitor fv = cw.visitField(Opcodes.ACC_PRIVATE, fieldName, fieldDescriptor, signature, null);
+        fv.visitAnnotation("Ljavax/inject/Inject;", true).visitEnd();
+        fv.visitEnd();
+    }
+
+    private static byte[] observer(String name, String eventType)
+    {
+        ClassWriter cw = newClass(name, null);
+        annotate(cw, "Ljavax/enterprise/context/ApplicationScoped;");
+        defaultConstructor(cw);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "observe", "(" + descriptor(eventType) + ")V", null, null);
+        mv.visitParameterAnnotation(0, "Ljavax/enterprise/event/Observes;", true).visitEnd();
+        mv.visitCode();
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] extension(String name)
+    {
+        ClassWriter cw = newClass(name, null, "javax/enterprise/inject/spi/Extension");
+        defaultConstructor(cw);
+
+        String processAnnotatedType = "javax/enterprise/inject/spi/ProcessAnnotatedType";
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "processAnnotatedType", "(" + descriptor(processAnnotatedType) + ")V",
+                "(L" + processAnnotatedType + "<*>;)V", null);
+        mv.visitParameterAnnotation(0, "Ljavax/enterprise/event/Observes;", true).visitEnd();
+        mv.visitCode();
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static final class SyntheticClassLoader extends ClassLoader
+    {
+        private SyntheticClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        private Class<?> define(String internalName, byte[] bytes)
+        {
+            return defineClass(internalName.replace('/', '.'), bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.lifecycle.test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Extension;
+
+import org.apache.webbeans.portable.events.ExtensionLoader;
+
+/**
+ * Deploys a {@link SyntheticDeployment} in addition to the classes
+ * which got added via {@link #deployClasses(java.util.Collection)}.
+ * The generated extensions get registered during {@link #scan()}.
+ */
+public class SyntheticDeploymentScannerService extends OpenWebBeansTestMetaDataDiscoveryService
+{
+    private final SyntheticDeployment deployment;
+
+    public SyntheticDeploymentScannerService(SyntheticDeployment deployment)
+    {
+        this.deployment = deployment;
+    }
+
+    @Override
+    public void scan()
+    {
+        super.scan();
+
+        ExtensionLoader extensionLoader = webBeansContext().getExtensionLoader();
+        for (Extension extension : deployment.getExtensions())
+        {
+            extensionLoader.addExtension(extension);
+        }
+    }
+
+    @Override
+    public Set<Class<?>> getBeanClasses()
+    {
+        Set<Class<?>> beanClasses = new HashSet<>(super.getBeanClasses());
+        beanClasses.addAll(deployment.getBeanClasses());
+        return beanClasses;
+    }
+
+    public SyntheticDeployment getDeployment()
+    {
+        return deployment;
+    }
+}
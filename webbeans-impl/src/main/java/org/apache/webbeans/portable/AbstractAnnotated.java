@@ -35,6 +35,7 @@ import javax.enterprise.inject.spi.Annotated;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.GenericsUtil;
+import org.apache.webbeans.util.SharedMetadataCache;
 
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
@@ -116,6 +117,7 @@ public abstract class AbstractAnnotated implements Annotated
                 .collect(toList());
         if (!repeatables.isEmpty())
         {
+            inflate();
             this.repeatables.addAll(repeatables.stream().map(Annotation::annotationType).collect(toList()));
             this.annotations.addAll(repeatables);
         }
@@ -133,6 +135,7 @@ public abstract class AbstractAnnotated implements Annotated
      */
     public void addAnnotation(Annotation annotation)
     {
+        inflate();
         annotations.add(annotation);
         buildRepeatableAnnotations(singleton(annotation));
     }
@@ -156,8 +159,37 @@ public abstract class AbstractAnnotated implements Annotated
 
     public void clearAnnotations()
     {
+        inflate();
         annotations.clear();
     }
+
+    /**
+     * Replace the retained sets with compact immutable copies.
+     * Sets which got handed out before will not see later modifications anymore.
+     *
+     * @see MetadataCompactor
+     */
+    void compact(MetadataCompactor compactor)
+    {
+        annotations = compactor.compact(annotations);
+        repeatables = compactor.compact(repeatables);
+        typeClosures = compactor.compact(typeClosures);
+    }
+
+    /**
+     * Make the annotations modifiable again if they got compacted.
+     */
+    private void inflate()
+    {
+        if (!(annotations instanceof HashSet))
+        {
+            annotations = new HashSet<>(annotations);
+        }
+        if (!(repeatables instanceof HashSet))
+        {
+            repeatables = new HashSet<>(repeatables);
+        }
+    }
     
     /**
      * {@inheritDoc}
@@ -234,6 +266,16 @@ public abstract class AbstractAnnotated implements Annotated
 
     protected Set<Type> extractTypeClojure(Type baseType)
     {
+        SharedMetadataCache sharedMetadataCache = webBeansContext.getSharedMetadataCache();
+        if (sharedMetadataCache != null && baseType == getOwningClass() && baseType instanceof Class)
+        {
+            Set<Type> sharedClosure = sharedMetadataCache.getTypeClosure((Class<?>) baseType);
+            if (sharedClosure != null)
+            {
+                // the shared closure is immutable
+                return new HashSet<>(sharedClosure);
+            }
+        }
         return GenericsUtil.getTypeClosure(baseType, getOwningClass());
     }
 
@@ -72,6 +72,13 @@ public abstract class AbstractAnnotatedCallable<X> extends AbstractAnnotatedMemb
         annotatedParameters.add(parameter);
     }
     
+    @Override
+    void compact(MetadataCompactor compactor)
+    {
+        super.compact(compactor);
+        annotatedParameters.forEach(compactor::compact);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -52,6 +52,12 @@ public abstract class AbstractProducer<T> implements Producer<T>
     protected InterceptorDecoratorProxyFactory proxyFactory;
     protected Map<Method, List<Interceptor<?>>> methodInterceptors;
 
+    /**
+     * the postponed definition of the interceptor stack, {@code null} once it got realized
+     * @see #deferInterceptorStack(Bean, AnnotatedType, WebBeansContext, Runnable)
+     */
+    private volatile Runnable deferredRealization;
+
     public AbstractProducer()
     {
         this(Collections.<InjectionPoint>emptySet());
@@ -109,6 +115,52 @@ public abstract class AbstractProducer<T> implements Producer<T>
         }
     }
 
+    /**
+     * Postpone {@link #defineInterceptorStack(Bean, AnnotatedType, WebBeansContext)}
+     * until the first instance gets produced. This is used for beans which are not
+     * referenced by any injection point, as most of them will never get used at all.
+     *
+     * @param beforeRealization gets invoked right before the interceptor stack gets defined,
+     *                          e.g. to run the deferred validation of the injection points
+     */
+    public void deferInterceptorStack(Bean<T> bean, AnnotatedType<T> annotatedType, WebBeansContext webBeansContext,
+                                      Runnable beforeRealization)
+    {
+        deferredRealization = () ->
+        {
+            beforeRealization.run();
+            defineInterceptorStack(bean, annotatedType, webBeansContext);
+        };
+    }
+
+    /**
+     * @return {@code false} if the interceptor stack got deferred and no instance got produced yet
+     */
+    public boolean isRealized()
+    {
+        return deferredRealization == null;
+    }
+
+    /**
+     * Define a deferred interceptor stack now.
+     * If this fails, the next invocation will try again and thus report the same error.
+     */
+    protected void realize()
+    {
+        if (deferredRealization != null)
+        {
+            synchronized (this)
+            {
+                Runnable realization = deferredRealization;
+                if (realization != null)
+                {
+                    realization.run();
+                    deferredRealization = null;
+                }
+            }
+        }
+    }
+
     @Override
     public Set<InjectionPoint> getInjectionPoints()
     {
@@ -123,6 +175,8 @@ public abstract class AbstractProducer<T> implements Producer<T>
     @Override
     public T produce(CreationalContext<T> creationalContext)
     {
+        realize();
+
         CreationalContextImpl<T> creationalContextImpl = (CreationalContextImpl<T>) creationalContext;
 
         Contextual<T> oldContextual = creationalContextImpl.getContextual();
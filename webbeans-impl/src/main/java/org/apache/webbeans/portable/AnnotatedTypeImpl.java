@@ -37,6 +37,7 @@ import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.util.SharedMetadataCache;
 
 /**
  * Implementation of the {@link AnnotatedType} interface.
@@ -212,6 +213,21 @@ public class AnnotatedTypeImpl<X>
         return super.hashCode();
     }
 
+    @Override
+    void compact(MetadataCompactor compactor)
+    {
+        super.compact(compactor);
+
+        State current = state;
+        if (current != null)
+        {
+            current.compactMembers(compactor);
+            state = new State(compactor.compact(current.constructors),
+                    compactor.compact(current.fields),
+                    compactor.compact(current.methods));
+        }
+    }
+
     private State getState()
     {
         State result = state;
@@ -253,8 +269,11 @@ public class AnnotatedTypeImpl<X>
 
         private State()
         {
-            Constructor<?>[] decCtxs =
-                getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructors(annotatedClass);
+            SharedMetadataCache sharedMetadataCache = getWebBeansContext().getSharedMetadataCache();
+
+            Constructor<?>[] decCtxs = sharedMetadataCache != null
+                ? sharedMetadataCache.getDeclaredConstructors(annotatedClass)
+                : getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructors(annotatedClass);
 
             Set<AnnotatedConstructor<X>> constructors = new HashSet<>();
             Set<AnnotatedField<? super X>> fields = new HashSet<>();
@@ -286,7 +305,9 @@ public class AnnotatedTypeImpl<X>
                 }
             }
 
-            Field[] decFields = getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredFields(annotatedClass);
+            Field[] decFields = sharedMetadataCache != null
+                ? sharedMetadataCache.getDeclaredFields(annotatedClass)
+                : getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredFields(annotatedClass);
             for (Field f : decFields)
             {
                 if (!f.isSynthetic())
@@ -296,8 +317,9 @@ public class AnnotatedTypeImpl<X>
                 }
             }
 
-            Method[] decMethods =
-                    getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredMethods(annotatedClass);
+            Method[] decMethods = sharedMetadataCache != null
+                ? sharedMetadataCache.getDeclaredMethods(annotatedClass)
+                : getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredMethods(annotatedClass);
             for (Method m : decMethods)
             {
                 if (!m.isSynthetic() && !m.isBridge())
@@ -321,6 +343,22 @@ public class AnnotatedTypeImpl<X>
 
         }
 
+        private State(Set<AnnotatedConstructor<X>> constructors,
+                      Set<AnnotatedField<? super X>> fields,
+                      Set<AnnotatedMethod<? super X>> methods)
+        {
+            this.constructors = constructors;
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        private void compactMembers(MetadataCompactor compactor)
+        {
+            constructors.forEach(compactor::compact);
+            fields.forEach(compactor::compact);
+            methods.forEach(compactor::compact);
+        }
+
         /**
          * Copy ct
          */
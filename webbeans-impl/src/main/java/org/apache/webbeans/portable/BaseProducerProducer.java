@@ -21,6 +21,7 @@ package org.apache.webbeans.portable;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.inject.InjectableMethod;
+import org.apache.webbeans.inject.MethodInjectionPlan;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.Asserts;
 
@@ -33,7 +34,7 @@ import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.Set;
 
 public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
@@ -45,6 +46,7 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
     protected Set<InjectionPoint> disposalIPs;
     protected boolean isAnyDisposal;
     protected AnnotatedMethod<? super P> disposerMethod;
+    private volatile MethodInjectionPlan disposalPlan;
 
     public BaseProducerProducer(Bean<P> owner,
                                 AnnotatedMethod<? super P> disposerMethod,
@@ -106,19 +108,19 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
     {
         if (disposalMethod != null)
         {
-            P parentInstance = null;
+            MethodInjectionPlan plan = getDisposalPlan();
             CreationalContext<P> parentCreationalContext = null;
-            InjectableMethod<T> m;
             try
             {
                 parentCreationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(owner);
 
-                if (!Modifier.isStatic(disposalMethod.getModifiers()))
+                P parentInstance = null;
+                if (!plan.isStatic())
                 {
                     parentInstance = (P)webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
                 }
 
-                m = new InjectableMethod<>(disposalMethod, parentInstance, this, (CreationalContextImpl<T>) parentCreationalContext, disposalIPs);
+                InjectableMethod<T> m = new InjectableMethod<>(plan, parentInstance, this, (CreationalContextImpl<T>) parentCreationalContext);
                 m.setDisposable(true);
                 m.setProducerMethodInstance(instance);
 
@@ -135,6 +137,18 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
         }
     }
 
+    private MethodInjectionPlan getDisposalPlan()
+    {
+        MethodInjectionPlan plan = disposalPlan;
+        if (plan == null)
+        {
+            plan = new MethodInjectionPlan(webBeansContext, disposalMethod,
+                    disposalIPs != null ? disposalIPs : Collections.<InjectionPoint>emptySet(), true);
+            disposalPlan = plan;
+        }
+        return plan;
+    }
+
     public Set<InjectionPoint> getDisposalIPs()
     {
         return disposalIPs;
@@ -25,8 +25,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.event.Event;
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.Decorator;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Interceptor;
@@ -42,6 +45,13 @@ public class EventProducer<T> extends AbstractProducer<Event<T>>
 {
 
     private WebBeansContext webBeansContext;
+
+    /**
+     * The Events for the injection points of beans.
+     * Those are shared by all instances of the owning bean, so the observer resolution
+     * only needs to happen once and not for each e.g. &#064;RequestScoped instance.
+     */
+    private final ConcurrentMap<InjectionPoint, EventImpl<T>> events = new ConcurrentHashMap<>();
     
     public EventProducer(WebBeansContext webBeansContext)
     {
@@ -101,7 +111,12 @@ public class EventProducer<T> extends AbstractProducer<Event<T>>
             
             try
             {
-                instance = new EventImpl<>(new EventMetadataImpl(null, eventType, injectionPoint, qualifiers, webBeansContext), webBeansContext);
+                instance = events.get(injectionPoint);
+                if (instance == null)
+                {
+                    EventImpl<T> event = new EventImpl<>(new EventMetadataImpl(null, eventType, injectionPoint, qualifiers, webBeansContext), webBeansContext);
+                    instance = isStaticInjectionPoint(injectionPoint) ? cache(injectionPoint, event) : event;
+                }
             }
             catch (Exception e)
             {
@@ -116,4 +131,20 @@ public class EventProducer<T> extends AbstractProducer<Event<T>>
                         
         return instance;
     }
+
+    private EventImpl<T> cache(InjectionPoint injectionPoint, EventImpl<T> event)
+    {
+        EventImpl<T> existing = events.putIfAbsent(injectionPoint, event);
+        return existing != null ? existing : event;
+    }
+
+    /**
+     * Only the injection points of a bean definition live as long as the container.
+     * Others, e.g. from programmatic lookups, would just fill the cache.
+     */
+    private static boolean isStaticInjectionPoint(InjectionPoint injectionPoint)
+    {
+        Bean<?> bean = injectionPoint.getBean();
+        return bean != null && bean.getInjectionPoints().contains(injectionPoint);
+    }
 }
@@ -295,6 +295,9 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     @Override
     public void postConstruct(T instance)
     {
+        // the instance might not have been produced by us
+        realize();
+
         Map<Interceptor<?>, ?> interceptorInstances = null;
         T internalInstance = instance;
 
@@ -364,6 +367,15 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         }
     }
 
+    /**
+     * @return {@code true} if {@link #preDestroy(Object)} and {@link #dispose(Object)}
+     *         have nothing to do for the given instance
+     */
+    public boolean isDestroyNoop(T instance)
+    {
+        return !(instance instanceof OwbInterceptorProxy) && (preDestroyMethods == null || preDestroyMethods.isEmpty());
+    }
+
     protected AnnotatedConstructor<T> getConstructor()
     {
         if (constructor == null)
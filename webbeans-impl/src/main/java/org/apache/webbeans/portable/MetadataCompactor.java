@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.portable;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.AnnotatedConstructor;
+import javax.enterprise.inject.spi.AnnotatedField;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.component.InjectionTargetBean;
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.util.ArraySet;
+
+/**
+ * Converts the metadata which is retained after the deployment into a compact, immutable form.
+ *
+ * The annotations, repeatables and type closures of each {@link AbstractAnnotated}
+ * and the members of each {@link AnnotatedTypeImpl} get copied from HashSets into {@link ArraySet}s.
+ * Compacted metadata must not get modified anymore. All modifications via the portable
+ * extension SPI happen before {@link javax.enterprise.inject.spi.AfterDeploymentValidation},
+ * so this only affects code which changes the retained AnnotatedTypes afterwards.
+ *
+ * The {@link #getReclaimedBytes() reclaimed bytes} are an estimate based on the
+ * shallow sizes of a HashSet and an ArraySet on a 64 bit JVM with compressed oops.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#COMPACT_METADATA
+ */
+public class MetadataCompactor
+{
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    /**
+     * HashSet, its backing HashMap and the header of the table
+     */
+    private static final int HASH_SET = 16 + 48 + OBJECT_HEADER;
+
+    /**
+     * a HashMap.Node
+     */
+    private static final int HASH_NODE = 32;
+
+    /**
+     * the ArraySet and the header of its array
+     */
+    private static final int ARRAY_SET = 16 + OBJECT_HEADER;
+
+    private final Set<Object> compacted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long reclaimedBytes;
+
+    private int compactedTypes;
+
+    /**
+     * Compact the AnnotatedType of the given bean and thus also all its members.
+     */
+    public void compact(Bean<?> bean)
+    {
+        if (bean instanceof InjectionTargetBean)
+        {
+            compact(((InjectionTargetBean<?>) bean).getAnnotatedType());
+        }
+    }
+
+    public void compact(ObserverMethod<?> observerMethod)
+    {
+        if (observerMethod instanceof ObserverMethodImpl)
+        {
+            compact(((ObserverMethodImpl<?>) observerMethod).getObserverMethod());
+        }
+    }
+
+    public void compact(AnnotatedType<?> annotatedType)
+    {
+        if (annotatedType == null)
+        {
+            return;
+        }
+        if (annotatedType instanceof AnnotatedTypeImpl)
+        {
+            if (compact((Annotated) annotatedType))
+            {
+                compactedTypes++;
+            }
+            return;
+        }
+
+        // e.g. a wrapper or a custom AnnotatedType, we can at least compact the members
+        for (AnnotatedConstructor<?> constructor : annotatedType.getConstructors())
+        {
+            compact(constructor);
+        }
+        for (AnnotatedField<?> field : annotatedType.getFields())
+        {
+            compact(field);
+        }
+        for (AnnotatedMethod<?> method : annotatedType.getMethods())
+        {
+            compact(method);
+        }
+    }
+
+    /**
+     * @return {@code true} if the given element got compacted by this invocation
+     */
+    boolean compact(Annotated annotated)
+    {
+        if (!(annotated instanceof AbstractAnnotated) || !compacted.add(annotated))
+        {
+            return false;
+        }
+        ((AbstractAnnotated) annotated).compact(this);
+        return true;
+    }
+
+    /**
+     * @return an immutable array backed copy of the given set
+     */
+    <T> Set<T> compact(Set<T> set)
+    {
+        if (set == null || set instanceof ArraySet)
+        {
+            return set;
+        }
+        reclaimedBytes += estimateHashSet(set.size()) - estimateArraySet(set.size());
+        if (!(set instanceof HashSet))
+        {
+            // usually an unmodifiable view of a HashSet
+            reclaimedBytes += OBJECT_HEADER;
+        }
+        return ArraySet.copyOf(set);
+    }
+
+    /**
+     * @return the estimated number of bytes which got freed by the compaction
+     */
+    public long getReclaimedBytes()
+    {
+        return reclaimedBytes;
+    }
+
+    /**
+     * @return the number of compacted {@link AnnotatedTypeImpl}s
+     */
+    public int getCompactedTypes()
+    {
+        return compactedTypes;
+    }
+
+    /**
+     * @return the number of compacted AnnotatedTypes, members and parameters
+     */
+    public int getCompactedElements()
+    {
+        return compacted.size();
+    }
+
+    private static long estimateHashSet(int size)
+    {
+        if (size == 0)
+        {
+            // the table gets allocated lazily
+            return HASH_SET - OBJECT_HEADER;
+        }
+        int capacity = 16;
+        while (capacity * 3 / 4 < size)
+        {
+            capacity <<= 1;
+        }
+        return HASH_SET + (long) capacity * REFERENCE + (long) size * HASH_NODE;
+    }
+
+    private static long estimateArraySet(int size)
+    {
+        return ARRAY_SET + (long) size * REFERENCE;
+    }
+}
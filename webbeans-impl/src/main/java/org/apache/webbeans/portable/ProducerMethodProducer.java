@@ -19,7 +19,8 @@
 package org.apache.webbeans.portable;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,6 +33,7 @@ import javax.enterprise.inject.spi.Interceptor;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.inject.InjectableMethod;
+import org.apache.webbeans.inject.MethodInjectionPlan;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.Asserts;
 
@@ -42,6 +44,8 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
 {
     private Method producerMethod;
 
+    private volatile MethodInjectionPlan producerPlan;
+
     public ProducerMethodProducer(Bean<P> owner,
                                   AnnotatedMethod<? super P> producerMethod,
                                   AnnotatedMethod<? super P> disposerMethod,
@@ -72,22 +76,20 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
     @Override
     protected T produce(Map<Interceptor<?>, ?> interceptors, CreationalContextImpl<T> creationalContext)
     {
-        P parentInstance = null;
+        MethodInjectionPlan plan = getProducerPlan();
+        if (plan.isStatic())
+        {
+            // no owner instance needed
+            return new InjectableMethod<>(plan, null, this, (CreationalContextImpl<T>) creationalContext).doInjection();
+        }
+
         CreationalContext<P> parentCreationalContext = null;
-        InjectableMethod<T> m;
         try
         {
             parentCreationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(owner);
+            P parentInstance = (P) webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
 
-            if (!Modifier.isStatic(producerMethod.getModifiers()))
-            {
-                parentInstance = (P)webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
-            }
-            
-            m = new InjectableMethod<>(producerMethod, parentInstance, this, (CreationalContextImpl<T>) creationalContext);
-            
-            return m.doInjection();
-
+            return new InjectableMethod<>(plan, parentInstance, this, (CreationalContextImpl<T>) creationalContext).doInjection();
         }
         finally
         {
@@ -97,4 +99,27 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
             }
         }
     }
+
+    /**
+     * The plan gets created on first use since the injection points might still
+     * get replaced during the deployment.
+     */
+    private MethodInjectionPlan getProducerPlan()
+    {
+        MethodInjectionPlan plan = producerPlan;
+        if (plan == null)
+        {
+            List<InjectionPoint> methodInjectionPoints = new ArrayList<>();
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                if (injectionPoint.getMember().equals(producerMethod))
+                {
+                    methodInjectionPoints.add(injectionPoint);
+                }
+            }
+            plan = new MethodInjectionPlan(webBeansContext, producerMethod, methodInjectionPoints, false);
+            producerPlan = plan;
+        }
+        return plan;
+    }
 }
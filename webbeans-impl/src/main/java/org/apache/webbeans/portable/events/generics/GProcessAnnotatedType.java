@@ -21,14 +21,35 @@ package org.apache.webbeans.portable.events.generics;
 import javax.enterprise.inject.spi.AnnotatedType;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
 import org.apache.webbeans.portable.events.ProcessAnnotatedTypeImpl;
 
 @SuppressWarnings("unchecked")
 public class GProcessAnnotatedType extends ProcessAnnotatedTypeImpl implements GenericBeanEvent
 {
+    /**
+     * only set if the AnnotatedType got created from the scanned class without any modification
+     */
+    private final ScannedAnnotations scannedAnnotations;
+
     public GProcessAnnotatedType(WebBeansContext webBeansContext, AnnotatedType annotatedType )
+    {
+        this(webBeansContext, annotatedType, null);
+    }
+
+    public GProcessAnnotatedType(WebBeansContext webBeansContext, AnnotatedType annotatedType, ScannedAnnotations scannedAnnotations)
     {
         super(webBeansContext, annotatedType);
+        this.scannedAnnotations = scannedAnnotations;
+    }
+
+    /**
+     * @return the scanner information about the annotations of the original class
+     *         or {@code null} if there is none or the AnnotatedType didn't get created from the class.
+     */
+    public ScannedAnnotations getScannedAnnotations()
+    {
+        return scannedAnnotations;
     }
 
     @Override
@@ -29,10 +29,12 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import org.apache.webbeans.config.BootReport;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.xbean.asm8.ClassReader;
 import org.apache.xbean.asm8.ClassWriter;
 import org.apache.xbean.asm8.MethodVisitor;
@@ -263,6 +265,9 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
+        MetricsService metrics = webBeansContext.getMetricsService();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
         byte[] proxyBytes = generateProxy(classLoader,
@@ -273,11 +278,26 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
+        Class<T> proxyClass;
         if (definingService != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            proxyClass = definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+        }
+        else
+        {
+            proxyClass = unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+        }
+
+        if (metrics.isEnabled())
+        {
+            metrics.time(MetricsService.PROXY_CLASS_CREATION, System.nanoTime() - start);
+        }
+        BootReport bootReport = webBeansContext.getBootReport();
+        if (bootReport != null)
+        {
+            bootReport.increment(BootReport.COUNT_PROXIES);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+        return proxyClass;
     }
 
     protected  <T> T newInstance(final Class<? extends T> proxyClass)
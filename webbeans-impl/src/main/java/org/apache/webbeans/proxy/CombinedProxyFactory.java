@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import javax.inject.Provider;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.xbean.asm8.ClassWriter;
+import org.apache.xbean.asm8.Label;
+import org.apache.xbean.asm8.MethodVisitor;
+import org.apache.xbean.asm8.Opcodes;
+import org.apache.xbean.asm8.Type;
+
+/**
+ * <p>Creates the normal scoping proxy for a managed bean which also has an interceptor proxy.</p>
+ *
+ * <p>Instead of invoking the method on the contextual instance, which is the interceptor proxy,
+ * the generated methods read the {@link InterceptorHandler} resp. the internal instance
+ * of the interceptor proxy and invoke them directly:
+ * <pre>
+ * public String businessMethod(String param)
+ * {
+ *     Object instance = owbContextualInstanceProvider.get();
+ *     if (instance instanceof MyBean$$OwbInterceptProxy0)
+ *     {
+ *         return (String) ((MyBean$$OwbInterceptProxy0) instance).owbIntDecHandler.invoke(owbCombinedMethods[0], new Object[]{param});
+ *     }
+ *     return ((MyBean) instance).businessMethod(param);
+ * }
+ * </pre>
+ * Instances which are not of the expected interceptor proxy class, e.g. because a portable extension
+ * replaced the Producer of the bean, get invoked like in the regular normal scoping proxy.</p>
+ *
+ * <p>The fields of the interceptor proxy must be visible, which is only the case if
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#COMBINED_PROXIES} is enabled,
+ * and both proxies must end up in the same package of the same ClassLoader.</p>
+ */
+public class CombinedProxyFactory extends NormalScopeProxyFactory
+{
+    /** the Method[] of all methods which are intercepted in the interceptor proxy */
+    public static final String FIELD_COMBINED_METHODS = "owbCombinedMethods";
+
+    private final Class<?> interceptProxyClass;
+
+    /**
+     * the intercepted methods of the interceptor proxy by their name + descriptor
+     */
+    private final Map<String, Integer> interceptedMethodIndex = new HashMap<>();
+
+    /**
+     * all methods the interceptor proxy directly delegates to its internal instance
+     */
+    private final Set<String> delegatedMethods = new HashSet<>();
+
+    private final Method[] interceptedMethods;
+
+    public CombinedProxyFactory(WebBeansContext webBeansContext, Class<?> interceptProxyClass)
+    {
+        super(webBeansContext);
+        this.interceptProxyClass = interceptProxyClass;
+
+        try
+        {
+            Field interceptedMethodsField = interceptProxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_INTERCEPTED_METHODS);
+            interceptedMethodsField.setAccessible(true);
+            interceptedMethods = (Method[]) interceptedMethodsField.get(null);
+        }
+        catch (Exception e)
+        {
+            throw new ProxyGenerationException(e);
+        }
+
+        for (int i = 0; i < interceptedMethods.length; i++)
+        {
+            interceptedMethodIndex.putIfAbsent(signature(interceptedMethods[i]), i);
+        }
+        for (Method method : interceptProxyClass.getDeclaredMethods())
+        {
+            String signature = signature(method);
+            if (!interceptedMethodIndex.containsKey(signature))
+            {
+                delegatedMethods.add(signature);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if a combined proxy for the given interceptor proxy class can get generated
+     */
+    public static boolean isCombinable(Class<?> interceptProxyClass, Class<?> classToProxy, ClassLoader classLoader)
+    {
+        if (interceptProxyClass == null || classToProxy.isInterface()
+            || interceptProxyClass.getSuperclass() != classToProxy || interceptProxyClass.getClassLoader() != classLoader)
+        {
+            return false;
+        }
+
+        try
+        {
+            Field handlerField = interceptProxyClass.getDeclaredField(InterceptorDecoratorProxyFactory.FIELD_INTERCEPTOR_HANDLER);
+            return !Modifier.isPrivate(handlerField.getModifiers());
+        }
+        catch (NoSuchFieldException e)
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy)
+            throws ProxyGenerationException
+    {
+        Class<T> clazz = super.createProxyClass(classLoader, classToProxy);
+
+        try
+        {
+            Field combinedMethodsField = clazz.getDeclaredField(FIELD_COMBINED_METHODS);
+            combinedMethodsField.setAccessible(true);
+            combinedMethodsField.set(null, interceptedMethods);
+        }
+        catch (Exception e)
+        {
+            throw new ProxyGenerationException(e);
+        }
+
+        return clazz;
+    }
+
+    @Override
+    protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
+    {
+        super.createInstanceVariables(cw, classToProxy, classFileName);
+
+        // the Method[] of the interceptor proxy, needed for invoking the InterceptorHandler
+        cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC,
+                FIELD_COMBINED_METHODS, Type.getDescriptor(Method[].class), null, null).visitEnd();
+    }
+
+    @Override
+    protected void delegateNonInterceptedMethods(ClassLoader classLoader, ClassWriter cw, String proxyClassFileName,
+                                                 Class<?> classToProxy, Method[] noninterceptedMethods)
+            throws ProxyGenerationException
+    {
+        String interceptProxyFileName = Type.getInternalName(interceptProxyClass);
+
+        for (Method delegatedMethod : noninterceptedMethods)
+        {
+            if ("writeReplace".equals(delegatedMethod.getName()))
+            {
+                continue;
+            }
+
+            String methodDescriptor = Type.getMethodDescriptor(delegatedMethod);
+
+            Class[] exceptionTypes = delegatedMethod.getExceptionTypes();
+            String[] exceptionTypeNames = new String[exceptionTypes.length];
+            for (int i = 0; i < exceptionTypes.length; i++)
+            {
+                exceptionTypeNames[i] = Type.getType(exceptionTypes[i]).getInternalName();
+            }
+
+            int targetModifiers = delegatedMethod.getModifiers() & (Modifier.PROTECTED | Modifier.PUBLIC | MODIFIER_VARARGS);
+
+            MethodVisitor mv = cw.visitMethod(targetModifiers, delegatedMethod.getName(), methodDescriptor, null, exceptionTypeNames);
+            mv.visitCode();
+
+            // the first free local variable gets used for the contextual instance
+            int instanceVar = 1;
+            for (Class<?> parameterType : delegatedMethod.getParameterTypes())
+            {
+                instanceVar += Type.getType(parameterType).getSize();
+            }
+
+            // Object instance = owbContextualInstanceProvider.get();
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+            mv.visitVarInsn(Opcodes.ASTORE, instanceVar);
+
+            String signature = signature(delegatedMethod);
+            Integer methodIndex = interceptedMethodIndex.get(signature);
+            if (methodIndex != null || delegatedMethods.contains(signature))
+            {
+                Label notCombinable = new Label();
+                mv.visitVarInsn(Opcodes.ALOAD, instanceVar);
+                mv.visitTypeInsn(Opcodes.INSTANCEOF, interceptProxyFileName);
+                mv.visitJumpInsn(Opcodes.IFEQ, notCombinable);
+
+                mv.visitVarInsn(Opcodes.ALOAD, instanceVar);
+                mv.visitTypeInsn(Opcodes.CHECKCAST, interceptProxyFileName);
+                if (methodIndex != null)
+                {
+                    invokeInterceptorHandler(mv, delegatedMethod, methodIndex, proxyClassFileName, interceptProxyFileName);
+                }
+                else
+                {
+                    // the interceptor proxy would just delegate to its internal instance, so we do it ourselves
+                    mv.visitFieldInsn(Opcodes.GETFIELD, interceptProxyFileName,
+                            InterceptorDecoratorProxyFactory.FIELD_PROXIED_INSTANCE, Type.getDescriptor(classToProxy));
+                    invokeMethod(mv, delegatedMethod, methodDescriptor);
+                }
+
+                mv.visitLabel(notCombinable);
+            }
+
+            // any other instance gets invoked like in the regular normal scoping proxy
+            mv.visitVarInsn(Opcodes.ALOAD, instanceVar);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(classToProxy));
+            invokeMethod(mv, delegatedMethod, methodDescriptor);
+
+            mv.visitMaxs(-1, -1);
+            mv.visitEnd();
+        }
+    }
+
+    /**
+     * Expects the interceptor proxy on the stack and returns the result of its {@link InterceptorHandler}.
+     * The InterceptorHandler rethrows the original exception of the business method, so there is no
+     * need to unwrap an InvocationTargetException.
+     */
+    private void invokeInterceptorHandler(MethodVisitor mv, Method method, int methodIndex,
+                                          String proxyClassFileName, String interceptProxyFileName)
+            throws ProxyGenerationException
+    {
+        Class<?> returnType = method.getReturnType();
+
+        mv.visitFieldInsn(Opcodes.GETFIELD, interceptProxyFileName,
+                InterceptorDecoratorProxyFactory.FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class));
+
+        // the Method from the static array as first parameter
+        mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_COMBINED_METHODS, Type.getDescriptor(Method[].class));
+        if (methodIndex >= Short.MAX_VALUE)
+        {
+            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
+        }
+        pushIntOntoStack(mv, methodIndex);
+        mv.visitInsn(Opcodes.AALOAD);
+
+        pushMethodParameterArray(mv, method.getParameterTypes());
+
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(InterceptorHandler.class), "invoke",
+                "(Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
+
+        if (Void.TYPE.equals(returnType))
+        {
+            mv.visitInsn(Opcodes.POP);
+            mv.visitInsn(Opcodes.RETURN);
+            return;
+        }
+
+        mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(returnType));
+        if (returnType.isPrimitive())
+        {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, getWrapperType(returnType), getPrimitiveMethod(returnType),
+                    "()" + Type.getDescriptor(returnType), false);
+        }
+        mv.visitInsn(getReturnInsn(returnType));
+    }
+
+    /**
+     * Expects the target instance on the stack, invokes the method with the parameters of the current method
+     * and returns its result.
+     */
+    private void invokeMethod(MethodVisitor mv, Method method, String methodDescriptor)
+    {
+        int offset = 1;
+        for (Class<?> parameterType : method.getParameterTypes())
+        {
+            Type type = Type.getType(parameterType);
+            mv.visitVarInsn(type.getOpcode(Opcodes.ILOAD), offset);
+            offset += type.getSize();
+        }
+
+        Type declaringClass = Type.getType(method.getDeclaringClass());
+        boolean interfaceMethod = method.getDeclaringClass().isInterface();
+        mv.visitMethodInsn(interfaceMethod ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                declaringClass.getInternalName(), method.getName(), methodDescriptor, interfaceMethod);
+
+        generateReturn(mv, method);
+    }
+
+    private static String signature(Method method)
+    {
+        return method.getName() + Type.getMethodDescriptor(method);
+    }
+}
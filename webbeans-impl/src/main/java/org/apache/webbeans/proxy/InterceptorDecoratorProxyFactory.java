@@ -74,10 +74,16 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
     private ConcurrentMap<AnnotatedType<?>, Class<?>> cachedProxyClassesByAt = new ConcurrentHashMap<>();
 
+    /**
+     * Whether the instance fields of the proxy are accessible for the {@link CombinedProxyFactory}
+     */
+    private final boolean combinedProxies;
+
 
     public InterceptorDecoratorProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        combinedProxies = webBeansContext.getOpenWebBeansConfiguration().isCombinedProxies();
     }
 
     public <T> T createProxyInstance(Class<? extends T> proxyClass, T instance, InterceptorHandler interceptorDecoratorStack)
@@ -250,12 +256,15 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     @Override
     protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
     {
+        // combined normal scoping proxies in the same package read the instance fields directly
+        int instanceFieldAccess = combinedProxies ? 0 : Opcodes.ACC_PRIVATE;
+
         // variable #1, the delegation point
-        cw.visitField(Opcodes.ACC_PRIVATE,
+        cw.visitField(instanceFieldAccess,
                 FIELD_PROXIED_INSTANCE, Type.getDescriptor(classToProxy), null, null).visitEnd();
 
         // variable #2, the invocation handler
-        cw.visitField(Opcodes.ACC_PRIVATE,
+        cw.visitField(instanceFieldAccess,
                 FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class), null, null).visitEnd();
 
         // variable #3, the Method[] of all intercepted methods.
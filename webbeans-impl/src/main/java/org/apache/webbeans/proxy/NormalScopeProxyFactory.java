@@ -40,6 +40,7 @@ import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
+import org.apache.webbeans.util.SharedMetadataCache;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.xbean.asm8.ClassWriter;
 import org.apache.xbean.asm8.MethodVisitor;
@@ -65,10 +66,16 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * @see OpenWebBeansConfiguration#COMBINED_PROXIES
+     */
+    private final boolean combinedProxies;
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        combinedProxies = webBeansContext.getOpenWebBeansConfiguration().isCombinedProxies();
     }
 
     @Override
@@ -197,13 +204,45 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
         if (proxyClass == null)
         {
-            proxyClass = createProxyClass(classLoader, classToProxy);
+            SharedMetadataCache sharedMetadataCache = webBeansContext.getSharedMetadataCache();
+            Class<?> interceptProxyClass = getCombinableInterceptProxyClass(bean, classLoader, classToProxy);
+            if (interceptProxyClass != null)
+            {
+                proxyClass = new CombinedProxyFactory(webBeansContext, interceptProxyClass).createProxyClass(classLoader, classToProxy);
+            }
+            else if (sharedMetadataCache != null && unsafe != null)
+            {
+                // only if we define the class ourselves, a DefiningClassService might use another ClassLoader
+                proxyClass = sharedMetadataCache.getNormalScopeProxyClass(classToProxy, classLoader, () -> createProxyClass(classLoader, classToProxy));
+            }
+            else
+            {
+                proxyClass = createProxyClass(classLoader, classToProxy);
+            }
             cachedProxyClasses.putIfAbsent(bean, proxyClass);
         }
 
         return proxyClass;
     }
 
+    /**
+     * @return the interceptor proxy class of the given bean if the normal scoping proxy
+     *         can directly dispatch to it, {@code null} otherwise
+     * @see CombinedProxyFactory
+     */
+    private Class<?> getCombinableInterceptProxyClass(Bean<?> bean, ClassLoader classLoader, Class<?> classToProxy)
+    {
+        if (!combinedProxies || unsafe == null)
+        {
+            // only if we define the class ourselves, a DefiningClassService might use another ClassLoader
+            return null;
+        }
+
+        // beans whose interceptor stack didn't get defined yet just get the regular proxy
+        Class<?> interceptProxyClass = webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean);
+        return CombinedProxyFactory.isCombinable(interceptProxyClass, classToProxy, classLoader) ? interceptProxyClass : null;
+    }
+
     @Override
     protected void createSerialisation(ClassWriter cw, String proxyClassFileName, Class<?> classToProxy, String classFileName)
     {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable Set backed by a plain array.
+ *
+ * It needs far less memory than a HashSet, but {@link #contains(Object)}
+ * is a linear scan. Thus it is only meant for the small sets of
+ * annotations, members and types which get retained in the metadata
+ * after the deployment.
+ */
+public final class ArraySet<T> extends AbstractSet<T>
+{
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Object[] elements;
+
+    private ArraySet(Object[] elements)
+    {
+        this.elements = elements;
+    }
+
+    /**
+     * @param elements must not contain duplicates, e.g. the content of another Set
+     * @return an immutable copy of the given elements
+     */
+    public static <T> ArraySet<T> copyOf(Collection<? extends T> elements)
+    {
+        return new ArraySet<>(elements.isEmpty() ? EMPTY : elements.toArray());
+    }
+
+    @Override
+    public int size()
+    {
+        return elements.length;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        for (Object element : elements)
+        {
+            if (Objects.equals(element, o))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new Iterator<T>()
+        {
+            private int position;
+
+            @Override
+            public boolean hasNext()
+            {
+                return position < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next()
+            {
+                if (position >= elements.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                return (T) elements[position++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return elements.clone();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a {@link Method} via a MethodHandle with the same contract as {@link Method#invoke(Object, Object...)}:
+ * only Throwables raised by the method itself get wrapped in an {@link InvocationTargetException},
+ * a wrong instance or wrong arguments get reported as {@link IllegalArgumentException}.
+ */
+public final class MethodHandleInvoker
+{
+    private static final MethodHandle WRAP_TARGET_EXCEPTION;
+
+    static
+    {
+        try
+        {
+            WRAP_TARGET_EXCEPTION = MethodHandles.lookup().findConstructor(InvocationTargetException.class,
+                    MethodType.methodType(void.class, Throwable.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandle invoker;
+    private final boolean staticMethod;
+
+    private MethodHandleInvoker(MethodHandle invoker, boolean staticMethod)
+    {
+        this.invoker = invoker;
+        this.staticMethod = staticMethod;
+    }
+
+    /**
+     * @return the invoker for the given method or {@code null} if the method cannot get unreflected
+     */
+    public static MethodHandleInvoker create(Method method)
+    {
+        MethodHandle handle;
+        try
+        {
+            handle = MethodHandles.lookup().unreflect(method);
+        }
+        catch (IllegalAccessException e)
+        {
+            return null;
+        }
+
+        // wrap what the method throws before any argument conversion gets applied,
+        // so conversion errors stay distinguishable from exceptions of the method itself
+        MethodHandle rethrow = MethodHandles.throwException(handle.type().returnType(), InvocationTargetException.class);
+        handle = MethodHandles.catchException(handle, Throwable.class,
+                MethodHandles.filterArguments(rethrow, 0, WRAP_TARGET_EXCEPTION));
+
+        boolean staticMethod = Modifier.isStatic(method.getModifiers());
+        if (staticMethod)
+        {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        int parameterCount = method.getParameterCount();
+        return new MethodHandleInvoker(handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount), staticMethod);
+    }
+
+    /**
+     * @see Method#invoke(Object, Object...)
+     */
+    public Object invoke(Object instance, Object[] args) throws InvocationTargetException
+    {
+        if (instance == null && !staticMethod)
+        {
+            throw new NullPointerException("no instance given for a non static method");
+        }
+
+        try
+        {
+            return invoker.invokeExact(instance, args);
+        }
+        catch (InvocationTargetException | IllegalArgumentException e)
+        {
+            throw e;
+        }
+        catch (ClassCastException | NullPointerException | WrongMethodTypeException e)
+        {
+            // the instance or the arguments don't fit the method
+            throw new IllegalArgumentException(e);
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            // all checked exceptions of the method are already wrapped
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.webbeans.config.BootReport;
+import org.apache.webbeans.config.WebBeansContext;
+
+/**
+ * JVM wide cache of metadata which only depends on a class itself and not on the application using it.
+ *
+ * <p>If several applications share a library from a common ClassLoader (e.g. the lib folder of the server),
+ * each of their WebBeansContexts would otherwise read the declared members, compute the type closure and
+ * generate the normal scoped proxy class of the same library classes again.
+ * Only classes whose defining ClassLoader is a parent of the application ClassLoader are cached.</p>
+ *
+ * <p>The entries get attached to the class via a {@link ClassValue}, so they never keep a ClassLoader alive
+ * longer than the class itself. All cached values are immutable.
+ * Annotated types, interceptor and decorator information stay per application since extensions
+ * and the beans.xml of each application might change them.</p>
+ *
+ * <p>There is one instance per WebBeansContext, it only exists if
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#SHARED_METADATA} is enabled.</p>
+ */
+public class SharedMetadataCache
+{
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>()
+    {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type)
+        {
+            return new ClassMetadata();
+        }
+    };
+
+    private final WebBeansContext webBeansContext;
+
+    private final ClassLoader applicationClassLoader;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * @param applicationClassLoader the outermost ClassLoader of the application,
+     *                               all of its parents are considered to be shared
+     */
+    public SharedMetadataCache(WebBeansContext webBeansContext, ClassLoader applicationClassLoader)
+    {
+        this.webBeansContext = webBeansContext;
+        this.applicationClassLoader = applicationClassLoader;
+    }
+
+    /**
+     * @return {@code true} if the given class got defined by a parent of the application ClassLoader
+     */
+    public boolean isShared(Class<?> clazz)
+    {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null || applicationClassLoader == null)
+        {
+            return false;
+        }
+        for (ClassLoader parent = applicationClassLoader.getParent(); parent != null; parent = parent.getParent())
+        {
+            if (parent == loader)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Constructor<?>[] getDeclaredConstructors(Class<?> clazz)
+    {
+        if (!isShared(clazz))
+        {
+            return webBeansContext.getSecurityService().doPrivilegedGetDeclaredConstructors(clazz);
+        }
+
+        ClassMetadata metadata = METADATA.get(clazz);
+        Constructor<?>[] constructors = metadata.constructors;
+        if (constructors == null)
+        {
+            constructors = webBeansContext.getSecurityService().doPrivilegedGetDeclaredConstructors(clazz);
+            metadata.constructors = constructors;
+        }
+        else
+        {
+            hit();
+        }
+        return constructors.clone();
+    }
+
+    public Field[] getDeclaredFields(Class<?> clazz)
+    {
+        if (!isShared(clazz))
+        {
+            return webBeansContext.getSecurityService().doPrivilegedGetDeclaredFields(clazz);
+        }
+
+        ClassMetadata metadata = METADATA.get(clazz);
+        Field[] fields = metadata.fields;
+        if (fields == null)
+        {
+            fields = webBeansContext.getSecurityService().doPrivilegedGetDeclaredFields(clazz);
+            metadata.fields = fields;
+        }
+        else
+        {
+            hit();
+        }
+        return fields.clone();
+    }
+
+    public Method[] getDeclaredMethods(Class<?> clazz)
+    {
+        if (!isShared(clazz))
+        {
+            return webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(clazz);
+        }
+
+        ClassMetadata metadata = METADATA.get(clazz);
+        Method[] methods = metadata.methods;
+        if (methods == null)
+        {
+            methods = webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(clazz);
+            metadata.methods = methods;
+        }
+        else
+        {
+            hit();
+        }
+        return methods.clone();
+    }
+
+    /**
+     * @return the type closure of the given class as {@link GenericsUtil#getTypeClosure(Type, Type)} computes it
+     *         for the class itself or {@code null} if the class is not shared.
+     */
+    public Set<Type> getTypeClosure(Class<?> clazz)
+    {
+        if (!isShared(clazz))
+        {
+            return null;
+        }
+
+        ClassMetadata metadata = METADATA.get(clazz);
+        Set<Type> closure = metadata.typeClosure;
+        if (closure == null)
+        {
+            closure = Collections.unmodifiableSet(new HashSet<>(GenericsUtil.getTypeClosure(clazz, clazz)));
+            metadata.typeClosure = closure;
+        }
+        else
+        {
+            hit();
+        }
+        return closure;
+    }
+
+    /**
+     * Normal scoped proxies only get shared if they get defined in the ClassLoader of the proxied class.
+     * Otherwise the proxy class would keep the ClassLoader of the application alive.
+     *
+     * @param proxyClassLoader the ClassLoader the proxy class gets defined in
+     * @param proxyClassFactory creates the proxy class if it is not cached yet
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<T> getNormalScopeProxyClass(Class<T> classToProxy, ClassLoader proxyClassLoader, Supplier<Class<T>> proxyClassFactory)
+    {
+        if (proxyClassLoader != classToProxy.getClassLoader() || !isShared(classToProxy))
+        {
+            return proxyClassFactory.get();
+        }
+
+        ClassMetadata metadata = METADATA.get(classToProxy);
+        synchronized (metadata)
+        {
+            if (metadata.normalScopeProxyClass == null)
+            {
+                metadata.normalScopeProxyClass = proxyClassFactory.get();
+            }
+            else
+            {
+                hit();
+            }
+            return (Class<T>) metadata.normalScopeProxyClass;
+        }
+    }
+
+    /**
+     * @return how many lookups in this application could be served from the JVM wide cache
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    private void hit()
+    {
+        hits.incrementAndGet();
+        BootReport bootReport = webBeansContext.getBootReport();
+        if (bootReport != null)
+        {
+            bootReport.increment(BootReport.COUNT_SHARED_METADATA_HITS);
+        }
+    }
+
+    /**
+     * The cached values of a single class. The values are computed lazily and racy,
+     * since all of them are equal anyway.
+     */
+    private static final class ClassMetadata
+    {
+        private volatile Constructor<?>[] constructors;
+        private volatile Field[] fields;
+        private volatile Method[] methods;
+        private volatile Set<Type> typeClosure;
+        private Class<?> normalScopeProxyClass;
+    }
+}
@@ -56,6 +56,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.AnnotatedTypeWrapper;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.control.RequestContextControllerBean;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 
 
@@ -725,7 +726,20 @@ public final class WebBeansUtil
      */
     public <T> GProcessAnnotatedType fireProcessAnnotatedTypeEvent(AnnotatedType<T> annotatedType)
     {
-        GProcessAnnotatedType processAnnotatedEvent = new GProcessAnnotatedType(webBeansContext, annotatedType);
+        return fireProcessAnnotatedTypeEvent(annotatedType, null);
+    }
+
+    /**
+     * Returns <code>ProcessAnnotatedType</code> event.
+     * @param <T> bean type
+     * @param annotatedType bean class
+     * @param scannedAnnotations bytecode information to resolve &#064;WithAnnotations observers,
+     *                           only allowed if the annotatedType reflects the unmodified class
+     * @return event
+     */
+    public <T> GProcessAnnotatedType fireProcessAnnotatedTypeEvent(AnnotatedType<T> annotatedType, ScannedAnnotations scannedAnnotations)
+    {
+        GProcessAnnotatedType processAnnotatedEvent = new GProcessAnnotatedType(webBeansContext, annotatedType, scannedAnnotations);
 
         //Fires ProcessAnnotatedType
         webBeansContext.getBeanManagerImpl().fireEvent(processAnnotatedEvent, true, AnnotationUtil.EMPTY_ANNOTATION_ARRAY);
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ResolutionCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void unbounded()
+    {
+        ResolutionCache<Integer, String> cache = new ResolutionCache<>(0);
+        for (int i = 0; i < 1000; i++)
+        {
+            assertEquals(0, cache.put(i, "v" + i, false));
+        }
+        assertEquals(1000, cache.size());
+        assertEquals("v500", cache.get(500));
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void evictUnusedEntriesFirst()
+    {
+        ResolutionCache<Integer, String> cache = new ResolutionCache<>(10);
+        for (int i = 0; i < 10; i++)
+        {
+            cache.put(i, "v" + i, false);
+        }
+
+        // 0..4 are in use
+        for (int i = 0; i < 5; i++)
+        {
+            assertNotNull(cache.get(i));
+        }
+
+        // a burst of one time lookups
+        for (int i = 100; i < 200; i++)
+        {
+            cache.put(i, "v" + i, false);
+            for (int j = 0; j < 5; j++)
+            {
+                assertNotNull("lost hot entry " + j, cache.get(j));
+            }
+        }
+
+        assertEquals(10, cache.size());
+        assertEquals(100, cache.getEvictions());
+        assertNull(cache.get(5));
+        assertNull(cache.get(100));
+        assertEquals("v199", cache.get(199));
+    }
+
+    @Test
+    public void pinnedEntriesAreNeverEvicted()
+    {
+        ResolutionCache<Integer, String> cache = new ResolutionCache<>(2);
+        cache.put(-1, "pinned", true);
+        cache.put(-2, "later pinned", false);
+        cache.put(-2, "later pinned", true);
+
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put(i, "v" + i, false);
+        }
+
+        assertEquals("pinned", cache.get(-1));
+        assertEquals("later pinned", cache.get(-2));
+        assertEquals(2, cache.getPinnedSize());
+        assertEquals(4, cache.size());
+
+        // a dynamic lookup cached first and a static one afterwards
+        assertEquals("v99", cache.get(99, true));
+        assertEquals(3, cache.getPinnedSize());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getPinnedSize());
+    }
+
+    @Test
+    public void statistics()
+    {
+        ResolutionCache<String, String> cache = new ResolutionCache<>(1);
+        assertNull(cache.get("a"));
+        cache.put("a", "a", false);
+        assertEquals("a", cache.get("a"));
+        assertEquals(1, cache.put("b", "b", false));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void dynamicLookupsAreBounded()
+    {
+        addConfiguration(OpenWebBeansConfiguration.RESOLUTION_CACHE_SIZE, "5");
+        startContainer(Service.class, Holder.class);
+
+        assertEquals("ok", getInstance(Holder.class).call());
+
+        ResolutionCache<BeanCacheKey, Set<Bean<?>>> cache = getWebBeansContext().getBeanManagerImpl().getInjectionResolver().getTypeResolutionCache();
+        assertEquals(5, cache.getMaxSize());
+        assertTrue(cache.getPinnedSize() > 0);
+
+        // e.g. tenant specific lookups
+        for (int i = 0; i < 100; i++)
+        {
+            assertFalse(getBeanManager().getBeans(new TypeLiteral<Instance<Service>>() { }.getType(), NamedLiteral.of("tenant" + i)).isEmpty());
+        }
+
+        assertTrue(cache.getEvictions() >= 95);
+        assertTrue(cache.size() <= cache.getMaxSize() + cache.getPinnedSize());
+
+        // the static injection point still resolves without a new lookup
+        InjectionPoint injectionPoint = getBeanManager().getBeans(Holder.class).iterator().next().getInjectionPoints().iterator().next();
+        long misses = cache.getMisses();
+        assertNotNull(getWebBeansContext().getBeanManagerImpl().getInjectionResolver().getInjectionPointBean(injectionPoint));
+        assertEquals(misses, cache.getMisses());
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String call()
+        {
+            return "ok";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Holder
+    {
+        @Inject
+        private Service service;
+
+        public String call()
+        {
+            return service.call();
+        }
+    }
+}
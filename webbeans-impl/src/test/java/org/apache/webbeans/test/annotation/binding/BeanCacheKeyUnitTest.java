@@ -19,6 +19,7 @@
 
 package org.apache.webbeans.test.annotation.binding;
 
+import org.apache.webbeans.annotation.CanonicalQualifierRegistry;
 import org.apache.webbeans.container.BeanCacheKey;
 import org.apache.webbeans.test.annotation.binding.AnnotationWithArrayOfBooleanMember;
 import org.apache.webbeans.test.annotation.binding.AnnotationWithArrayOfIntMember;
@@ -31,9 +32,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 public class BeanCacheKeyUnitTest
 {
+    private static final CanonicalQualifierRegistry REGISTRY = new CanonicalQualifierRegistry(it -> null);
 
     @AnnotationWithBindingMember(value = "B", number = 3)
     public BindingComponent s1;
@@ -127,8 +130,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEmptyNull()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null);
+        BeanCacheKey a = key(true, String.class, null);
+        BeanCacheKey b = key(true, String.class, null);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -136,8 +139,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEmptyNullNull()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, null);
+        BeanCacheKey a = key(true, String.class, null);
+        BeanCacheKey b = key(true, String.class, null);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -145,8 +148,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testTypeUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, Integer.class, null, it -> null);
+        BeanCacheKey a = key(true, String.class, null);
+        BeanCacheKey b = key(true, Integer.class, null);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -154,8 +157,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testPath()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, "A", it -> null);
+        BeanCacheKey a = key(true, String.class, "A");
+        BeanCacheKey b = key(true, String.class, "A");
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -163,8 +166,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testPathUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, "B", it -> null);
+        BeanCacheKey a = key(true, String.class, "A");
+        BeanCacheKey b = key(true, String.class, "B");
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -172,16 +175,16 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testNonEqualsWithBindingMemberParameter()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a1);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a2);
+        BeanCacheKey a = key(true, String.class, null, a1);
+        BeanCacheKey b = key(true, String.class, null, a2);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testEqualsWithBindingMember()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a1);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a1);
+        BeanCacheKey a = key(true, String.class, null, a1);
+        BeanCacheKey b = key(true, String.class, null, a1);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -190,8 +193,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEqualsWithNonBindingMember()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a3);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a3);
+        BeanCacheKey a = key(true, String.class, null, a3);
+        BeanCacheKey b = key(true, String.class, null, a3);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -199,8 +202,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2Annotations()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a12);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a12);
+        BeanCacheKey a = key(true, String.class, null, a12);
+        BeanCacheKey b = key(true, String.class, null, a12);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -208,8 +211,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2AnnotationsUnorderedName()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a13);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a31);
+        BeanCacheKey a = key(true, String.class, null, a13);
+        BeanCacheKey b = key(true, String.class, null, a31);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -217,8 +220,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testEquals2AnnotationsUnorderedParam()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a12);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a21);
+        BeanCacheKey a = key(true, String.class, null, a12);
+        BeanCacheKey b = key(true, String.class, null, a21);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -226,16 +229,16 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testDiffMembers()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a4);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a5);
+        BeanCacheKey a = key(true, String.class, null, a4);
+        BeanCacheKey b = key(true, String.class, null, a5);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testOnyDiffMembersInNonBinding()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a5);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a6);
+        BeanCacheKey a = key(true, String.class, null, a5);
+        BeanCacheKey b = key(true, String.class, null, a6);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -243,8 +246,8 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testAnnotationOrdering()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a56);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a65);
+        BeanCacheKey a = key(true, String.class, null, a56);
+        BeanCacheKey b = key(true, String.class, null, a65);
         Assert.assertEquals(a, b);
         Assert.assertEquals(a.hashCode(), b.hashCode());
     }
@@ -252,32 +255,32 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testMemberArraysInt()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a7);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, a8);
+        BeanCacheKey a = key(true, String.class, null, a7);
+        BeanCacheKey b = key(true, String.class, null, a8);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testMemberArraysString()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a9);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, aa);
+        BeanCacheKey a = key(true, String.class, null, a9);
+        BeanCacheKey b = key(true, String.class, null, aa);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testMemberArraysBoolean()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, ab);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, ac);
+        BeanCacheKey a = key(true, String.class, null, ab);
+        BeanCacheKey b = key(true, String.class, null, ac);
         Assert.assertFalse(a.equals(b));
     }
 
     @Test
     public void testDiffArrays()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, null, it -> null, a9a);
-        BeanCacheKey b = new BeanCacheKey(true, String.class, null, it -> null, abc);
+        BeanCacheKey a = key(true, String.class, null, a9a);
+        BeanCacheKey b = key(true, String.class, null, abc);
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
@@ -286,10 +289,14 @@ public class BeanCacheKeyUnitTest
     @Test
     public void testDelegateUnequal()
     {
-        BeanCacheKey a = new BeanCacheKey(true, String.class, "A", it -> null);
-        BeanCacheKey b = new BeanCacheKey(false, String.class, "A", it -> null);
+        BeanCacheKey a = key(true, String.class, "A");
+        BeanCacheKey b = key(false, String.class, "A");
         Assert.assertFalse(a.equals(b));
         Assert.assertFalse(a.hashCode() == b.hashCode());
     }
 
+    private static BeanCacheKey key(boolean isDelegate, Type type, String path, Annotation... qualifiers)
+    {
+        return new BeanCacheKey(isDelegate, type, path, REGISTRY.getCanonicalQualifiers(qualifiers));
+    }
 }
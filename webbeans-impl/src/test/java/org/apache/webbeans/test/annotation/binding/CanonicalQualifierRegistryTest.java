@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.annotation.binding;
+
+import javax.enterprise.util.AnnotationLiteral;
+
+import org.apache.webbeans.annotation.CanonicalQualifier;
+import org.apache.webbeans.annotation.CanonicalQualifierRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CanonicalQualifierRegistryTest
+{
+    @Test
+    public void lookupsDoNotGetInterned()
+    {
+        CanonicalQualifierRegistry registry = new CanonicalQualifierRegistry(it -> null);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            CanonicalQualifier qualifier = registry.getCanonicalQualifier(new BindingMemberLiteral("tenant-" + i));
+            Assert.assertEquals(-1, qualifier.getOrdinal());
+        }
+        Assert.assertEquals(0, registry.size());
+
+        Assert.assertEquals(registry.getCanonicalQualifier(new BindingMemberLiteral("a")),
+                registry.getCanonicalQualifier(new BindingMemberLiteral("a")));
+        Assert.assertNotEquals(registry.getCanonicalQualifier(new BindingMemberLiteral("a")),
+                registry.getCanonicalQualifier(new BindingMemberLiteral("b")));
+    }
+
+    @Test
+    public void lookupsReturnInternedBeanQualifiers()
+    {
+        CanonicalQualifierRegistry registry = new CanonicalQualifierRegistry(it -> null);
+
+        CanonicalQualifier interned = registry.internQualifier(new BindingMemberLiteral("a"));
+        Assert.assertTrue(interned.getOrdinal() > 0);
+        Assert.assertSame(interned, registry.getCanonicalQualifier(new BindingMemberLiteral("a")));
+        Assert.assertEquals(1, registry.size());
+    }
+
+    public static class BindingMemberLiteral extends AnnotationLiteral<AnnotationWithBindingMember> implements AnnotationWithBindingMember
+    {
+        private final String value;
+
+        public BindingMemberLiteral(String value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public String value()
+        {
+            return value;
+        }
+
+        @Override
+        public int number()
+        {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.BootReport;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootReportTest extends AbstractUnitTest
+{
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testBootReport() throws Exception
+    {
+        File reportFile = new File(temporaryFolder.getRoot(), "boot-report.json");
+        addConfiguration(OpenWebBeansConfiguration.BOOT_REPORT, "true");
+        addConfiguration(OpenWebBeansConfiguration.BOOT_REPORT_FILE, reportFile.getAbsolutePath());
+        addExtension(new SlowExtension());
+
+        startContainer(RequestBean.class, Holder.class);
+
+        Assert.assertNull("the report must only be available while booting", getWebBeansContext().getBootReport());
+        Assert.assertTrue(reportFile.exists());
+
+        String json = new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue(json.contains("\"phasesMillis\""));
+        Assert.assertTrue(json.contains("\"scanning\""));
+        Assert.assertTrue(json.contains("\"processAnnotatedTypes\""));
+        Assert.assertTrue(json.contains("\"validateInjectionPoints\""));
+        Assert.assertTrue(json.contains("\"" + BootReport.COUNT_BEANS + "\""));
+        Assert.assertTrue(json.contains("\"" + BootReport.COUNT_PROXIES + "\""));
+        Assert.assertTrue(json.contains(SlowExtension.class.getName()));
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(RequestBean.class);
+        Assert.assertFalse(getWebBeansContext().getOpenWebBeansConfiguration().isBootReportEnabled());
+        Assert.assertNull(getWebBeansContext().getBootReport());
+    }
+
+    @Test
+    public void testReportContent()
+    {
+        BootReport report = new BootReport();
+        report.endPhase("first");
+        report.addTime("sub", 2000000L);
+        report.setCount(BootReport.COUNT_BEANS, 42);
+        report.addExtensionTime(SlowExtension.class, 5000000L);
+        report.addExtensionTime(String.class, 1000000L);
+        report.finish();
+
+        Assert.assertEquals(SlowExtension.class.getName(), report.getSlowestExtensions().get(0).getKey());
+        Assert.assertTrue(report.toJson().contains("\"beans\": 42"));
+        Assert.assertTrue(report.toJson().contains("\"sub\": 2.0"));
+        Assert.assertTrue(report.toString().contains("first"));
+    }
+
+    public static class SlowExtension implements Extension
+    {
+        public void observe(@Observes ProcessAnnotatedType<?> pat)
+        {
+            // just to get observed
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+    }
+
+    public static class Holder
+    {
+        @Inject
+        private RequestBean requestBean;
+    }
+}
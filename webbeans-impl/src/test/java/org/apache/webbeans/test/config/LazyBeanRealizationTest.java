@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.annotation.Priority;
+import javax.enterprise.inject.UnsatisfiedResolutionException;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazyBeanRealizationTest extends AbstractUnitTest
+{
+    @Test
+    public void realizeUnreferencedBeansOnFirstUse()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEAN_REALIZATION, "true");
+        startContainer(TracingInterceptor.class, Injected.class, Holder.class, Unreferenced.class);
+
+        Assert.assertTrue(isRealized(Injected.class));
+        Assert.assertFalse(isRealized(Holder.class));
+        Assert.assertFalse(isRealized(Unreferenced.class));
+
+        Unreferenced unreferenced = getInstance(Unreferenced.class);
+        Assert.assertTrue(isRealized(Unreferenced.class));
+        Assert.assertEquals("traced:unreferenced", unreferenced.hello());
+
+        Assert.assertEquals("traced:injected", getInstance(Holder.class).getInjected().hello());
+        Assert.assertTrue(isRealized(Holder.class));
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(TracingInterceptor.class, Injected.class, Holder.class, Unreferenced.class);
+
+        Assert.assertTrue(isRealized(Unreferenced.class));
+    }
+
+    @Test
+    public void deferValidation()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEAN_REALIZATION, "true");
+        startContainer(Broken.class);
+
+        Assert.assertFalse(isRealized(Broken.class));
+        try
+        {
+            getInstance(Broken.class);
+            Assert.fail("the unsatisfied injection point must get reported");
+        }
+        catch (UnsatisfiedResolutionException e)
+        {
+            // expected
+        }
+        Assert.assertFalse(isRealized(Broken.class));
+    }
+
+    @Test(expected = WebBeansConfigurationException.class)
+    public void strictValidation()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEAN_REALIZATION, "true");
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEAN_REALIZATION_STRICT, "true");
+        startContainer(Broken.class);
+    }
+
+    private boolean isRealized(Class<?> beanClass)
+    {
+        return ((ManagedBean<?>) getBean(beanClass)).getOriginalInjectionTarget().isRealized();
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Traced
+    {
+    }
+
+    @Traced
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class TracingInterceptor
+    {
+        @AroundInvoke
+        public Object trace(InvocationContext context) throws Exception
+        {
+            return "traced:" + context.proceed();
+        }
+    }
+
+    @Traced
+    public static class Injected
+    {
+        public String hello()
+        {
+            return "injected";
+        }
+    }
+
+    public static class Holder
+    {
+        @Inject
+        private Injected injected;
+
+        public Injected getInjected()
+        {
+            return injected;
+        }
+    }
+
+    @Traced
+    public static class Unreferenced
+    {
+        public String hello()
+        {
+            return "unreferenced";
+        }
+    }
+
+    public interface Missing
+    {
+    }
+
+    public static class Broken
+    {
+        @Inject
+        private Missing missing;
+    }
+}
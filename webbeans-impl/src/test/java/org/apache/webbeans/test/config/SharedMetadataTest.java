@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.SharedMetadataCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedMetadataTest extends AbstractUnitTest
+{
+    @Test
+    public void shareProxyClassesBetweenApplications() throws Exception
+    {
+        Class<?> firstProxyClass = bootApplication();
+        Class<?> secondProxyClass = bootApplication();
+
+        Assert.assertNotSame(Service.class, firstProxyClass);
+        Assert.assertSame(firstProxyClass, secondProxyClass);
+    }
+
+    @Test
+    public void notSharedWithinTheApplicationClassLoader()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SHARED_METADATA, "true");
+        startContainer(Service.class);
+
+        SharedMetadataCache cache = getWebBeansContext().getSharedMetadataCache();
+        Assert.assertNotNull(cache);
+        Assert.assertFalse(cache.isShared(Service.class));
+        Assert.assertFalse(cache.isShared(String.class));
+        Assert.assertNull(cache.getTypeClosure(Service.class));
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(Service.class);
+
+        Assert.assertNull(getWebBeansContext().getSharedMetadataCache());
+    }
+
+    private Class<?> bootApplication() throws Exception
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        try (URLClassLoader applicationLoader = new URLClassLoader(new URL[0], old))
+        {
+            thread.setContextClassLoader(applicationLoader);
+
+            addConfiguration(OpenWebBeansConfiguration.SHARED_METADATA, "true");
+            startContainer(Service.class);
+            Assert.assertEquals("ok", getInstance(Service.class).call());
+
+            SharedMetadataCache cache = getWebBeansContext().getSharedMetadataCache();
+            Assert.assertTrue(cache.isShared(Service.class));
+
+            Method[] methods = cache.getDeclaredMethods(Service.class);
+            Assert.assertSame(cache.getDeclaredMethods(Service.class)[0], methods[0]);
+            Set<Type> closure = cache.getTypeClosure(Service.class);
+            Assert.assertSame(closure, cache.getTypeClosure(Service.class));
+            Assert.assertTrue(closure.contains(Service.class));
+            Assert.assertTrue(cache.getHits() > 0);
+
+            Class<?> proxyClass = getInstance(Service.class).getClass();
+            shutDownContainer();
+            return proxyClass;
+        }
+        finally
+        {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String call()
+        {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.intercept.ContextualInstanceCache;
+import org.apache.webbeans.intercept.ContextualInstanceCaches;
+import org.apache.webbeans.intercept.ThreadBoundScopedBeanInterceptorHandler;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the contextual instances cached by the normal scoped proxies
+ * get invalidated when the bean gets destroyed or the context ends.
+ */
+public class ContextualInstanceCacheTest extends AbstractUnitTest
+{
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Test
+    public void testRequestScopedDestroy()
+    {
+        startContainer(RequestBean.class);
+
+        RequestBean proxy = getInstance(RequestBean.class);
+        int id = proxy.getId();
+        Assert.assertEquals(id, proxy.getId());
+
+        destroy(RequestScoped.class, RequestBean.class);
+        int newId = proxy.getId();
+        Assert.assertNotEquals(id, newId);
+
+        restartContext(RequestScoped.class);
+        Assert.assertNotEquals(newId, proxy.getId());
+    }
+
+    @Test
+    public void testSessionScopedDestroy()
+    {
+        startContainer(SessionBean.class);
+
+        SessionBean proxy = getInstance(SessionBean.class);
+        int id = proxy.getId();
+        Assert.assertEquals(id, proxy.getId());
+
+        destroy(SessionScoped.class, SessionBean.class);
+        Assert.assertNotEquals(id, proxy.getId());
+    }
+
+    @Test
+    public void testSharedScopeInvalidatesOtherThreads() throws Exception
+    {
+        startContainer(SessionBean.class);
+
+        AbstractOwbBean<?> bean = (AbstractOwbBean<?>) getBean(SessionBean.class);
+        Assert.assertTrue(bean.getContextSlot() >= 0);
+
+        ContextualInstanceCaches caches = getWebBeansContext().getBeanManagerImpl().getContextualInstanceCaches();
+        ContextualInstanceCache cache = caches.forScope(SessionScoped.class, false);
+        ExecutorService otherRequest = Executors.newSingleThreadExecutor();
+        try
+        {
+            Object instance = new Object();
+            Assert.assertSame(instance, otherRequest.submit(() ->
+            {
+                cache.put(bean.getContextSlot(), bean, instance, cache.getGeneration());
+                return cache.get(bean.getContextSlot(), bean);
+            }).get());
+
+            // e.g. a parallel request of the same session destroys the bean
+            caches.invalidate(SessionScoped.class, bean);
+
+            Assert.assertNull(otherRequest.submit(() -> cache.get(bean.getContextSlot(), bean)).get());
+        }
+        finally
+        {
+            otherRequest.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCachesArePerApplication()
+    {
+        startContainer(SessionBean.class);
+
+        Bean<?> bean = getBean(SessionBean.class);
+        ContextualInstanceCache cache = getWebBeansContext().getBeanManagerImpl().getContextualInstanceCaches()
+                .forScope(SessionScoped.class, false);
+        ContextualInstanceCaches otherApplication = new WebBeansContext().getBeanManagerImpl().getContextualInstanceCaches();
+        Assert.assertNotSame(cache, otherApplication.forScope(SessionScoped.class, false));
+
+        long generation = cache.getGeneration();
+        otherApplication.invalidate(SessionScoped.class, bean);
+        Assert.assertEquals(generation, cache.getGeneration());
+    }
+
+    @Test
+    public void testApplicationScopedDestroy()
+    {
+        startContainer(ApplicationBean.class);
+
+        ApplicationBean proxy = getInstance(ApplicationBean.class);
+        int id = proxy.getId();
+        Assert.assertEquals(id, proxy.getId());
+
+        destroy(ApplicationScoped.class, ApplicationBean.class);
+        Assert.assertNotEquals(id, proxy.getId());
+    }
+
+    @Test
+    public void testThreadBoundConversationScope()
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+            addConfiguration(OpenWebBeansConfiguration.PROXY_MAPPING_PREFIX + ConversationScoped.class.getName(),
+                    ThreadBoundScopedBeanInterceptorHandler.class.getName());
+            startContainer(ConversationBean.class);
+
+            ConversationBean proxy = getInstance(ConversationBean.class);
+            Assert.assertTrue(getWebBeansContext().getNormalScopeProxyFactory().getInstanceProvider((OwbNormalScopeProxy) proxy)
+                    instanceof ThreadBoundScopedBeanInterceptorHandler);
+
+            int id = proxy.getId();
+            Assert.assertEquals(id, proxy.getId());
+
+            // the transient conversation ends together with the request
+            restartContext(RequestScoped.class);
+            Assert.assertNotEquals(id, proxy.getId());
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION);
+        }
+    }
+
+    private void destroy(Class<? extends Annotation> scope, Class<?> beanClass)
+    {
+        Bean<?> bean = getBean(beanClass);
+        ((AlterableContext) getBeanManager().getContext(scope)).destroy(bean);
+    }
+
+    public abstract static class IdentifiedBean
+    {
+        private final int id = INSTANCES.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean extends IdentifiedBean
+    {
+    }
+
+    @SessionScoped
+    public static class SessionBean extends IdentifiedBean implements Serializable
+    {
+    }
+
+    @ApplicationScoped
+    public static class ApplicationBean extends IdentifiedBean
+    {
+    }
+
+    @ConversationScoped
+    public static class ConversationBean extends IdentifiedBean implements Serializable
+    {
+    }
+}
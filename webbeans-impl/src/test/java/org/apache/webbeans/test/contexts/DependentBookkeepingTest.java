@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DependentBookkeepingTest extends AbstractUnitTest
+{
+    private static final List<String> DESTROYED = new ArrayList<>();
+
+    @Test
+    public void testNoopDependentsGetElided()
+    {
+        DESTROYED.clear();
+        startContainer(Holder.class, Plain.class, Cleaned.class);
+
+        Bean<Holder> bean = getBean(Holder.class);
+        CreationalContextImpl<Holder> creationalContext = getWebBeansContext().getBeanManagerImpl().createCreationalContext(bean);
+        Holder holder = (Holder) getBeanManager().getReference(bean, Holder.class, creationalContext);
+        Assert.assertNotNull(holder.plain);
+        Assert.assertNotNull(holder.cleaned);
+
+        // the Holder itself and the Plain instance don't need any destruction
+        Assert.assertEquals(2, creationalContext.getElidedDependentCount());
+
+        creationalContext.release();
+        Assert.assertEquals(1, DESTROYED.size());
+        Assert.assertEquals("cleaned", DESTROYED.get(0));
+    }
+
+    @Test
+    public void testDestroyDependentsIndividually()
+    {
+        DESTROYED.clear();
+        startContainer(Holder.class, Plain.class, Cleaned.class);
+
+        Holder holder = getInstance(Holder.class);
+
+        List<Cleaned> instances = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            instances.add(holder.cleanedInstances.get());
+        }
+        for (int i = 0; i < 100; i += 2)
+        {
+            holder.cleanedInstances.destroy(instances.get(i));
+        }
+        Assert.assertEquals(50, DESTROYED.size());
+
+        // destroying a no-op dependent must still work
+        holder.plainInstances.destroy(holder.plainInstances.get());
+        Assert.assertEquals(50, DESTROYED.size());
+    }
+
+    @Dependent
+    public static class Holder
+    {
+        @Inject
+        private Plain plain;
+
+        @Inject
+        private Cleaned cleaned;
+
+        @Inject
+        private Instance<Cleaned> cleanedInstances;
+
+        @Inject
+        private Instance<Plain> plainInstances;
+    }
+
+    @Dependent
+    public static class Plain
+    {
+    }
+
+    @Dependent
+    public static class Cleaned
+    {
+        @PreDestroy
+        public void destroy()
+        {
+            DESTROYED.add("cleaned");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Destroyed;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.annotation.BeforeDestroyedLiteral;
+import org.apache.webbeans.annotation.DestroyedLiteral;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.ParallelContextDestroyer;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelContextDestroyerTest extends AbstractUnitTest
+{
+    @Before
+    public void reset()
+    {
+        UserSession.DESTROYED.set(0);
+        UserSession.THREADS.clear();
+        UserSession.sleepMillis = 0;
+        SessionObserver.DESTROYED.set(0);
+    }
+
+    @Test
+    public void destroyContextsInParallel()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SHUTDOWN_THREADS, "4");
+        startContainer(UserSession.class, SessionObserver.class);
+
+        List<SessionContext> contexts = createSessionContexts(20);
+        AtomicInteger payloads = new AtomicInteger();
+        ParallelContextDestroyer.Result result = new ParallelContextDestroyer(getWebBeansContext()).destroy(contexts,
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED, DestroyedLiteral.INSTANCE_SESSION_SCOPED,
+                context -> payloads.incrementAndGet());
+
+        Assert.assertEquals(20, result.getDestroyedContexts());
+        Assert.assertEquals(0, result.getAbandonedContexts());
+        Assert.assertEquals(20, UserSession.DESTROYED.get());
+        Assert.assertEquals(20, SessionObserver.DESTROYED.get());
+        Assert.assertEquals(20, payloads.get());
+        for (String thread : UserSession.THREADS)
+        {
+            Assert.assertTrue(thread, thread.startsWith("OWB-shutdown-"));
+        }
+        for (SessionContext context : contexts)
+        {
+            Assert.assertFalse(context.isActive());
+        }
+    }
+
+    @Test
+    public void skipPayloadWithoutObservers()
+    {
+        startContainer(UserSession.class);
+
+        ParallelContextDestroyer.Result result = new ParallelContextDestroyer(getWebBeansContext()).destroy(createSessionContexts(3),
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED, DestroyedLiteral.INSTANCE_SESSION_SCOPED,
+                context ->
+                {
+                    throw new IllegalStateException("no payload needed without observers");
+                });
+
+        Assert.assertEquals(3, result.getDestroyedContexts());
+        Assert.assertEquals(3, UserSession.DESTROYED.get());
+    }
+
+    @Test
+    public void reportSlowDestruction()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SHUTDOWN_SLOW_DESTRUCTION, "10");
+        startContainer(UserSession.class);
+
+        UserSession.sleepMillis = 50;
+        ParallelContextDestroyer.Result result = new ParallelContextDestroyer(getWebBeansContext()).destroy(createSessionContexts(2),
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED, DestroyedLiteral.INSTANCE_SESSION_SCOPED, context -> context);
+
+        Assert.assertEquals(2, result.getDestroyedContexts());
+        Assert.assertEquals(2, result.getSlowContextuals().size());
+        Assert.assertSame(getBean(UserSession.class), result.getSlowContextuals().get(0));
+    }
+
+    @Test
+    public void abandonContextsAfterTimeout()
+    {
+        addConfiguration(OpenWebBeansConfiguration.SHUTDOWN_THREADS, "2");
+        addConfiguration(OpenWebBeansConfiguration.SHUTDOWN_TIMEOUT, "100");
+        startContainer(UserSession.class);
+
+        UserSession.sleepMillis = 2000;
+        ParallelContextDestroyer.Result result = new ParallelContextDestroyer(getWebBeansContext()).destroy(createSessionContexts(6),
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED, DestroyedLiteral.INSTANCE_SESSION_SCOPED, context -> context);
+
+        Assert.assertTrue(result.getAbandonedContexts() > 0);
+        Assert.assertTrue(result.getDestroyedContexts() < 6);
+    }
+
+    private List<SessionContext> createSessionContexts(int count)
+    {
+        Bean<UserSession> bean = getBean(UserSession.class);
+        List<SessionContext> contexts = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            SessionContext context = new SessionContext();
+            context.setActive(true);
+            context.get(bean, getBeanManager().createCreationalContext(bean)).touch();
+            contexts.add(context);
+        }
+        return contexts;
+    }
+
+    @SessionScoped
+    public static class UserSession implements Serializable
+    {
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+        private static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+        private static volatile long sleepMillis;
+
+        public void touch()
+        {
+            // just create the instance
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            THREADS.add(Thread.currentThread().getName());
+            if (sleepMillis > 0)
+            {
+                try
+                {
+                    Thread.sleep(sleepMillis);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            DESTROYED.incrementAndGet();
+        }
+    }
+
+    public static class SessionObserver
+    {
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        public void destroyed(@Observes @Destroyed(SessionScoped.class) Object payload)
+        {
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
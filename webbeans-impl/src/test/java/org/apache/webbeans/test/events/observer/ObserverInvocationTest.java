@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the different ways an observer method gets invoked.
+ */
+public class ObserverInvocationTest extends AbstractUnitTest
+{
+    @Test
+    public void testNormalScopedObserver()
+    {
+        NormalScopedObserver.created = 0;
+        startContainer(NormalScopedObserver.class, IfExistsObserver.class);
+
+        getBeanManager().fireEvent(new TestEvent());
+        getBeanManager().fireEvent(new TestEvent());
+
+        Assert.assertEquals(1, NormalScopedObserver.created);
+        Assert.assertEquals(2, getInstance(NormalScopedObserver.class).getObserved());
+    }
+
+    @Test
+    public void testIfExistsDoesNotCreateInstance()
+    {
+        IfExistsObserver.created = 0;
+        startContainer(IfExistsObserver.class);
+
+        getBeanManager().fireEvent(new TestEvent());
+        Assert.assertEquals(0, IfExistsObserver.created);
+
+        IfExistsObserver instance = getInstance(IfExistsObserver.class);
+        Assert.assertEquals(0, instance.getObserved());
+        getBeanManager().fireEvent(new TestEvent());
+        Assert.assertEquals(1, instance.getObserved());
+        Assert.assertEquals(1, IfExistsObserver.created);
+    }
+
+    @Test
+    public void testObserverExceptionGetsPropagated()
+    {
+        startContainer(FailingObserver.class);
+
+        try
+        {
+            getBeanManager().fireEvent("fail");
+            Assert.fail("the observer exception must get propagated");
+        }
+        catch (RuntimeException e)
+        {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof IllegalStateException))
+            {
+                cause = cause.getCause();
+            }
+            Assert.assertNotNull(cause);
+            Assert.assertEquals("fail", cause.getMessage());
+        }
+    }
+
+    @ApplicationScoped
+    public static class NormalScopedObserver
+    {
+        private static int created;
+
+        private int observed;
+
+        @PostConstruct
+        public void init()
+        {
+            created++;
+        }
+
+        public void observe(@Observes TestEvent event)
+        {
+            observed++;
+        }
+
+        public int getObserved()
+        {
+            return observed;
+        }
+    }
+
+    @RequestScoped
+    public static class IfExistsObserver
+    {
+        private static int created;
+
+        private int observed;
+
+        @PostConstruct
+        public void init()
+        {
+            created++;
+        }
+
+        public void observe(@Observes(notifyObserver = Reception.IF_EXISTS) TestEvent event)
+        {
+            observed++;
+        }
+
+        public int getObserved()
+        {
+            return observed;
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingObserver
+    {
+        public void observe(@Observes String event)
+        {
+            throw new IllegalStateException(event);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.enterprise.inject.literal.NamedLiteral;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedEventTest extends AbstractUnitTest
+{
+    @Test
+    public void testEventSharedPerInjectionPoint()
+    {
+        startContainer(Sender.class, OtherSender.class, Receiver.class);
+
+        Sender first = getInstance(Sender.class);
+        Sender second = getInstance(Sender.class);
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.event, second.event);
+
+        // another injection point must get its own Event
+        Assert.assertNotSame(first.event, getInstance(OtherSender.class).event);
+
+        first.event.fire(new Payload("first"));
+        second.event.fire(new Payload("second"));
+
+        Receiver receiver = getInstance(Receiver.class);
+        Assert.assertEquals(2, receiver.getReceived().size());
+        Assert.assertEquals("second", receiver.getReceived().get(1).getValue());
+        Assert.assertEquals(Sender.class, receiver.getMetadata().get(1).getInjectionPoint().getMember().getDeclaringClass());
+    }
+
+    @Test
+    public void testSelectedEventsAreCached()
+    {
+        startContainer(Sender.class, Receiver.class);
+
+        Event<Payload> event = getInstance(Sender.class).event;
+        Event<Payload> selected = event.select(NamedLiteral.of("important"));
+        Assert.assertSame(selected, event.select(NamedLiteral.of("important")));
+        Assert.assertNotSame(selected, event.select(NamedLiteral.of("other")));
+        Assert.assertSame(event.select(Payload.class), event.select(Payload.class));
+
+        selected.fire(new Payload("important"));
+        event.select(NamedLiteral.of("important")).fire(new Payload("again"));
+        event.select(NamedLiteral.of("other")).fire(new Payload("other"));
+
+        Receiver receiver = getInstance(Receiver.class);
+        Assert.assertEquals(3, receiver.getReceived().size());
+        Assert.assertEquals(2, receiver.getImportant().size());
+    }
+
+    public static class Payload
+    {
+        private final String value;
+
+        public Payload(String value)
+        {
+            this.value = value;
+        }
+
+        public String getValue()
+        {
+            return value;
+        }
+    }
+
+    public static class Sender
+    {
+        @Inject
+        private Event<Payload> event;
+    }
+
+    public static class OtherSender
+    {
+        @Inject
+        private Event<Payload> event;
+    }
+
+    @ApplicationScoped
+    public static class Receiver
+    {
+        private final List<Payload> received = new ArrayList<>();
+        private final List<EventMetadata> metadata = new ArrayList<>();
+        private final List<Payload> important = new ArrayList<>();
+
+        public void receive(@Observes Payload payload, EventMetadata eventMetadata)
+        {
+            received.add(payload);
+            metadata.add(eventMetadata);
+        }
+
+        public void receiveImportant(@Observes @Named("important") Payload payload)
+        {
+            important.add(payload);
+        }
+
+        public List<Payload> getReceived()
+        {
+            return received;
+        }
+
+        public List<EventMetadata> getMetadata()
+        {
+            return metadata;
+        }
+
+        public List<Payload> getImportant()
+        {
+            return important;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.injectionpoint;
+
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InjectionPointBindingTest extends AbstractUnitTest
+{
+    @Test
+    public void bindResolvedBeanDuringValidation()
+    {
+        startContainer(Service.class, Holder.class);
+
+        InjectionResolver resolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        InjectionPointImpl injectionPoint = getInjectionPoint();
+        Bean<Service> serviceBean = getBean(Service.class);
+
+        Assert.assertSame(serviceBean, injectionPoint.getResolvedBean(resolver.getBindingGeneration()));
+
+        Assert.assertNotNull(getInstance(Holder.class).getService());
+        long hits = resolver.getTypeResolutionCache().getHits();
+        long misses = resolver.getTypeResolutionCache().getMisses();
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertNotNull(getInstance(Holder.class).getService());
+        }
+
+        // only the lookups of the Holder went to the resolution cache, but not the injections
+        Assert.assertEquals(misses, resolver.getTypeResolutionCache().getMisses());
+        Assert.assertTrue(resolver.getTypeResolutionCache().getHits() - hits <= 10);
+    }
+
+    @Test
+    public void invalidateWhenBeansGetAdded()
+    {
+        startContainer(Service.class, Holder.class);
+
+        InjectionResolver resolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        InjectionPointImpl injectionPoint = getInjectionPoint();
+        int generation = resolver.getBindingGeneration();
+
+        BeanManager beanManager = getBeanManager();
+        AnnotatedType<Other> annotatedType = beanManager.createAnnotatedType(Other.class);
+        Bean<Other> otherBean = beanManager.createBean(beanManager.createBeanAttributes(annotatedType), Other.class,
+                beanManager.getInjectionTargetFactory(annotatedType));
+        getWebBeansContext().getBeanManagerImpl().addBean(otherBean);
+
+        Assert.assertNotEquals(generation, resolver.getBindingGeneration());
+        Assert.assertNull(injectionPoint.getResolvedBean(resolver.getBindingGeneration()));
+
+        // gets bound again on the next injection
+        Assert.assertNotNull(getInstance(Holder.class).getService());
+        Assert.assertSame(getBean(Service.class), injectionPoint.getResolvedBean(resolver.getBindingGeneration()));
+    }
+
+    private InjectionPointImpl getInjectionPoint()
+    {
+        InjectionPoint injectionPoint = getBean(Holder.class).getInjectionPoints().iterator().next();
+        Assert.assertTrue(injectionPoint instanceof InjectionPointImpl);
+        return (InjectionPointImpl) injectionPoint;
+    }
+
+    public static class Service
+    {
+    }
+
+    public static class Other
+    {
+    }
+
+    public static class Holder
+    {
+        @Inject
+        private Service service;
+
+        public Service getService()
+        {
+            return service;
+        }
+    }
+}
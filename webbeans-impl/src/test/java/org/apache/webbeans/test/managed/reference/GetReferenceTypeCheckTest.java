@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.managed.reference;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GetReferenceTypeCheckTest extends AbstractUnitTest
+{
+    @Test
+    public void testValidatedTypesGetRemembered()
+    {
+        startContainer(ServiceImpl.class);
+
+        Bean<ServiceImpl> bean = getBean(ServiceImpl.class);
+        AbstractOwbBean<?> owbBean = (AbstractOwbBean<?>) bean;
+        assertFalse(owbBean.isValidatedReferenceType(Service.class));
+
+        for (int i = 0; i < 3; i++)
+        {
+            Object reference = getBeanManager().getReference(bean, Service.class, getBeanManager().createCreationalContext(bean));
+            assertNotNull(reference);
+            assertTrue(reference instanceof Service);
+        }
+        assertTrue(owbBean.isValidatedReferenceType(Service.class));
+    }
+
+    @Test
+    public void testInvalidTypeFailsEachTime()
+    {
+        startContainer(ServiceImpl.class);
+
+        Bean<ServiceImpl> bean = getBean(ServiceImpl.class);
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                getBeanManager().getReference(bean, Runnable.class, getBeanManager().createCreationalContext(bean));
+                fail("Runnable is not a type of " + bean);
+            }
+            catch (IllegalArgumentException expected)
+            {
+                // all fine
+            }
+        }
+        assertFalse(((AbstractOwbBean<?>) bean).isValidatedReferenceType(Runnable.class));
+    }
+
+    public interface Service
+    {
+    }
+
+    @ApplicationScoped
+    public static class ServiceImpl implements Service
+    {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.corespi.metrics.InMemoryMetricsService;
+import org.apache.webbeans.corespi.metrics.NoopMetricsService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer(RequestBean.class);
+
+        MetricsService metrics = getWebBeansContext().getMetricsService();
+        Assert.assertTrue(metrics instanceof NoopMetricsService);
+        Assert.assertFalse(metrics.isEnabled());
+    }
+
+    @Test
+    public void testInMemoryMetrics()
+    {
+        addConfiguration(MetricsService.class.getName(), InMemoryMetricsService.class.getName());
+        startContainer(RequestBean.class);
+
+        InMemoryMetricsService metrics = (InMemoryMetricsService) getWebBeansContext().getMetricsService();
+        Assert.assertEquals(1, metrics.getTimerCount(MetricsService.DEPLOYMENT_PHASE + "total"));
+
+        long references = metrics.getCounter(MetricsService.GET_REFERENCE);
+        RequestBean bean = getInstance(RequestBean.class);
+        bean.ping();
+        getBeanManager().fireEvent(new MetricsEvent());
+
+        Assert.assertTrue(metrics.getCounter(MetricsService.GET_REFERENCE) > references);
+        Assert.assertEquals(1, metrics.getCounter(MetricsService.CONTEXTUAL_INSTANCE_CREATED + RequestScoped.class.getName()));
+        Assert.assertTrue(metrics.getTimerCount(MetricsService.PROXY_CLASS_CREATION) > 0);
+        Assert.assertTrue(metrics.getTimerCount(MetricsService.OBSERVER_INVOCATION) > 0);
+        Assert.assertTrue(metrics.getCounter(MetricsService.RESOLUTION_CACHE_MISS) > 0);
+        Assert.assertEquals(2, bean.getPings());
+
+        restartContext(RequestScoped.class);
+        Assert.assertEquals(1, metrics.getCounter(MetricsService.CONTEXTUAL_INSTANCE_DESTROYED + RequestScoped.class.getName()));
+    }
+
+    @Test
+    public void testJmxRegistration() throws Exception
+    {
+        addConfiguration(MetricsService.class.getName(), InMemoryMetricsService.class.getName());
+        addConfiguration(InMemoryMetricsService.JMX_ENABLED, "true");
+        startContainer(RequestBean.class);
+
+        ObjectName query = new ObjectName("org.apache.webbeans:type=Metrics,*");
+        Set<ObjectName> names = ManagementFactory.getPlatformMBeanServer().queryNames(query, null);
+        Assert.assertEquals(1, names.size());
+        Assert.assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(names.iterator().next(), "Counters"));
+
+        shutDownContainer();
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().queryNames(query, null).isEmpty());
+    }
+
+    public static class MetricsEvent
+    {
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private int pings;
+
+        public void ping()
+        {
+            pings++;
+        }
+
+        public void observe(@Observes MetricsEvent event)
+        {
+            pings++;
+        }
+
+        public int getPings()
+        {
+            return pings;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the lookup of contextual instances via the context slot
+ * with the lookup via the componentInstanceMap.
+ */
+public class ContextLookupPerformanceTest extends AbstractUnitTest
+{
+    private static final Logger logger = Logger.getLogger(ContextLookupPerformanceTest.class.getName());
+
+    private static final int WARMUP_ITERATIONS = 10000;
+
+    private static final int BENCHMARK_ITERATIONS = 1000000;
+
+    @Test
+    public void testContextLookupPerformance()
+    {
+        startContainer(RequestBean.class);
+
+        Bean<RequestBean> bean = getBean(RequestBean.class);
+        AbstractOwbBean<RequestBean> owbBean = (AbstractOwbBean<RequestBean>) bean;
+        int slot = owbBean.getContextSlot();
+        Assert.assertTrue(slot >= 0);
+
+        Context context = getBeanManager().getContext(RequestScoped.class);
+        RequestBean instance = context.get(bean, getBeanManager().createCreationalContext(bean));
+        Assert.assertNotNull(instance);
+
+        long slotLookup = lookup(context, bean, instance);
+
+        owbBean.setContextSlot(-1);
+        try
+        {
+            long mapLookup = lookup(context, bean, instance);
+            logger.info("Looking up a request scoped instance " + BENCHMARK_ITERATIONS + " times took ms: " +
+                    TimeUnit.NANOSECONDS.toMillis(slotLookup) + " via context slot, " +
+                    TimeUnit.NANOSECONDS.toMillis(mapLookup) + " via map");
+        }
+        finally
+        {
+            owbBean.setContextSlot(slot);
+        }
+    }
+
+    private long lookup(Context context, Bean<RequestBean> bean, RequestBean expected)
+    {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+        {
+            Assert.assertSame(expected, context.get(bean));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++)
+        {
+            if (context.get(bean) != expected)
+            {
+                Assert.fail("got another instance");
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        // no content needed
+    }
+}
@@ -18,11 +18,18 @@
  */
 package org.apache.webbeans.test.performance;
 
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.lifecycle.test.SyntheticDeployment;
+import org.apache.webbeans.lifecycle.test.SyntheticDeploymentScannerService;
+import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.binding.AnyBindingComponent;
 import org.apache.webbeans.test.component.binding.DefaultAnyBinding;
@@ -80,6 +87,7 @@ import org.apache.webbeans.test.component.CheckWithCheckPayment;
 import org.apache.webbeans.test.component.CheckWithMoneyPayment;
 import org.apache.webbeans.test.component.IPayment;
 import org.apache.webbeans.test.component.PaymentProcessorComponent;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -169,6 +177,37 @@ public class StartupPerformanceTest extends AbstractUnitTest
         log.info("Starting up " + beanClasses.size() + " classes " + NUMBER_ITERATIONS + " times took " + TimeUnit.NANOSECONDS.toMillis(stop - start) + " ms");
     }
 
+    @Test
+    public void testSyntheticDeployment() throws Exception
+    {
+        SyntheticDeployment deployment = new SyntheticDeployment()
+                .managedBeans(1000)
+                .producers(100)
+                .qualifiers(20)
+                .genericTypes(100)
+                .interceptors(5)
+                .decorators(2)
+                .observers(100)
+                .extensions(5);
+        addService(ScannerService.class, new SyntheticDeploymentScannerService(deployment));
+
+        long start = System.nanoTime();
+        startContainer();
+        long stop = System.nanoTime();
+        log.info("Starting up " + deployment.getBeanClasses().size() + " synthetic classes took " +
+                TimeUnit.NANOSECONDS.toMillis(stop - start) + " ms");
+
+        Assert.assertEquals(1000, getBeanManager().getBeans(deployment.getGeneratedClass("SyntheticService"), Any.Literal.INSTANCE).size());
+        Assert.assertEquals(100, getBeanManager().resolveObserverMethods(deployment.getGeneratedClass("SyntheticEvent").newInstance()).size());
+
+        // Bean0 is @ApplicationScoped, intercepted and decorated
+        Class<?> beanClass = deployment.getGeneratedClass("Bean0");
+        Class<? extends Annotation> qualifier = deployment.getGeneratedClass("Qualifier0").asSubclass(Annotation.class);
+        Bean<?> bean = getBeanManager().resolve(getBeanManager().getBeans(beanClass, beanClass.getAnnotation(qualifier)));
+        Object reference = getBeanManager().getReference(bean, beanClass, getBeanManager().createCreationalContext(bean));
+        Assert.assertEquals(0, beanClass.getMethod("value").invoke(reference));
+    }
+
     private void startupWithClasses(Collection<Class<?>> beanClasses)
     {
         Collection<String> beanXmls = new ArrayList<String>();
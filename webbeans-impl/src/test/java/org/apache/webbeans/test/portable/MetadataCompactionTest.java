@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.portable;
+
+import java.util.HashSet;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.webbeans.component.InjectionTargetBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.portable.MetadataCompactor;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.ArraySet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetadataCompactionTest extends AbstractUnitTest
+{
+    @Test
+    public void compactAfterDeployment()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_METADATA, "true");
+        startContainer(Service.class, Client.class);
+
+        AnnotatedType<Service> annotatedType = ((InjectionTargetBean<Service>) getBean(Service.class)).getAnnotatedType();
+        Assert.assertTrue(annotatedType.getAnnotations() instanceof ArraySet);
+        Assert.assertTrue(annotatedType.getTypeClosure() instanceof ArraySet);
+        Assert.assertTrue(annotatedType.getMethods() instanceof ArraySet);
+        Assert.assertTrue(annotatedType.isAnnotationPresent(ApplicationScoped.class));
+        for (AnnotatedMethod<? super Service> method : annotatedType.getMethods())
+        {
+            Assert.assertTrue(method.getAnnotations() instanceof ArraySet);
+        }
+
+        // the container still works on top of the compacted metadata
+        Client client = getInstance(Client.class);
+        Assert.assertEquals("pong", client.ping());
+        Assert.assertEquals("produced", getInstance(String.class));
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertEquals(1, getInstance(Service.class).getPings());
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(Service.class, Client.class);
+
+        Assert.assertFalse(getWebBeansContext().getOpenWebBeansConfiguration().isCompactMetadata());
+        AnnotatedType<Service> annotatedType = ((InjectionTargetBean<Service>) getBean(Service.class)).getAnnotatedType();
+        Assert.assertTrue(annotatedType.getAnnotations() instanceof HashSet);
+    }
+
+    @Test
+    public void reclaimedBytes()
+    {
+        startContainer();
+
+        AnnotatedType<Service> annotatedType = getBeanManager().createAnnotatedType(Service.class);
+        Assert.assertFalse(annotatedType.getMethods().isEmpty());
+
+        MetadataCompactor compactor = new MetadataCompactor();
+        compactor.compact(annotatedType);
+
+        Assert.assertEquals(1, compactor.getCompactedTypes());
+        Assert.assertTrue(compactor.getCompactedElements() > 1);
+        Assert.assertTrue(compactor.getReclaimedBytes() > 0);
+
+        // compacting the same metadata again is a no-op
+        long reclaimed = compactor.getReclaimedBytes();
+        compactor.compact(annotatedType);
+        Assert.assertEquals(reclaimed, compactor.getReclaimedBytes());
+        Assert.assertEquals(1, compactor.getCompactedTypes());
+    }
+
+    public static class Ping
+    {
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        private int pings;
+
+        @PostConstruct
+        public void init()
+        {
+            pings = 0;
+        }
+
+        public String ping()
+        {
+            return "pong";
+        }
+
+        public void onPing(@Observes Ping ping)
+        {
+            pings++;
+        }
+
+        public int getPings()
+        {
+            return pings;
+        }
+
+        @Produces
+        @Named("produced")
+        public String produce()
+        {
+            return "produced";
+        }
+    }
+
+    public static class Client
+    {
+        @Inject
+        private Service service;
+
+        public String ping()
+        {
+            return service.ping();
+        }
+    }
+}
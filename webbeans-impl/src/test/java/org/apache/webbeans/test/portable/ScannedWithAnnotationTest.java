@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.portable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
+import javax.inject.Inject;
+
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ScannedAnnotations;
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.lifecycle.test.OpenWebBeansTestMetaDataDiscoveryService;
+import org.apache.webbeans.spi.ScannerService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.xbean.finder.archive.ClassesArchive;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test that &#064;WithAnnotations observers get resolved correctly
+ * if the bytecode information of the scanner is available.
+ */
+public class ScannedWithAnnotationTest extends AbstractUnitTest
+{
+    @Test
+    public void testScannedAnnotations()
+    {
+        IndexingScannerService scanner = new IndexingScannerService();
+        addService(ScannerService.class, scanner);
+        addExtension(new MarkedExtension());
+
+        startContainer(Unmarked.class, MarkedClass.class, MarkedField.class, MarkedParameter.class,
+                       MetaMarkedClass.class, MarkedMethod.class, InheritedMarkedMethod.class,
+                       Tagged.class);
+
+        Set<Class<?>> expected = new HashSet<>();
+        expected.add(MarkedClass.class);
+        expected.add(MarkedField.class);
+        expected.add(MarkedParameter.class);
+        expected.add(MetaMarkedClass.class);
+        expected.add(MarkedMethod.class);
+        expected.add(InheritedMarkedMethod.class);
+        Assert.assertEquals(expected, MarkedExtension.observed);
+
+        // repeated annotations only show up as their container in the bytecode
+        Assert.assertEquals(Collections.singleton(Tagged.class), MarkedExtension.tagged);
+
+        // the event didn't get fired but the bean must still exist
+        Assert.assertEquals(42, getInstance(Unmarked.class).getMeaningOfLife());
+
+        ScannedAnnotations scannedAnnotations = scanner.scannedAnnotations;
+        Assert.assertNotNull(scannedAnnotations);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        Assert.assertFalse(notificationManager.hasProcessAnnotatedTypeObservers(Unmarked.class, scannedAnnotations));
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObservers(MarkedField.class, scannedAnnotations));
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObservers(InheritedMarkedMethod.class, scannedAnnotations));
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObservers(Tagged.class, scannedAnnotations));
+
+        // not scanned at all, so we cannot rule out anything
+        Assert.assertTrue(notificationManager.hasProcessAnnotatedTypeObservers(String.class, scannedAnnotations));
+    }
+
+    @Test
+    public void testObserverWithoutWithAnnotations()
+    {
+        IndexingScannerService scanner = new IndexingScannerService();
+        addService(ScannerService.class, scanner);
+        addExtension(new AllTypesExtension());
+
+        startContainer(Unmarked.class, MarkedClass.class);
+
+        Assert.assertTrue(getWebBeansContext().getNotificationManager()
+            .hasProcessAnnotatedTypeObservers(Unmarked.class, scanner.scannedAnnotations));
+        Assert.assertTrue(AllTypesExtension.observed.contains(Unmarked.class));
+        Assert.assertTrue(AllTypesExtension.observed.contains(MarkedClass.class));
+    }
+
+
+    /**
+     * Builds the bytecode index for the deployed classes like a real classpath scan would do.
+     */
+    public static class IndexingScannerService extends OpenWebBeansTestMetaDataDiscoveryService
+    {
+        private ScannedAnnotations scannedAnnotations;
+
+        @Override
+        public void scan()
+        {
+            super.scan();
+            finder = new OwbAnnotationFinder(new ClassesArchive(getBeanClasses()));
+        }
+
+        @Override
+        public ScannedAnnotations getScannedAnnotations()
+        {
+            ScannedAnnotations current = super.getScannedAnnotations();
+            if (current != null)
+            {
+                scannedAnnotations = current;
+            }
+            return current;
+        }
+    }
+
+    public static class MarkedExtension implements Extension
+    {
+        private static Set<Class<?>> observed;
+        private static Set<Class<?>> tagged;
+
+        public MarkedExtension()
+        {
+            observed = new HashSet<>();
+            tagged = new HashSet<>();
+        }
+
+        public void marked(@Observes @WithAnnotations(Marker.class) ProcessAnnotatedType<?> pat)
+        {
+            observed.add(pat.getAnnotatedType().getJavaClass());
+        }
+
+        public void tagged(@Observes @WithAnnotations(Tag.class) ProcessAnnotatedType<?> pat)
+        {
+            tagged.add(pat.getAnnotatedType().getJavaClass());
+        }
+
+        public void neverCalled(@Observes @WithAnnotations(Unused.class) ProcessAnnotatedType<?> pat)
+        {
+            throw new IllegalStateException("This observer must not get called by the container!");
+        }
+    }
+
+    public static class AllTypesExtension implements Extension
+    {
+        private static Set<Class<?>> observed;
+
+        public AllTypesExtension()
+        {
+            observed = new HashSet<>();
+        }
+
+        public void all(@Observes ProcessAnnotatedType<?> pat)
+        {
+            observed.add(pat.getAnnotatedType().getJavaClass());
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.TYPE, ElementType.METHOD, ElementType.CONSTRUCTOR, ElementType.PARAMETER})
+    public @interface Marker
+    {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.TYPE, ElementType.METHOD})
+    public @interface Unused
+    {
+    }
+
+    @Repeatable(Tags.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Tag
+    {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Tags
+    {
+        Tag[] value();
+    }
+
+    @Marker
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface MetaMarker
+    {
+    }
+
+    @ApplicationScoped
+    public static class Unmarked
+    {
+        public int getMeaningOfLife()
+        {
+            return 42;
+        }
+    }
+
+    @Marker
+    @ApplicationScoped
+    public static class MarkedClass
+    {
+    }
+
+    @ApplicationScoped
+    public static class MarkedField
+    {
+        @Marker
+        private int value;
+    }
+
+    @ApplicationScoped
+    public static class MarkedParameter
+    {
+        @Inject
+        public void init(@Marker Unmarked unmarked)
+        {
+        }
+    }
+
+    @MetaMarker
+    @ApplicationScoped
+    public static class MetaMarkedClass
+    {
+    }
+
+    @ApplicationScoped
+    public static class MarkedMethod
+    {
+        @Marker
+        public void marked()
+        {
+        }
+    }
+
+    @ApplicationScoped
+    public static class InheritedMarkedMethod extends MarkedMethod
+    {
+    }
+
+    @Tag("a")
+    @Tag("b")
+    @ApplicationScoped
+    public static class Tagged
+    {
+    }
+}
@@ -23,6 +23,7 @@ import java.util.Collection;
 
 import org.junit.Assert;
 
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.inject.OWBInjector;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Test;
@@ -47,4 +48,24 @@ public class JavaEeInjectionTest extends AbstractUnitTest
         
     }
 
+    @Test
+    public void testInjectionTargetGetsReused()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        startContainer(classes);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        Assert.assertSame(beanManager.getNonContextualInjectionTarget(MockInstance.class),
+                beanManager.getNonContextualInjectionTarget(MockInstance.class));
+
+        for (int i = 0; i < 3; i++)
+        {
+            MockInstance instance = new MockInstance();
+            OWBInjector.inject(getBeanManager(), instance, null);
+            Assert.assertNotNull(instance.getSample());
+        }
+
+        shutDownContainer();
+    }
 }
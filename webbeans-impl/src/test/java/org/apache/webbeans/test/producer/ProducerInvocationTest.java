@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.producer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProducerInvocationTest extends AbstractUnitTest
+{
+    @Test
+    public void producerParametersGetPassedByPosition()
+    {
+        startContainer(Producers.class, Helper.class, Consumer.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            Consumer consumer = getInstance(Consumer.class);
+            Assert.assertEquals("name-42", consumer.getName());
+            Assert.assertEquals(42, consumer.getNumber());
+        }
+    }
+
+    @Test
+    public void transientReferenceGetsDestroyedAfterProduction()
+    {
+        Helper.DESTROYED.clear();
+        startContainer(Producers.class, Helper.class, Consumer.class);
+
+        getInstance(Consumer.class).getNumber();
+        Assert.assertEquals(1, Helper.DESTROYED.size());
+    }
+
+    @Test
+    public void disposerGetsDisposedInstance()
+    {
+        Producers.DISPOSED.clear();
+        startContainer(Producers.class, Helper.class, Consumer.class);
+
+        getWebBeansContext().getContextsService().startContext(RequestScoped.class, null);
+        Assert.assertEquals("value", getInstance(Value.class).getText());
+        getWebBeansContext().getContextsService().endContext(RequestScoped.class, null);
+
+        Assert.assertEquals(1, Producers.DISPOSED.size());
+        Assert.assertEquals("value", Producers.DISPOSED.get(0));
+    }
+
+    public static class Value
+    {
+        private String text;
+
+        public Value()
+        {
+            // for the proxy
+        }
+
+        public Value(String text)
+        {
+            this.text = text;
+        }
+
+        public String getText()
+        {
+            return text;
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        public static final List<Helper> DESTROYED = new ArrayList<>();
+
+        public int answer()
+        {
+            return 42;
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            DESTROYED.add(this);
+        }
+    }
+
+    public static class Producers
+    {
+        public static final List<String> DISPOSED = new ArrayList<>();
+
+        @Produces
+        @RequestScoped
+        public Value produceValue()
+        {
+            return new Value("value");
+        }
+
+        @Produces
+        public String produceName(Helper helper, InjectionPoint injectionPoint)
+        {
+            return injectionPoint.getMember().getName() + "-" + helper.answer();
+        }
+
+        @Produces
+        public static Integer produceNumber(@TransientReference Helper helper)
+        {
+            return helper.answer();
+        }
+
+        public void disposeValue(@Disposes Value value, Helper helper)
+        {
+            DISPOSED.add(value.getText());
+        }
+    }
+
+    public static class Consumer
+    {
+        @Inject
+        private String name;
+
+        @Inject
+        private Integer number;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public int getNumber()
+        {
+            return number;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.RequestScoped;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.CombinedProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CombinedProxyTest extends AbstractUnitTest
+{
+    @Test
+    public void dispatchToTheInterceptorHandlerDirectly()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMBINED_PROXIES, "true");
+        startContainer(TracingInterceptor.class, Service.class);
+
+        Service service = getInstance(Service.class);
+        Assert.assertTrue(service instanceof OwbNormalScopeProxy);
+        Assert.assertTrue(hasCombinedMethods(service.getClass()));
+
+        Assert.assertEquals("traced:hello world", service.hello("world"));
+        Assert.assertFalse(service.calledViaInterceptProxy());
+
+        Assert.assertEquals(45L, service.add(42L, 3));
+        Assert.assertFalse(service.calledViaInterceptProxy());
+
+        service.touch();
+        Assert.assertEquals(1, service.getTouched());
+        Assert.assertEquals(1, TracingInterceptor.VOID_CALLS.get());
+
+        try
+        {
+            service.fail();
+            Assert.fail("the checked exception must get propagated");
+        }
+        catch (ServiceException e)
+        {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        startContainer(TracingInterceptor.class, Service.class);
+
+        Service service = getInstance(Service.class);
+        Assert.assertFalse(hasCombinedMethods(service.getClass()));
+
+        Assert.assertEquals("traced:hello world", service.hello("world"));
+        Assert.assertTrue(service.calledViaInterceptProxy());
+    }
+
+    private static boolean hasCombinedMethods(Class<?> proxyClass)
+    {
+        try
+        {
+            proxyClass.getDeclaredField(CombinedProxyFactory.FIELD_COMBINED_METHODS);
+            return true;
+        }
+        catch (NoSuchFieldException e)
+        {
+            return false;
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Traced
+    {
+    }
+
+    @Traced
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class TracingInterceptor
+    {
+        private static final AtomicInteger VOID_CALLS = new AtomicInteger();
+
+        @AroundInvoke
+        public Object trace(InvocationContext context) throws Exception
+        {
+            Object result = context.proceed();
+            if (context.getMethod().getReturnType() == void.class)
+            {
+                VOID_CALLS.incrementAndGet();
+                return result;
+            }
+            return "traced:" + result;
+        }
+    }
+
+    public static class ServiceException extends Exception
+    {
+        public ServiceException(String message)
+        {
+            super(message);
+        }
+    }
+
+    @RequestScoped
+    public static class Service
+    {
+        private final AtomicInteger touched = new AtomicInteger();
+
+        private boolean viaInterceptProxy;
+
+        @Traced
+        public String hello(String name)
+        {
+            recordCaller();
+            return "hello " + name;
+        }
+
+        public long add(long a, int b)
+        {
+            recordCaller();
+            return a + b;
+        }
+
+        @Traced
+        public void touch()
+        {
+            touched.incrementAndGet();
+        }
+
+        @Traced
+        public void fail() throws ServiceException
+        {
+            throw new ServiceException("failed");
+        }
+
+        public int getTouched()
+        {
+            return touched.get();
+        }
+
+        public boolean calledViaInterceptProxy()
+        {
+            return viaInterceptProxy;
+        }
+
+        private void recordCaller()
+        {
+            viaInterceptProxy = false;
+            for (StackTraceElement element : new Throwable().getStackTrace())
+            {
+                if (element.getClassName().contains("$$OwbInterceptProxy"))
+                {
+                    viaInterceptProxy = true;
+                }
+            }
+        }
+    }
+}
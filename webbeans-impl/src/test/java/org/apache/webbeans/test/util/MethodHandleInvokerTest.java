@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.webbeans.util.MethodHandleInvoker;
+import org.junit.Test;
+
+public class MethodHandleInvokerTest
+{
+    @Test
+    public void invoke() throws Exception
+    {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(Target.class.getMethod("add", int.class, int.class));
+        assertEquals(3, invoker.invoke(new Target(), new Object[]{1, 2}));
+
+        MethodHandleInvoker staticInvoker = MethodHandleInvoker.create(Target.class.getMethod("greet", String.class));
+        assertEquals("hello world", staticInvoker.invoke(null, new Object[]{"world"}));
+    }
+
+    @Test
+    public void exceptionsOfTheMethodGetWrapped() throws Exception
+    {
+        assertTargetException("failChecked", IOException.class);
+        assertTargetException("failUnchecked", ClassCastException.class);
+    }
+
+    @Test
+    public void wrongArgumentsAreIllegal() throws Exception
+    {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(Target.class.getMethod("add", int.class, int.class));
+        assertIllegalArgument(invoker, new Target(), new Object[]{"1", 2});
+        assertIllegalArgument(invoker, new Target(), new Object[]{null, 2});
+        assertIllegalArgument(invoker, new Target(), new Object[]{1});
+        assertIllegalArgument(invoker, "not a target", new Object[]{1, 2});
+    }
+
+    private void assertTargetException(String methodName, Class<? extends Throwable> expected) throws Exception
+    {
+        try
+        {
+            MethodHandleInvoker.create(Target.class.getMethod(methodName)).invoke(new Target(), new Object[0]);
+            fail("exception expected");
+        }
+        catch (InvocationTargetException e)
+        {
+            assertSame(expected, e.getCause().getClass());
+        }
+    }
+
+    private void assertIllegalArgument(MethodHandleInvoker invoker, Object instance, Object[] args) throws Exception
+    {
+        try
+        {
+            invoker.invoke(instance, args);
+            fail("IllegalArgumentException expected");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // all fine
+        }
+    }
+
+    public static class Target
+    {
+        public int add(int a, int b)
+        {
+            return a + b;
+        }
+
+        public static String greet(String name)
+        {
+            return "hello " + name;
+        }
+
+        public void failChecked() throws IOException
+        {
+            throw new IOException("checked");
+        }
+
+        public void failUnchecked()
+        {
+            throw new ClassCastException("thrown by the method");
+        }
+    }
+}
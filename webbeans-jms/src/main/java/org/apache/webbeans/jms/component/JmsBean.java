@@ -18,6 +18,10 @@
  */
 package org.apache.webbeans.jms.component;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.Producer;
 import javax.jms.Destination;
@@ -27,6 +31,7 @@ import org.apache.webbeans.component.JmsBeanMarker;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.jms.JMSModel;
+import org.apache.webbeans.jms.util.JmsProxyHandler;
 
 public class JmsBean<T> extends AbstractOwbBean<T> implements JmsBeanMarker
 {
@@ -48,4 +53,21 @@ public class JmsBean<T> extends AbstractOwbBean<T> implements JmsBeanMarker
     {
         return null;
     }
+
+    /**
+     * Gives a pooled session back to the session pool once the context of the injection target gets destroyed.
+     * Connections and destinations are shared and stay open.
+     */
+    @Override
+    public void destroy(T instance, CreationalContext<T> creationalContext)
+    {
+        if (instance != null && Proxy.isProxyClass(instance.getClass()))
+        {
+            InvocationHandler handler = Proxy.getInvocationHandler(instance);
+            if (handler instanceof JmsProxyHandler)
+            {
+                ((JmsProxyHandler) handler).releasePooledSession();
+            }
+        }
+    }
 }
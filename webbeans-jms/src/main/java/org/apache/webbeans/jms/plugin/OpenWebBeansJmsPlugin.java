@@ -26,6 +26,7 @@ import org.apache.webbeans.jms.JMSModel;
 import org.apache.webbeans.jms.component.JmsComponentFactory;
 import org.apache.webbeans.jms.component.JmsBean;
 import org.apache.webbeans.jms.util.JmsProxyHandler;
+import org.apache.webbeans.jms.util.JmsSessionPool;
 import org.apache.webbeans.jms.util.JmsUtil;
 import org.apache.webbeans.spi.plugins.AbstractOwbPlugin;
 
@@ -38,10 +39,24 @@ public class OpenWebBeansJmsPlugin extends AbstractOwbPlugin implements org.apac
 {
     private WebBeansContext webBeansContext;
 
+    /**
+     * the session pool of this application, {@code null} if pooling is not enabled
+     */
+    private final JmsSessionPool sessionPool;
+
     public OpenWebBeansJmsPlugin(WebBeansContext webBeansContext)
     {
         super();
         this.webBeansContext = webBeansContext;
+        sessionPool = JmsSessionPool.create(webBeansContext.getOpenWebBeansConfiguration());
+    }
+
+    /**
+     * @return the pool of sessions or {@code null} if pooling is not enabled.
+     */
+    public JmsSessionPool getSessionPool()
+    {
+        return sessionPool;
     }
 
     @Override
@@ -56,6 +71,10 @@ public class OpenWebBeansJmsPlugin extends AbstractOwbPlugin implements org.apac
     @Override
     public void shutDown() throws WebBeansConfigurationException
     {
+        if (sessionPool != null)
+        {
+            sessionPool.close();
+        }
         JmsProxyHandler.clearConnections();
     }
 
@@ -19,6 +19,7 @@
 package org.apache.webbeans.jms.util;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +41,8 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.jms.JMSModel;
 import org.apache.webbeans.jms.JMSModel.JMSType;
 import org.apache.webbeans.jms.component.JmsBean;
+import org.apache.webbeans.jms.util.JmsSessionPool.PooledSession;
+import org.apache.webbeans.plugins.OpenWebBeansJmsPlugin;
 import org.apache.webbeans.util.ClassUtil;
 
 
@@ -54,8 +57,18 @@ public class JmsProxyHandler implements InvocationHandler
     private static Map<JMSType, Connection> connections = new ConcurrentHashMap<>();
 
     private static Map<String, Destination> dests = new ConcurrentHashMap<>();
-    
+
     private Object jmsObject;
+
+    /**
+     * the session leased from the {@link JmsSessionPool} for this proxy if any
+     */
+    private PooledSession pooledSession;
+
+    /**
+     * the pool the {@link #pooledSession} got leased from
+     */
+    private JmsSessionPool sessionPool;
     
     private Class<?> injectionClazz;
 
@@ -131,7 +144,26 @@ public class JmsProxyHandler implements InvocationHandler
                 cf = this.jmsObject;
             }
 
-            return method.invoke(cf, arguments);
+            if (pooledSession != null && method.getName().equals("close"))
+            {
+                // the producer belongs to the pool, the next invocation leases a session again
+                releasePooledSession();
+                return null;
+            }
+
+            try
+            {
+                return method.invoke(cf, arguments);
+            }
+            catch (InvocationTargetException ite)
+            {
+                if (pooledSession != null && ite.getCause() instanceof JMSException)
+                {
+                    // do not hand out this session again
+                    pooledSession.markBroken();
+                }
+                throw ite;
+            }
         }
         else
         {
@@ -166,6 +198,7 @@ public class JmsProxyHandler implements InvocationHandler
 
             connection = createOrReturnQueueOrTopicConnection();
 
+            // never pooled, user code might leave consumers, listeners or temporary destinations on it
             return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
 
         }
@@ -199,6 +232,14 @@ public class JmsProxyHandler implements InvocationHandler
         {
             connection = createOrReturnQueueOrTopicConnection();
 
+            JmsSessionPool pool = getSessionPool();
+            if (pool != null)
+            {
+                sessionPool = pool;
+                pooledSession = pool.lease(connectionFactory, connection, createOrReturnQueueOrTopic());
+                return pooledSession.getProducer();
+            }
+
             return connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createProducer(createOrReturnQueueOrTopic());
         }
         catch (JMSException e)
@@ -275,6 +316,17 @@ public class JmsProxyHandler implements InvocationHandler
     
     private void close()
     {
+        if (releasePooledSession())
+        {
+            return;
+        }
+
+        if (jmsObject instanceof Connection || jmsObject instanceof Destination)
+        {
+            // connections and destinations are shared by all proxies, see clearConnections()
+            return;
+        }
+
         try
         {
             if(this.jmsObject != null)
@@ -297,6 +349,26 @@ public class JmsProxyHandler implements InvocationHandler
         
     }
 
+    /**
+     * Give the session leased for this proxy back to the {@link JmsSessionPool}.
+     * Invoked when the injected JMS resource gets destroyed.
+     *
+     * @return {@code true} if there was a leased session
+     */
+    public boolean releasePooledSession()
+    {
+        PooledSession toRelease = pooledSession;
+        if (toRelease == null)
+        {
+            return false;
+        }
+
+        pooledSession = null;
+        jmsObject = null;
+        sessionPool.release(toRelease);
+        return true;
+    }
+
     private Destination createOrReturnQueueOrTopic()
     {
         JMSModel jmsModel = this.jmsComponent.getJmsModel();
@@ -315,6 +387,19 @@ public class JmsProxyHandler implements InvocationHandler
 
     }
 
+    /**
+     * @return the pool of sessions of the application or {@code null} if pooling is not enabled
+     */
+    private JmsSessionPool getSessionPool()
+    {
+        OpenWebBeansJmsPlugin jmsPlugin = jmsComponent.getWebBeansContext().getPluginLoader().getJmsPlugin();
+        if (jmsPlugin instanceof org.apache.webbeans.jms.plugin.OpenWebBeansJmsPlugin)
+        {
+            return ((org.apache.webbeans.jms.plugin.OpenWebBeansJmsPlugin) jmsPlugin).getSessionPool();
+        }
+        return null;
+    }
+
     public static void clearConnections()
     {
         try
@@ -0,0 +1,514 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+
+/**
+ * A pool of JMS {@link Session}s and their {@link MessageProducer}s.
+ *
+ * There is one pool of sessions per connection factory and destination.
+ * Only injected MessageProducers get pooled: their session is owned by the container
+ * and never handed out, so no consumers, listeners or temporary destinations
+ * of user code can end up in the pool. Injected Sessions are not pooled.
+ *
+ * A session gets leased for the lifetime of an injected JMS proxy and
+ * returned once the proxy got destroyed, e.g. at the end of the request.
+ * Note that MessageProducers injected into long living beans like &#064;ApplicationScoped ones
+ * keep their lease until the application stops.
+ * Thus the number of leased sessions is unbounded by default. If {@link #getMaxActive()} is positive,
+ * at most that many sessions can be leased at the same time and further leases
+ * wait up to {@link #getMaxWait()} milliseconds for a returned session.
+ * If more sessions are returned than {@link #getMaxIdle()} allows,
+ * the superfluous ones get closed.
+ *
+ * Each application has its own pool, see {@link org.apache.webbeans.jms.plugin.OpenWebBeansJmsPlugin}.
+ */
+public class JmsSessionPool
+{
+    /**
+     * Set to {@code true} to lease the sessions of injected {@link MessageProducer}s from a pool
+     * instead of opening a new Session for each injected proxy.
+     */
+    public static final String POOLING_ENABLED = JmsSessionPool.class.getName() + ".enabled";
+
+    /**
+     * The max number of idle sessions kept per connection factory and destination. Defaults to 8.
+     */
+    public static final String MAX_IDLE = JmsSessionPool.class.getName() + ".maxIdle";
+
+    /**
+     * The max number of sessions leased at the same time per connection factory and destination.
+     * Defaults to 0 which means unbounded.
+     */
+    public static final String MAX_ACTIVE = JmsSessionPool.class.getName() + ".maxActive";
+
+    /**
+     * How many milliseconds a lease waits for a session if {@link #MAX_ACTIVE} sessions are leased already.
+     * Defaults to 5000.
+     */
+    public static final String MAX_WAIT = JmsSessionPool.class.getName() + ".maxWait";
+
+    public static final int DEFAULT_MAX_IDLE = 8;
+
+    public static final int DEFAULT_MAX_ACTIVE = 0;
+
+    public static final int DEFAULT_MAX_WAIT = 5000;
+
+    private final int maxIdle;
+
+    private final int maxActive;
+
+    private final long maxWait;
+
+    private final ConcurrentMap<PoolKey, KeyedPool> pools = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong returns = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * @param maxActive the max number of leased sessions per connection factory and destination, {@code 0} for unbounded
+     */
+    public JmsSessionPool(int maxIdle, int maxActive, long maxWait)
+    {
+        if (maxActive < 0)
+        {
+            throw new IllegalArgumentException("maxActive must not be negative: " + maxActive);
+        }
+        this.maxIdle = maxActive > 0 ? Math.min(maxIdle, maxActive) : maxIdle;
+        this.maxActive = maxActive;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * @return the pool configured in the given configuration or {@code null} if pooling is not enabled
+     * @throws WebBeansConfigurationException if the configuration is invalid
+     */
+    public static JmsSessionPool create(OpenWebBeansConfiguration configuration)
+    {
+        if (!"true".equalsIgnoreCase(configuration.getProperty(POOLING_ENABLED)))
+        {
+            return null;
+        }
+
+        int maxIdle = getIntProperty(configuration, MAX_IDLE, DEFAULT_MAX_IDLE);
+        int maxActive = getIntProperty(configuration, MAX_ACTIVE, DEFAULT_MAX_ACTIVE);
+        int maxWait = getIntProperty(configuration, MAX_WAIT, DEFAULT_MAX_WAIT);
+        if (maxIdle < 0 || maxActive < 0 || maxWait < 0)
+        {
+            throw new WebBeansConfigurationException("Invalid JMS session pool configuration: maxIdle=" + maxIdle +
+                    ", maxActive=" + maxActive + ", maxWait=" + maxWait);
+        }
+        return new JmsSessionPool(maxIdle, maxActive, maxWait);
+    }
+
+    private static int getIntProperty(OpenWebBeansConfiguration configuration, String key, int defaultValue)
+    {
+        String value = configuration.getProperty(key);
+        if (value == null || value.trim().isEmpty())
+        {
+            return defaultValue;
+        }
+        try
+        {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Lease a session for the given connection and destination.
+     * An idle session will get reused, otherwise a new one gets created.
+     * The session must not be handed out to user code, only its {@link PooledSession#getProducer() producer}.
+     *
+     * @param connectionFactory the factory the connection got created from, used as pool key
+     * @param connection to create new sessions
+     * @param destination the destination for the {@link MessageProducer}
+     * @throws JMSException if no session got available within {@link #getMaxWait()} milliseconds
+     */
+    public PooledSession lease(Object connectionFactory, Connection connection, Destination destination) throws JMSException
+    {
+        PoolKey key = new PoolKey(connectionFactory, destination);
+        KeyedPool pool = getPool(key);
+
+        pool.acquire();
+
+        PooledSession pooledSession = pool.idle.poll();
+        if (pooledSession != null)
+        {
+            hits.incrementAndGet();
+            pooledSession.leased.set(true);
+            return pooledSession;
+        }
+
+        misses.incrementAndGet();
+        try
+        {
+            return new PooledSession(key, connection.createSession(false, Session.AUTO_ACKNOWLEDGE));
+        }
+        catch (JMSException | RuntimeException e)
+        {
+            pool.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Give back the session to the pool.
+     * The settings of its producer get reset to the JMS defaults.
+     * If the session got broken or the pool for its destination is full, then the session gets closed.
+     * Releasing a session twice has no effect.
+     */
+    public void release(PooledSession pooledSession)
+    {
+        if (!pooledSession.leased.compareAndSet(true, false))
+        {
+            return;
+        }
+
+        returns.incrementAndGet();
+        KeyedPool pool = getPool(pooledSession.key);
+        try
+        {
+            if (pooledSession.isBroken() || maxIdle <= 0 || !pooledSession.resetProducer() || !pool.idle.offer(pooledSession))
+            {
+                evict(pooledSession);
+            }
+        }
+        finally
+        {
+            pool.release();
+        }
+    }
+
+    /**
+     * Close all idle sessions.
+     */
+    public void close()
+    {
+        for (KeyedPool pool : pools.values())
+        {
+            PooledSession pooledSession;
+            while ((pooledSession = pool.idle.poll()) != null)
+            {
+                pooledSession.close();
+            }
+        }
+        pools.clear();
+    }
+
+    private KeyedPool getPool(PoolKey key)
+    {
+        KeyedPool pool = pools.get(key);
+        if (pool == null)
+        {
+            KeyedPool newPool = new KeyedPool();
+            pool = pools.putIfAbsent(key, newPool);
+            if (pool == null)
+            {
+                pool = newPool;
+            }
+        }
+        return pool;
+    }
+
+    private void evict(PooledSession pooledSession)
+    {
+        evictions.incrementAndGet();
+        pooledSession.close();
+    }
+
+    public int getMaxIdle()
+    {
+        return maxIdle;
+    }
+
+    public int getMaxActive()
+    {
+        return maxActive;
+    }
+
+    public long getMaxWait()
+    {
+        return maxWait;
+    }
+
+    /**
+     * @return how many leases could be served with an idle session
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return how many leases needed a new session
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public long getReturns()
+    {
+        return returns.get();
+    }
+
+    /**
+     * @return how many returned sessions got closed because they were broken or the pool was full
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * @return how many leases failed because {@link #getMaxActive()} sessions were leased already
+     */
+    public long getTimeouts()
+    {
+        return timeouts.get();
+    }
+
+    public int getIdleCount()
+    {
+        int count = 0;
+        for (KeyedPool pool : pools.values())
+        {
+            count += pool.idle.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of currently leased sessions
+     */
+    public int getActiveCount()
+    {
+        int count = 0;
+        for (KeyedPool pool : pools.values())
+        {
+            count += pool.active.get();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JmsSessionPool{maxIdle=" + maxIdle + ", maxActive=" + maxActive + ", hits=" + hits + ", misses=" + misses +
+                ", returns=" + returns + ", evictions=" + evictions + ", timeouts=" + timeouts + '}';
+    }
+
+    /**
+     * The sessions of a single connection factory and destination.
+     */
+    private final class KeyedPool
+    {
+        private final Queue<PooledSession> idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+
+        /**
+         * {@code null} if the number of leased sessions is unbounded
+         */
+        private final Semaphore permits = maxActive > 0 ? new Semaphore(maxActive) : null;
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private void acquire() throws JMSException
+        {
+            if (permits == null)
+            {
+                active.incrementAndGet();
+                return;
+            }
+
+            try
+            {
+                if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS))
+                {
+                    timeouts.incrementAndGet();
+                    throw new JMSException("No JMS session available within " + maxWait + "ms, "
+                            + maxActive + " sessions are leased already");
+                }
+                active.incrementAndGet();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new JMSException("Interrupted while waiting for a JMS session");
+            }
+        }
+
+        private void release()
+        {
+            active.decrementAndGet();
+            if (permits != null)
+            {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * A leased {@link Session} together with its lazily created {@link MessageProducer}.
+     */
+    public static final class PooledSession
+    {
+        private final PoolKey key;
+        private final Session session;
+        private final AtomicBoolean leased = new AtomicBoolean(true);
+        private MessageProducer producer;
+        private volatile boolean broken;
+
+        private PooledSession(PoolKey key, Session session)
+        {
+            this.key = key;
+            this.session = session;
+        }
+
+        /**
+         * @return the pooled session, only for the container, it must not get handed out to user code
+         */
+        public Session getSession()
+        {
+            return session;
+        }
+
+        public MessageProducer getProducer() throws JMSException
+        {
+            if (producer == null)
+            {
+                producer = session.createProducer(key.destination);
+            }
+            return producer;
+        }
+
+        /**
+         * Undo what the previous lessee changed on the producer.
+         *
+         * @return {@code false} if the producer could not get reset and the session must not get reused
+         */
+        private boolean resetProducer()
+        {
+            if (producer == null)
+            {
+                return true;
+            }
+            try
+            {
+                producer.setDeliveryMode(Message.DEFAULT_DELIVERY_MODE);
+                producer.setPriority(Message.DEFAULT_PRIORITY);
+                producer.setTimeToLive(Message.DEFAULT_TIME_TO_LIVE);
+                producer.setDisableMessageID(false);
+                producer.setDisableMessageTimestamp(false);
+                return true;
+            }
+            catch (JMSException | RuntimeException e)
+            {
+                return false;
+            }
+        }
+
+        /**
+         * Mark this session as unusable, e.g. after a JMSException.
+         * It will get closed instead of returned to the pool.
+         */
+        public void markBroken()
+        {
+            broken = true;
+        }
+
+        public boolean isBroken()
+        {
+            return broken;
+        }
+
+        private void close()
+        {
+            try
+            {
+                session.close();
+            }
+            catch (JMSException e)
+            {
+                // nothing we can do anymore
+            }
+        }
+    }
+
+    private static final class PoolKey
+    {
+        private final Object connectionFactory;
+        private final Destination destination;
+        private final int hashCode;
+
+        private PoolKey(Object connectionFactory, Destination destination)
+        {
+            this.connectionFactory = connectionFactory;
+            this.destination = destination;
+            this.hashCode = 31 * System.identityHashCode(connectionFactory) + (destination != null ? destination.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof PoolKey))
+            {
+                return false;
+            }
+            PoolKey other = (PoolKey) o;
+            return connectionFactory == other.connectionFactory &&
+                    (destination == null ? other.destination == null : destination.equals(other.destination));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.jms.util.JmsSessionPool.PooledSession;
+import org.junit.Test;
+
+public class JmsSessionPoolTest
+{
+    private final Object connectionFactory = new Object();
+
+    private final InMemoryBroker broker = new InMemoryBroker();
+
+    @Test
+    public void reuseReturnedSessionAndProducer() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 8, 0);
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        // simulate 10 subsequent requests
+        MessageProducer firstProducer = null;
+        for (int i = 0; i < 10; i++)
+        {
+            PooledSession lease = pool.lease(connectionFactory, connection, queue);
+            MessageProducer producer = lease.getProducer();
+            if (firstProducer == null)
+            {
+                firstProducer = producer;
+            }
+            assertSame(firstProducer, producer);
+            pool.release(lease);
+        }
+
+        assertEquals(1, broker.sessionsCreated.get());
+        assertEquals(1, broker.producersCreated.get());
+        assertEquals(9, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getEvictions());
+    }
+
+    @Test
+    public void separatePoolsPerDestination() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 8, 0);
+        Connection connection = broker.connection();
+
+        PooledSession orders = pool.lease(connectionFactory, connection, broker.queue("orders"));
+        pool.release(orders);
+
+        PooledSession invoices = pool.lease(connectionFactory, connection, broker.queue("invoices"));
+        assertNotSame(orders, invoices);
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void closeSessionsExceedingMaxIdle() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 8, 0);
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        PooledSession s1 = pool.lease(connectionFactory, connection, queue);
+        PooledSession s2 = pool.lease(connectionFactory, connection, queue);
+        PooledSession s3 = pool.lease(connectionFactory, connection, queue);
+        pool.release(s1);
+        pool.release(s2);
+        pool.release(s3);
+
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(1, pool.getEvictions());
+        assertEquals(1, broker.sessionsClosed.get());
+
+        pool.close();
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(3, broker.sessionsClosed.get());
+    }
+
+    @Test
+    public void brokenSessionsGetClosed() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 8, 0);
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        PooledSession lease = pool.lease(connectionFactory, connection, queue);
+        lease.markBroken();
+        pool.release(lease);
+
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, broker.sessionsClosed.get());
+
+        pool.lease(connectionFactory, connection, queue);
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    public void boundLeasedSessions() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 2, 0);
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        PooledSession s1 = pool.lease(connectionFactory, connection, queue);
+        pool.lease(connectionFactory, connection, queue);
+        assertEquals(2, pool.getActiveCount());
+
+        try
+        {
+            pool.lease(connectionFactory, connection, queue);
+            fail("only 2 sessions may be leased at the same time");
+        }
+        catch (JMSException e)
+        {
+            assertEquals(1, pool.getTimeouts());
+        }
+
+        pool.release(s1);
+        pool.release(s1);
+        assertEquals(1, pool.getActiveCount());
+        assertSame(s1, pool.lease(connectionFactory, connection, queue));
+        assertEquals(2, broker.sessionsCreated.get());
+    }
+
+    @Test
+    public void unboundedByDefault() throws Exception
+    {
+        Properties properties = new Properties();
+        properties.setProperty(JmsSessionPool.POOLING_ENABLED, "true");
+        JmsSessionPool pool = JmsSessionPool.create(new OpenWebBeansConfiguration(properties));
+        assertEquals(0, pool.getMaxActive());
+        assertEquals(JmsSessionPool.DEFAULT_MAX_IDLE, pool.getMaxIdle());
+
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        // e.g. producers injected into @ApplicationScoped beans which never give back their lease
+        for (int i = 0; i < 50; i++)
+        {
+            pool.lease(connectionFactory, connection, queue);
+        }
+        assertEquals(50, pool.getActiveCount());
+        assertEquals(0, pool.getTimeouts());
+    }
+
+    @Test
+    public void resetProducerOnRelease() throws Exception
+    {
+        JmsSessionPool pool = new JmsSessionPool(2, 0, 0);
+        Connection connection = broker.connection();
+        Queue queue = broker.queue("orders");
+
+        PooledSession lease = pool.lease(connectionFactory, connection, queue);
+        MessageProducer producer = lease.getProducer();
+        producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        producer.setPriority(9);
+        producer.setTimeToLive(1000L);
+        producer.setDisableMessageID(true);
+        producer.setDisableMessageTimestamp(true);
+        pool.release(lease);
+
+        assertSame(producer, pool.lease(connectionFactory, connection, queue).getProducer());
+        assertEquals(Message.DEFAULT_DELIVERY_MODE, producer.getDeliveryMode());
+        assertEquals(Message.DEFAULT_PRIORITY, producer.getPriority());
+        assertEquals(Message.DEFAULT_TIME_TO_LIVE, producer.getTimeToLive());
+        assertFalse(producer.getDisableMessageID());
+        assertFalse(producer.getDisableMessageTimestamp());
+    }
+
+    @Test
+    public void configurationGetsValidated()
+    {
+        Properties properties = new Properties();
+        assertNull(JmsSessionPool.create(new OpenWebBeansConfiguration(properties)));
+
+        properties.setProperty(JmsSessionPool.POOLING_ENABLED, "true");
+        properties.setProperty(JmsSessionPool.MAX_ACTIVE, "4");
+        JmsSessionPool pool = JmsSessionPool.create(new OpenWebBeansConfiguration(properties));
+        assertEquals(4, pool.getMaxActive());
+        assertEquals(4, pool.getMaxIdle());
+
+        for (String invalid : new String[]{"many", "-1"})
+        {
+            properties.setProperty(JmsSessionPool.MAX_ACTIVE, invalid);
+            try
+            {
+                JmsSessionPool.create(new OpenWebBeansConfiguration(properties));
+                fail("invalid values must get reported: " + invalid);
+            }
+            catch (WebBeansConfigurationException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * A minimal stand-in for a JMS broker which only counts the created and closed resources.
+     */
+    private static final class InMemoryBroker
+    {
+        private final AtomicInteger sessionsCreated = new AtomicInteger();
+        private final AtomicInteger sessionsClosed = new AtomicInteger();
+        private final AtomicInteger producersCreated = new AtomicInteger();
+
+        private Connection connection()
+        {
+            return proxy(Connection.class, new InvocationHandler()
+            {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args)
+                {
+                    if (method.getName().equals("createSession"))
+                    {
+                        sessionsCreated.incrementAndGet();
+                        return session();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        private Session session()
+        {
+            return proxy(Session.class, new InvocationHandler()
+            {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args)
+                {
+                    if (method.getName().equals("createProducer"))
+                    {
+                        producersCreated.incrementAndGet();
+                        return proxy(MessageProducer.class, new ProducerHandler());
+                    }
+                    if (method.getName().equals("close"))
+                    {
+                        sessionsClosed.incrementAndGet();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        private Queue queue(final String name)
+        {
+            return proxy(Queue.class, new InvocationHandler()
+            {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args)
+                {
+                    if (method.getName().equals("getQueueName") || method.getName().equals("toString"))
+                    {
+                        return name;
+                    }
+                    if (method.getName().equals("hashCode"))
+                    {
+                        return name.hashCode();
+                    }
+                    if (method.getName().equals("equals"))
+                    {
+                        return args[0] instanceof Queue && args[0].toString().equals(name);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler)
+        {
+            return type.cast(Proxy.newProxyInstance(JmsSessionPoolTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+    }
+
+    /**
+     * Remembers the values of the setters and returns them from the getters.
+     */
+    private static final class ProducerHandler implements InvocationHandler
+    {
+        private final Map<String, Object> settings = new HashMap<>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            String name = method.getName();
+            if (name.equals("hashCode"))
+            {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("equals"))
+            {
+                return proxy == args[0];
+            }
+            if (name.startsWith("set"))
+            {
+                settings.put(name.substring(3), args[0]);
+            }
+            if (name.startsWith("get"))
+            {
+                return settings.get(name.substring(3));
+            }
+            return null;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.openwebbeans.junit5.internal;
 
 import org.apache.openwebbeans.junit5.Cdi;
+import org.apache.webbeans.inject.OWBInjector;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -29,9 +30,7 @@ import org.junit.platform.commons.util.AnnotationUtils;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.se.SeContainer;
 import javax.enterprise.inject.se.SeContainerInitializer;
-import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
-import javax.enterprise.inject.spi.InjectionTarget;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -138,11 +137,9 @@ public class CdiExtension implements BeforeAllCallback, AfterAllCallback, Before
             testInstances.getAllInstances().stream().distinct().forEach(instance ->
             {
                 final BeanManager manager = (container == null ? reusableContainer : container).getBeanManager();
-                final AnnotatedType<?> annotatedType = manager.createAnnotatedType(instance.getClass());
-                final InjectionTarget injectionTarget = manager.createInjectionTarget(annotatedType);
                 final CreationalContext<Object> creationalContext = manager.createCreationalContext(null);
                 creationalContexts.add(creationalContext);
-                injectionTarget.inject(instance, creationalContext);
+                OWBInjector.inject(manager, instance, creationalContext);
             });
         });
     }
@@ -22,6 +22,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -29,6 +31,7 @@ import java.util.logging.Logger;
 
 import javax.annotation.Resource;
 import javax.enterprise.inject.Produces;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
 import javax.persistence.PersistenceUnit;
 import javax.xml.ws.WebServiceRef;
@@ -56,9 +59,10 @@ public class StandaloneResourceInjectionService implements ResourceInjectionServ
     private final WebBeansContext webBeansContext;
 
     /**
-     * Cache the information if a certain class contains any EE resource at all
+     * Cache the resource fields to inject per class.
+     * Classes without any EE resource get an empty array.
      */
-    private final Map<Class<?>, Boolean> classContainsEEResources = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ResourceInjection[]> injectionPlans = new ConcurrentHashMap<>();
 
     public StandaloneResourceInjectionService(WebBeansContext webBeansContext)
     {
@@ -104,15 +108,60 @@ public class StandaloneResourceInjectionService implements ResourceInjectionServ
     @Override
     public void injectJavaEEResources(Object managedBeanInstance)
     {
-        Class currentClass = managedBeanInstance.getClass();
-        Boolean containsEeResource = classContainsEEResources.get(currentClass);
-        if (containsEeResource != null && !containsEeResource)
+        ResourceInjection[] injectionPlan = getInjectionPlan(managedBeanInstance.getClass());
+
+        for (ResourceInjection resourceInjection : injectionPlan)
         {
-            // nothing to do it seems.
-            return;
+            Field field = resourceInjection.field;
+            try
+            {
+                Object resourceToInject = resourceInjection.getResource();
+                if (resourceToInject != null)
+                {
+                    field.set(managedBeanInstance, resourceToInject);
+                }
+            }
+            catch(Exception e)
+            {
+                logger.log(Level.SEVERE, WebBeansLoggerFacade.constructMessage(OWBLogConst.ERROR_0025, e, field));
+                throw new WebBeansException(MessageFormat.format(WebBeansLoggerFacade.getTokenString(OWBLogConst.ERROR_0025), field), e);
+            }
         }
+    }
 
+    /**
+     * Decide whether the resolved resource can be shared between all instances.
+     * This is the case for resources which are thread safe and long living
+     * like {@link EntityManagerFactory} or {@link javax.sql.DataSource}.
+     * An {@link javax.persistence.EntityManager} for example must not get cached.
+     */
+    protected boolean isSharedResource(ResourceReference<?, ?> resourceReference)
+    {
+        if (resourceReference.supports(PersistenceUnit.class) ||
+            EntityManagerFactory.class.isAssignableFrom(resourceReference.getResourceType()))
+        {
+            return true;
+        }
+
+        return resourceReference.supports(Resource.class) && "javax.sql.DataSource".equals(resourceReference.getResourceType().getName());
+    }
 
+    private ResourceInjection[] getInjectionPlan(Class<?> beanClass)
+    {
+        ResourceInjection[] injectionPlan = injectionPlans.get(beanClass);
+        if (injectionPlan == null)
+        {
+            injectionPlan = createInjectionPlan(beanClass);
+            injectionPlans.put(beanClass, injectionPlan);
+        }
+        return injectionPlan;
+    }
+
+    private ResourceInjection[] createInjectionPlan(Class<?> beanClass)
+    {
+        List<ResourceInjection> resourceInjections = new ArrayList<>();
+
+        Class<?> currentClass = beanClass;
         while (currentClass != null && !Object.class.getName().equals(currentClass.getName()))
         {
             Field[] fields = webBeansContext.getSecurityService().doPrivilegedGetDeclaredFields(currentClass);
@@ -128,26 +177,13 @@ public class StandaloneResourceInjectionService implements ResourceInjectionServ
                         {
                             @SuppressWarnings("unchecked")
                             ResourceReference<Object, ?> resourceRef = new ResourceReference(field.getDeclaringClass(), field.getName(), field.getType(), ann);
-                            try
-                            {
-                                Object resourceToInject = getResourceReference(resourceRef);
-                                if (resourceToInject != null)
-                                {
-                                    if(!field.isAccessible())
-                                    {
-                                        webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
-                                    }
-
-                                    field.set(managedBeanInstance, resourceToInject);
-                                }
-
-                                containsEeResource = Boolean.TRUE;
-                            }
-                            catch(Exception e)
+
+                            if(!field.isAccessible())
                             {
-                                logger.log(Level.SEVERE, WebBeansLoggerFacade.constructMessage(OWBLogConst.ERROR_0025, e, field));
-                                throw new WebBeansException(MessageFormat.format(WebBeansLoggerFacade.getTokenString(OWBLogConst.ERROR_0025), field), e);
+                                webBeansContext.getSecurityService().doPrivilegedSetAccessible(field, true);
                             }
+
+                            resourceInjections.add(new ResourceInjection(field, resourceRef, isSharedResource(resourceRef)));
                         }
                     }
                 }
@@ -156,18 +192,52 @@ public class StandaloneResourceInjectionService implements ResourceInjectionServ
             currentClass = currentClass.getSuperclass();
         }
 
-        if (containsEeResource == null)
-        {
-            containsEeResource = Boolean.FALSE;
-        }
-
-        classContainsEEResources.put(managedBeanInstance.getClass(), containsEeResource);
+        return resourceInjections.toArray(new ResourceInjection[resourceInjections.size()]);
     }
 
     @Override
     public void clear()
     {
+        injectionPlans.clear();
         processor.clear();       
     }
 
+    /**
+     * A single resource field of a class together with its resolved reference.
+     */
+    private final class ResourceInjection
+    {
+        private final Field field;
+        private final ResourceReference<Object, ?> resourceReference;
+        private final boolean shared;
+
+        /**
+         * the already resolved resource if {@link #shared}
+         */
+        private volatile Object resource;
+
+        private ResourceInjection(Field field, ResourceReference<Object, ?> resourceReference, boolean shared)
+        {
+            this.field = field;
+            this.resourceReference = resourceReference;
+            this.shared = shared;
+        }
+
+        private Object getResource()
+        {
+            if (!shared)
+            {
+                return getResourceReference(resourceReference);
+            }
+
+            Object sharedResource = resource;
+            if (sharedResource == null)
+            {
+                sharedResource = getResourceReference(resourceReference);
+                resource = sharedResource;
+            }
+            return sharedResource;
+        }
+    }
+
 }
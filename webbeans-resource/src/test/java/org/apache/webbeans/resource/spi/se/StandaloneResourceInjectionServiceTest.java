@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.resource.spi.se;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.security.SimpleSecurityService;
+import org.apache.webbeans.spi.SecurityService;
+import org.apache.webbeans.spi.api.ResourceReference;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StandaloneResourceInjectionServiceTest
+{
+    private final List<Class<?>> scannedClasses = new ArrayList<>();
+    private final List<String> lookups = new ArrayList<>();
+
+    private StandaloneResourceInjectionService service;
+
+    @Before
+    public void setUp()
+    {
+        Map<Class<?>, Object> services = new HashMap<>();
+        services.put(SecurityService.class, new SimpleSecurityService()
+        {
+            @Override
+            public <T> Field[] doPrivilegedGetDeclaredFields(Class<T> clazz)
+            {
+                scannedClasses.add(clazz);
+                return super.doPrivilegedGetDeclaredFields(clazz);
+            }
+        });
+
+        service = new StandaloneResourceInjectionService(new WebBeansContext(services, new Properties()))
+        {
+            @Override
+            public <X, T extends Annotation> X getResourceReference(ResourceReference<X, T> resourceReference)
+            {
+                lookups.add(resourceReference.getName());
+                Class<X> type = resourceReference.getResourceType();
+                return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> null));
+            }
+        };
+    }
+
+    @Test
+    public void injectionPlanGetsComputedOncePerClass()
+    {
+        service.injectJavaEEResources(new ResourceBean());
+        service.injectJavaEEResources(new ResourceBean());
+
+        // ResourceBean and its superclass, both only once
+        assertEquals(2, scannedClasses.size());
+    }
+
+    @Test
+    public void inheritedResourcesGetInjected()
+    {
+        ResourceBean bean = new ResourceBean();
+        service.injectJavaEEResources(bean);
+
+        assertEquals(DataSource.class, bean.getDataSource().getClass().getInterfaces()[0]);
+        assertEquals(EntityManager.class, bean.entityManager.getClass().getInterfaces()[0]);
+        assertNull(bean.notAResource);
+    }
+
+    @Test
+    public void onlySharedResourcesGetReused()
+    {
+        ResourceBean first = new ResourceBean();
+        ResourceBean second = new ResourceBean();
+        service.injectJavaEEResources(first);
+        service.injectJavaEEResources(second);
+
+        assertSame(first.getDataSource(), second.getDataSource());
+        assertNotSame(first.entityManager, second.entityManager);
+
+        // one DataSource lookup and one EntityManager lookup per instance
+        assertEquals(3, lookups.size());
+    }
+
+    @Test
+    public void clearDropsTheInjectionPlans()
+    {
+        service.injectJavaEEResources(new ResourceBean());
+        service.clear();
+        service.injectJavaEEResources(new ResourceBean());
+
+        assertEquals(4, scannedClasses.size());
+        assertEquals(4, lookups.size());
+    }
+
+    public static class BaseBean
+    {
+        @Resource(name = "jdbc/test")
+        private DataSource dataSource;
+
+        public DataSource getDataSource()
+        {
+            return dataSource;
+        }
+    }
+
+    public static class ResourceBean extends BaseBean
+    {
+        @PersistenceContext(unitName = "test")
+        private EntityManager entityManager;
+
+        private String notAResource;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+/**
+ * <p>SPI to collect runtime metrics of the container, e.g. how often references
+ * got resolved, the hit rate of the resolution caches or the time spent in observer methods.</p>
+ *
+ * <p>The container only feeds a MetricsService if {@link #isEnabled()} returns {@code true}.
+ * The default implementation is a no-op which is disabled, so collecting metrics doesn't
+ * cost anything but a boolean check unless an implementation gets configured via
+ * <pre>
+ * org.apache.webbeans.spi.MetricsService=org.apache.webbeans.corespi.metrics.InMemoryMetricsService
+ * </pre>
+ * </p>
+ *
+ * <p>Implementations must be thread safe.</p>
+ */
+public interface MetricsService
+{
+    /** calls to BeanManager#getReference */
+    String GET_REFERENCE = "beanManager.getReference";
+
+    /** calls to Instance#get */
+    String INSTANCE_GET = "instance.get";
+
+    /** type resolutions served from the InjectionResolver cache */
+    String RESOLUTION_CACHE_HIT = "injectionResolver.cache.hit";
+
+    /** type resolutions which had to be computed */
+    String RESOLUTION_CACHE_MISS = "injectionResolver.cache.miss";
+
+    /** entries dropped from the InjectionResolver caches because they were full */
+    String RESOLUTION_CACHE_EVICTION = "injectionResolver.cache.eviction";
+
+    /** generated proxy classes, timed */
+    String PROXY_CLASS_CREATION = "proxy.classCreation";
+
+    /** prefix for created contextual instances, followed by the scope annotation name */
+    String CONTEXTUAL_INSTANCE_CREATED = "context.created.";
+
+    /** prefix for destroyed contextual instances, followed by the scope annotation name */
+    String CONTEXTUAL_INSTANCE_DESTROYED = "context.destroyed.";
+
+    /** observer method invocations, timed */
+    String OBSERVER_INVOCATION = "event.observerInvocation";
+
+    /** prefix for the deployment phases, timed */
+    String DEPLOYMENT_PHASE = "deployment.";
+
+    /**
+     * @return {@code true} if the container should report metrics to this service
+     */
+    boolean isEnabled();
+
+    /**
+     * Increment the given counter by one.
+     */
+    void increment(String counter);
+
+    /**
+     * Record a duration for the given timer.
+     *
+     * @param timer the name of the timer
+     * @param nanos the duration in nanoseconds
+     */
+    void time(String timer, long nanos);
+}
@@ -28,6 +28,7 @@ import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
+import org.apache.webbeans.context.ParallelContextDestroyer;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
@@ -36,6 +37,7 @@ import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.spi.ContextsService;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -49,7 +51,17 @@ import javax.servlet.ServletContext;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionActivationListener;
+import javax.servlet.http.HttpSessionEvent;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -67,6 +79,11 @@ public class WebContextsService extends AbstractContextsService
 
     private static final String OWB_SESSION_CONTEXT_ATTRIBUTE_NAME = "openWebBeansSessionContext";
 
+    /**
+     * Holds the {@link SessionContextTracker} of a session if parallel shutdown is enabled.
+     */
+    private static final String OWB_SESSION_CONTEXT_TRACKER_ATTRIBUTE_NAME = "openWebBeansSessionContextTracker";
+
     /**
      * TODO implement later: optional immediate destroy
      */
@@ -97,6 +114,15 @@ public class WebContextsService extends AbstractContextsService
     protected Boolean eagerSessionInitialisation;
     protected Pattern eagerSessionPattern;
 
+    /**
+     * All session contexts which are neither destroyed nor passivated, together with their HttpSession.
+     * The HttpSession is only weakly referenced to not keep invalidated sessions alive.
+     * Contexts get tracked when they get created or their session got activated
+     * and untracked when they get destroyed or their session gets passivated.
+     * Only tracked if {@link OpenWebBeansConfiguration#PARALLEL_SHUTDOWN} is enabled, {@code null} otherwise.
+     */
+    protected ConcurrentMap<SessionContext, WeakReference<HttpSession>> activeSessionContexts;
+
 
     /**
      * Creates a new instance.
@@ -118,6 +144,11 @@ public class WebContextsService extends AbstractContextsService
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+
+        if (webBeansContext.getOpenWebBeansConfiguration().isParallelShutdown())
+        {
+            activeSessionContexts = new ConcurrentHashMap<>();
+        }
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -148,7 +179,7 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
     }
 
 
@@ -183,10 +214,16 @@ public class WebContextsService extends AbstractContextsService
         if (sessionCtx != null)
         {
             sessionCtx.destroy();
+            untrackSessionContext(sessionCtx);
             sessionContexts.set(null);
             sessionContexts.remove();
         }
 
+        if (activeSessionContexts != null && !activeSessionContexts.isEmpty())
+        {
+            destroyActiveSessionContexts();
+        }
+
         ConversationContext conversationCtx = conversationContexts.get();
         if (conversationCtx != null)
         {
@@ -424,6 +461,7 @@ public class WebContextsService extends AbstractContextsService
                 payload != null ? payload : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
 
             sessionContext.destroy();
+            untrackSessionContext(sessionContext);
 
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
@@ -460,8 +498,8 @@ public class WebContextsService extends AbstractContextsService
         }
 
         // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        RequestScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
+        SessionScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
 
         //Clear thread locals
         requestContexts.set(null);
@@ -494,6 +532,11 @@ public class WebContextsService extends AbstractContextsService
                     {
                         currentSessionContext = new SessionContext();
                         currentSessionContext.setActive(true);
+                        if (activeSessionContexts != null)
+                        {
+                            trackSessionContext(currentSessionContext, session);
+                            session.setAttribute(OWB_SESSION_CONTEXT_TRACKER_ATTRIBUTE_NAME, new SessionContextTracker());
+                        }
                         
                         // init context before fire @Initialized(SessionScoped)
                         // so that SessionScoped beans are already available inside the observer
@@ -563,6 +606,7 @@ public class WebContextsService extends AbstractContextsService
                     session != null ? session : new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
 
                 context.destroy();
+                untrackSessionContext(context);
 
                 webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                     session != null ? session : new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
@@ -580,9 +624,104 @@ public class WebContextsService extends AbstractContextsService
             }
         }
 
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        SessionScopedBeanInterceptorHandler.removeThreadLocals(webBeansContext);
+    }
+
+
+    protected void trackSessionContext(SessionContext sessionContext, HttpSession session)
+    {
+        if (activeSessionContexts != null && sessionContext != null && !activeSessionContexts.containsKey(sessionContext))
+        {
+            activeSessionContexts.putIfAbsent(sessionContext, new WeakReference<>(session));
+        }
+    }
+
+    protected void untrackSessionContext(SessionContext sessionContext)
+    {
+        if (activeSessionContexts != null && sessionContext != null)
+        {
+            activeSessionContexts.remove(sessionContext);
+        }
     }
 
+    /**
+     * @return the number of session contexts which would get destroyed at shutdown
+     */
+    public int getActiveSessionContextCount()
+    {
+        return activeSessionContexts != null ? activeSessionContexts.size() : 0;
+    }
+
+    /**
+     * Stored in each session to stop tracking its SessionContext when the container passivates,
+     * persists or replicates the session and to track the deserialized SessionContext after the activation.
+     */
+    public static class SessionContextTracker implements HttpSessionActivationListener, Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void sessionWillPassivate(HttpSessionEvent event)
+        {
+            WebContextsService contextsService = getWebContextsService();
+            if (contextsService != null)
+            {
+                contextsService.untrackSessionContext(
+                    (SessionContext) event.getSession().getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME));
+            }
+        }
+
+        @Override
+        public void sessionDidActivate(HttpSessionEvent event)
+        {
+            WebContextsService contextsService = getWebContextsService();
+            if (contextsService != null)
+            {
+                HttpSession session = event.getSession();
+                contextsService.trackSessionContext(
+                    (SessionContext) session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME), session);
+            }
+        }
+
+        private static WebContextsService getWebContextsService()
+        {
+            ContextsService contextsService = WebBeansContext.currentInstance().getContextsService();
+            return contextsService instanceof WebContextsService ? (WebContextsService) contextsService : null;
+        }
+    }
+
+    /**
+     * Destroys the contexts of all sessions which are still alive when the application gets stopped.
+     * The contexts are independent of each other, so they get destroyed in parallel.
+     * Their conversations get destroyed together with the conversation storage of each session.
+     */
+    protected void destroyActiveSessionContexts()
+    {
+        Map<SessionContext, WeakReference<HttpSession>> sessions = new HashMap<>(activeSessionContexts);
+        activeSessionContexts.clear();
+        List<SessionContext> sessionContextsToDestroy = new ArrayList<>(sessions.keySet());
+
+        ParallelContextDestroyer.Result result = new ParallelContextDestroyer(webBeansContext).destroy(sessionContextsToDestroy,
+                BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED, DestroyedLiteral.INSTANCE_SESSION_SCOPED,
+                sessionContext -> getSessionPayload(sessions.get(sessionContext)));
+
+        if (logger.isLoggable(Level.INFO))
+        {
+            logger.info("Destroyed " + result.getDestroyedContexts() + " session contexts at shutdown, " +
+                    result.getAbandonedContexts() + " abandoned, " + result.getFailedContexts() + " failed, " +
+                    result.getSlowContextuals().size() + " slow destructions");
+        }
+    }
+
+    /**
+     * @return the HttpSession as payload of the session lifecycle events,
+     *         or a plain Object like for non-http SessionContexts if the session is gone already
+     */
+    private static Object getSessionPayload(WeakReference<HttpSession> sessionReference)
+    {
+        HttpSession session = sessionReference != null ? sessionReference.get() : null;
+        return session != null ? session : new Object();
+    }
 
     /**
      * @return {@code true} if the sessino is currently expiring or has already expired
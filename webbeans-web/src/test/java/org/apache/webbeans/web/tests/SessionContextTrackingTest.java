@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.Serializable;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionActivationListener;
+import javax.servlet.http.HttpSessionEvent;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that only live session contexts get destroyed by the parallel shutdown.
+ */
+public class SessionContextTrackingTest extends AbstractUnitTest
+{
+    @Before
+    public void reset()
+    {
+        SessionBean.destroyed = 0;
+        addConfiguration(OpenWebBeansConfiguration.PARALLEL_SHUTDOWN, "true");
+    }
+
+    @Test
+    public void expiredSessionGetsUntracked()
+    {
+        startContainer(SessionBean.class);
+        WebContextsService contextsService = getContextsService();
+
+        HttpSession session = new MockHttpSession();
+        contextsService.startContext(SessionScoped.class, session);
+        getInstance(SessionBean.class).ping();
+        Assert.assertEquals(1, contextsService.getActiveSessionContextCount());
+
+        // the session timed out
+        contextsService.endContext(SessionScoped.class, session);
+        Assert.assertEquals(1, SessionBean.destroyed);
+        Assert.assertEquals(0, contextsService.getActiveSessionContextCount());
+
+        shutDownContainer();
+        Assert.assertEquals(1, SessionBean.destroyed);
+    }
+
+    @Test
+    public void passivatedSessionDoesNotGetDestroyedAtShutdown()
+    {
+        startContainer(SessionBean.class);
+        WebContextsService contextsService = getContextsService();
+
+        HttpSession session = startSession(contextsService);
+
+        // e.g. swapped out to disk or replicated to another node
+        getTracker(session).sessionWillPassivate(new HttpSessionEvent(session));
+        Assert.assertEquals(0, contextsService.getActiveSessionContextCount());
+
+        // further requests of the session don't track it again
+        contextsService.startContext(SessionScoped.class, session);
+        contextsService.removeThreadLocals();
+        Assert.assertEquals(0, contextsService.getActiveSessionContextCount());
+
+        shutDownContainer();
+        Assert.assertEquals(0, SessionBean.destroyed);
+    }
+
+    @Test
+    public void activatedSessionGetsDestroyedAtShutdown()
+    {
+        startContainer(SessionBean.class);
+        WebContextsService contextsService = getContextsService();
+
+        HttpSession session = startSession(contextsService);
+        getTracker(session).sessionWillPassivate(new HttpSessionEvent(session));
+        getTracker(session).sessionDidActivate(new HttpSessionEvent(session));
+        Assert.assertEquals(1, contextsService.getActiveSessionContextCount());
+
+        shutDownContainer();
+        Assert.assertEquals(1, SessionBean.destroyed);
+    }
+
+    private HttpSession startSession(WebContextsService contextsService)
+    {
+        HttpSession session = new MockHttpSession();
+        contextsService.startContext(SessionScoped.class, session);
+        getInstance(SessionBean.class).ping();
+        contextsService.removeThreadLocals();
+        Assert.assertEquals(1, contextsService.getActiveSessionContextCount());
+        return session;
+    }
+
+    private WebContextsService getContextsService()
+    {
+        return (WebContextsService) getWebBeansContext().getContextsService();
+    }
+
+    private static HttpSessionActivationListener getTracker(HttpSession session)
+    {
+        return (HttpSessionActivationListener) session.getAttribute("openWebBeansSessionContextTracker");
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+        private static int destroyed;
+
+        public void ping()
+        {
+            // just to create the instance
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed++;
+        }
+    }
+}